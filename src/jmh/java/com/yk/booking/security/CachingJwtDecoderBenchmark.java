@@ -0,0 +1,144 @@
+package com.yk.booking.security;
+
+import static com.yk.booking.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.yk.booking.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Cost of decoding the bearer token of a request, with and without {@link CachingJwtDecoder}.
+ * <p>
+ * Requests come from {@value #USERS} users holding one token each, a few of them far more active than the others
+ * (Zipf distribution), and 3% of them carry an expired or forged token that is rejected either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CachingJwtDecoderBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private static final int REQUESTS = 1 << 14;
+
+    private String[] requests;
+
+    private JwtDecoder nimbusJwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        String nextToken(String[] requests) {
+            return requests[next++ & (REQUESTS - 1)];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        SecretKey secretKey = new SecretKeySpec(key, JWT_ALGORITHM.getName());
+        byte[] otherKey = key.clone();
+        otherKey[0]++;
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+        JwtEncoder forger = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(otherKey, JWT_ALGORITHM.getName())));
+
+        Instant now = Instant.now();
+        String[] tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = encode(encoder, "user-" + i, now, now.plusSeconds(86_400));
+        }
+        String expired = encode(encoder, "user-expired", now.minusSeconds(7_200), now.minusSeconds(3_600));
+        String forged = encode(forger, "user-forged", now, now.plusSeconds(86_400));
+
+        double[] cumulative = new double[USERS];
+        double total = 0;
+        for (int i = 0; i < USERS; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        Random random = new Random(42);
+        requests = new String[REQUESTS];
+        for (int r = 0; r < REQUESTS; r++) {
+            double roll = random.nextDouble();
+            if (roll < 0.02) {
+                requests[r] = expired;
+            } else if (roll < 0.03) {
+                requests[r] = forged;
+            } else {
+                int user = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                requests[r] = tokens[Math.min(user < 0 ? -user - 1 : user, USERS - 1)];
+            }
+        }
+
+        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(JWT_ALGORITHM).build();
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        nimbusJwtDecoder = jwtDecoder;
+        cachingJwtDecoder = new CachingJwtDecoder(jwtDecoder, 10_000, new SecurityMetersService(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Object nimbus(Cursor cursor) {
+        return decode(nimbusJwtDecoder, cursor.nextToken(requests));
+    }
+
+    @Benchmark
+    public Object cached(Cursor cursor) {
+        return decode(cachingJwtDecoder, cursor.nextToken(requests));
+    }
+
+    private static Object decode(JwtDecoder decoder, String token) {
+        try {
+            return decoder.decode(token);
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+
+    private static String encode(JwtEncoder encoder, String subject, Instant issuedAt, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(issuedAt)
+            .expiresAt(expiresAt)
+            .subject(subject)
+            .claim(SecurityUtils.AUTHORITIES_CLAIM, "ROLE_USER")
+            .build();
+        Jwt jwt = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims));
+        return jwt.getTokenValue();
+    }
+}
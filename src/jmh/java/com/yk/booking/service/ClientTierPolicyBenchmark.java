@@ -0,0 +1,62 @@
+package com.yk.booking.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of the tier thresholds of {@link ClientTierPolicy}, over the booking counts of {@value #CLIENTS} clients as
+ * when {@link ClientService} recomputes every tier, and when {@link UserBookingCounterService} checks whether a new
+ * booking moves its client to another tier.
+ * <p>
+ * Most clients have a few bookings and a few have many (geometric distribution), so that every branch is taken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientTierPolicyBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private long[] bookingCounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bookingCounts = new long[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            bookingCounts[i] = (long) (Math.log(1 - random.nextDouble()) / Math.log(0.9));
+        }
+    }
+
+    @Benchmark
+    public void tierNames(Blackhole blackhole) {
+        for (long bookingCount : bookingCounts) {
+            blackhole.consume(ClientTierPolicy.tierNameFor(bookingCount));
+        }
+    }
+
+    @Benchmark
+    public int tierChanges() {
+        int changes = 0;
+        for (long bookingCount : bookingCounts) {
+            if (!ClientTierPolicy.tierNameFor(bookingCount + 1).equals(ClientTierPolicy.tierNameFor(bookingCount))) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,156 @@
+package com.yk.booking.service;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.repository.TimeSlotRepository;
+import com.yk.booking.repository.TimeSlotRepository.BookedTimeSlot;
+import com.yk.booking.service.dto.TimeSlotDTO;
+import com.yk.booking.service.mapper.TimeSlotMapperImpl;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the availability lookup of {@link CourtAvailabilityIndex}, as served to
+ * {@code /api/time-slots/by-court-and-date}, for booking tables of growing size.
+ * <p>
+ * The bookings fill {@value #SLOTS_PER_DAY} slots a day on each of {@value #COURTS} courts, over as many days as the
+ * table size needs, and the lookups ask for the last {@value #LOOKED_UP_DAYS} of them, as the booking page does for
+ * the coming days. These court days are loaded before measuring, from a repository answering from the prepared rows,
+ * so that only the lookup, and not the database, is measured: its time should not grow with {@code bookings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourtAvailabilityIndexBenchmark {
+
+    private static final int COURTS = 20;
+
+    private static final int SLOTS_PER_DAY = 12;
+
+    private static final int LOOKED_UP_DAYS = 14;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    @Param({ "10000", "100000", "1000000" })
+    private int bookings;
+
+    private CourtAvailabilityIndex courtAvailabilityIndex;
+
+    private LocalDate firstLookedUpDay;
+
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        ZoneId zoneId = ZoneId.systemDefault();
+        int days = Math.max(LOOKED_UP_DAYS, bookings / (COURTS * SLOTS_PER_DAY));
+        Map<Instant, List<BookedTimeSlot>> slotsByStartOfDay = new HashMap<>();
+        long id = 0;
+        for (int day = 0; day < days; day++) {
+            for (long courtId = 1; courtId <= COURTS; courtId++) {
+                Instant startOfDay = FIRST_DAY.plusDays(day).atStartOfDay(zoneId).toInstant();
+                List<BookedTimeSlot> slots = slotsByStartOfDay.computeIfAbsent(startOfDay, key -> new ArrayList<>());
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    Instant start = startOfDay.plusSeconds((8 + slot) * 3600L);
+                    slots.add(new Slot(++id, start, start.plusSeconds(3600), courtId));
+                }
+            }
+        }
+
+        TimeSlotRepository repository = (TimeSlotRepository) Proxy.newProxyInstance(
+            TimeSlotRepository.class.getClassLoader(),
+            new Class<?>[] { TimeSlotRepository.class },
+            (proxy, method, args) -> {
+                if (!method.getName().equals("findBookedByCourtAndStartTimeBetween")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Long courtId = (Long) args[0];
+                return slotsByStartOfDay
+                    .getOrDefault((Instant) args[2], List.of())
+                    .stream()
+                    .filter(slot -> slot.getCourtId().equals(courtId))
+                    .toList();
+            }
+        );
+        ApplicationProperties.Availability properties = new ApplicationProperties.Availability();
+        properties.setTimeToLive(Duration.ofDays(1));
+        courtAvailabilityIndex = new CourtAvailabilityIndex(repository, new TimeSlotMapperImpl(), properties, System::nanoTime);
+        firstLookedUpDay = FIRST_DAY.plusDays(days - LOOKED_UP_DAYS);
+        for (int day = 0; day < LOOKED_UP_DAYS; day++) {
+            for (long courtId = 1; courtId <= COURTS; courtId++) {
+                courtAvailabilityIndex.findApprovedSlots(courtId, firstLookedUpDay.plusDays(day));
+            }
+        }
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> findApprovedSlots() {
+        LocalDate date = firstLookedUpDay.plusDays(random.nextInt(LOOKED_UP_DAYS));
+        return courtAvailabilityIndex.findApprovedSlots(1L + random.nextInt(COURTS), date);
+    }
+
+    private record Slot(Long bookingId, Instant startTime, Instant endTime, Long courtId) implements BookedTimeSlot {
+        @Override
+        public Long getBookingId() {
+            return bookingId;
+        }
+
+        @Override
+        public Long getId() {
+            return bookingId;
+        }
+
+        @Override
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public Instant getEndTime() {
+            return endTime;
+        }
+
+        @Override
+        public Long getCourtId() {
+            return courtId;
+        }
+
+        @Override
+        public String getCourtName() {
+            return "Court " + courtId;
+        }
+
+        @Override
+        public Long getSportId() {
+            return null;
+        }
+
+        @Override
+        public String getSportName() {
+            return null;
+        }
+    }
+}
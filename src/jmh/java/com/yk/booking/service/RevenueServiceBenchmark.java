@@ -0,0 +1,95 @@
+package com.yk.booking.service;
+
+import com.yk.booking.repository.RevenueDailyRollupRepository;
+import com.yk.booking.repository.RevenueDailyRollupRepository.DailyRevenue;
+import com.yk.booking.service.dto.RevenueDTO;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of grouping the daily revenue rows under the labels of the admin dashboard in {@link RevenueService}.
+ * <p>
+ * The repository answers from rows prepared for every day around the current year, so that only the grouping, and
+ * not the database, is measured: 7 rows for the days of the week, about 30 for the weeks of the month and 365 for
+ * the months of the year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevenueServiceBenchmark {
+
+    private RevenueService revenueService;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = today.withDayOfYear(1).minusMonths(1);
+        LocalDate last = today.withDayOfYear(1).plusYears(1).plusMonths(1);
+        List<DailyRevenue> days = new ArrayList<>();
+        for (LocalDate date = first; date.isBefore(last); date = date.plusDays(1)) {
+            days.add(dailyRevenue(date, BigDecimal.valueOf(10_000 + date.getDayOfYear() * 37L, 2)));
+        }
+
+        RevenueDailyRollupRepository repository = (RevenueDailyRollupRepository) Proxy.newProxyInstance(
+            RevenueDailyRollupRepository.class.getClassLoader(),
+            new Class<?>[] { RevenueDailyRollupRepository.class },
+            (proxy, method, args) -> {
+                if (!method.getName().equals("sumRevenueByDate")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                int from = (int) ChronoUnit.DAYS.between(first, (LocalDate) args[0]);
+                int to = (int) ChronoUnit.DAYS.between(first, (LocalDate) args[1]);
+                return days.subList(from, to);
+            }
+        );
+        revenueService = new RevenueService(repository);
+    }
+
+    @Benchmark
+    public List<RevenueDTO> dailyRevenue() {
+        return revenueService.getDailyRevenue();
+    }
+
+    @Benchmark
+    public List<RevenueDTO> weeklyRevenue() {
+        return revenueService.getWeeklyRevenue();
+    }
+
+    @Benchmark
+    public List<RevenueDTO> monthlyRevenue() {
+        return revenueService.getMonthlyRevenue();
+    }
+
+    private static DailyRevenue dailyRevenue(LocalDate date, BigDecimal revenue) {
+        return new DailyRevenue() {
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return revenue;
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.yk.booking.service.mapper;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.dto.PaymentDTO;
+import com.yk.booking.service.dto.TimeSlotDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of mapping a page of entities to their DTOs with the MapStruct mappers, as the services do before answering
+ * a list request.
+ * <p>
+ * Each booking holds its time slot, court, sport, user and payment, as when fetched with the joins of
+ * {@code BookingRepository}, so that every nested mapping runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({ "20", "500" })
+    private int pageSize;
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+
+    private final TimeSlotMapper timeSlotMapper = new TimeSlotMapperImpl();
+
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+
+    private List<Booking> bookings;
+
+    private List<TimeSlot> timeSlots;
+
+    private List<Payment> payments;
+
+    @Setup
+    public void setUp() {
+        bookings = bookings(pageSize);
+        timeSlots = bookings.stream().map(Booking::getTimeSlot).toList();
+        payments = bookings.stream().map(Booking::getPayment).toList();
+    }
+
+    @Benchmark
+    public List<BookingDTO> bookingToDto() {
+        return bookingMapper.toDto(bookings);
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> timeSlotToDto() {
+        return timeSlotMapper.toDto(timeSlots);
+    }
+
+    @Benchmark
+    public List<PaymentDTO> paymentToDto() {
+        return paymentMapper.toDto(payments);
+    }
+
+    /**
+     * Bookings spread over 8 courts of 3 sports and 50 users, one hour apart.
+     */
+    public static List<Booking> bookings(int count) {
+        Sport[] sports = new Sport[3];
+        for (int i = 0; i < sports.length; i++) {
+            sports[i] = new Sport().id((long) i + 1).name("Sport " + (i + 1));
+        }
+        Court[] courts = new Court[8];
+        for (int i = 0; i < courts.length; i++) {
+            courts[i] = new Court().id((long) i + 1).name("Court " + (i + 1)).sport(sports[i % sports.length]);
+        }
+        User[] users = new User[50];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = new User();
+            users[i].setId((long) i + 1);
+            users[i].setLogin("user-" + (i + 1));
+            users[i].setEmail("user-" + (i + 1) + "@localhost");
+        }
+
+        Instant start = Instant.parse("2025-01-06T08:00:00Z");
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1L;
+            Instant startTime = start.plus(i, ChronoUnit.HOURS);
+            TimeSlot timeSlot = new TimeSlot().id(id).court(courts[i % courts.length]);
+            timeSlot.setStartTime(startTime);
+            timeSlot.setEndTime(startTime.plus(1, ChronoUnit.HOURS));
+            User user = users[i % users.length];
+            Payment payment = new Payment().id(id).amount(BigDecimal.valueOf(2_000 + (i % 7) * 500, 2)).status("COMPLETED").user(user);
+            payment.setPaymentDate(startTime.minus(2, ChronoUnit.DAYS));
+            payment.setQrCodeUrl("https://payments.example.com/qr/" + id);
+            payment.setTransactionId("TX-" + id);
+            Booking booking = new Booking().id(id).timeSlot(timeSlot).payment(payment).user(user);
+            booking.setBookingId(String.format("BK-%08d", id));
+            booking.setBookingDate(startTime.minus(3, ChronoUnit.DAYS));
+            booking.setStatus(statuses[i % statuses.length]);
+            booking.setVersion(0L);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,59 @@
+package com.yk.booking.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yk.booking.config.JacksonConfiguration;
+import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.mapper.BookingMapperImpl;
+import com.yk.booking.service.mapper.MapperBenchmark;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of writing a page of {@link BookingDTO} as the body of {@code GET /api/bookings}, with an {@link ObjectMapper}
+ * built as Spring Boot builds it from the modules of {@link JacksonConfiguration}.
+ * <p>
+ * The DTOs are mapped from the bookings of {@link MapperBenchmark}, so that they carry their nested time slot, court,
+ * sport, user and payment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingJsonBenchmark {
+
+    @Param({ "20", "500" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<BookingDTO> bookings;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .build();
+        bookings = new BookingMapperImpl().toDto(MapperBenchmark.bookings(pageSize));
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
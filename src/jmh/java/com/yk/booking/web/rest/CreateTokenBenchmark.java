@@ -0,0 +1,77 @@
+package com.yk.booking.web.rest;
+
+import com.yk.booking.config.SecurityJwtConfiguration;
+import com.yk.booking.security.AuthoritiesConstants;
+import com.yk.booking.security.DomainUserDetailsService.UserWithId;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Cost of issuing a token with {@link AuthenticateController#createToken} and the encoder of
+ * {@link SecurityJwtConfiguration}, once the password has been checked.
+ * <p>
+ * Decoding the tokens is measured by {@code CachingJwtDecoderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateTokenBenchmark {
+
+    private AuthenticateController authenticateController;
+
+    private Authentication user;
+
+    private Authentication admin;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", Base64.getEncoder().encodeToString(key));
+
+        authenticateController = new AuthenticateController(securityJwtConfiguration.jwtEncoder(), null, null, null, null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86_400);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSecondsForRememberMe", 2_592_000);
+
+        user = authentication("user", 2L, AuthoritiesConstants.USER);
+        admin = authentication("admin", 1L, AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+    }
+
+    @Benchmark
+    public String userToken() {
+        return authenticateController.createToken(user, false);
+    }
+
+    @Benchmark
+    public String adminRememberMeToken() {
+        return authenticateController.createToken(admin, true);
+    }
+
+    private static Authentication authentication(String login, Long id, String... authorities) {
+        List<GrantedAuthority> grantedAuthorities = Arrays.stream(authorities).<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+        UserWithId principal = new UserWithId(login, "", grantedAuthorities, id);
+        return new UsernamePasswordAuthenticationToken(principal, null, grantedAuthorities);
+    }
+}
@@ -0,0 +1,136 @@
+package com.yk.booking.web.rest;
+
+import static com.yk.booking.security.SecurityUtils.JWT_ALGORITHM;
+import static org.mockito.Mockito.mock;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.management.SecurityMetersService;
+import com.yk.booking.service.LoginEventPipeline;
+import com.yk.booking.service.MailOutboxService;
+import com.yk.booking.service.MailService;
+import com.yk.booking.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Throughput of {@code POST /api/authenticate}, with the side effects of a login sent as an email on the task
+ * executor, as {@link AuthenticateController} used to, or recorded by the {@link LoginEventPipeline}.
+ * <p>
+ * Both verify the password with BCrypt and issue a token as the controller does. The email is addressed to the
+ * login, as it was, so that it is rejected when building the message; the executor is sized as
+ * {@code spring.task.execution}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class LoginBenchmark {
+
+    private static final String LOGIN = "user";
+
+    private static final String PASSWORD = "user-password";
+
+    private AuthenticationManager authenticationManager;
+
+    private AuthenticateController authenticateController;
+
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    private MailService mailService;
+
+    private LoginEventPipeline loginEventPipeline;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        authenticationProvider.setUserDetailsService(
+            new InMemoryUserDetailsManager(User.withUsername(LOGIN).password(passwordEncoder.encode(PASSWORD)).roles("USER").build())
+        );
+        authenticationManager = new ProviderManager(authenticationProvider);
+
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(key, JWT_ALGORITHM.getName())));
+
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.setMaxPoolSize(50);
+        taskExecutor.setQueueCapacity(10_000);
+        taskExecutor.initialize();
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(2525);
+        mailService = new MailService(new JHipsterProperties(), javaMailSender, null, null, mock(MailOutboxService.class));
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        loginEventPipeline = new LoginEventPipeline(
+            mock(UserService.class),
+            new SecurityMetersService(meterRegistry),
+            new ApplicationProperties(),
+            meterRegistry
+        );
+        authenticateController = new AuthenticateController(jwtEncoder, null, loginEventPipeline, null, null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86_400);
+    }
+
+    @TearDown
+    public void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Benchmark
+    public String mailOnLogin() {
+        Authentication authentication = authenticate();
+        try {
+            taskExecutor.execute(() -> mailService.sendEmail(LOGIN, "hi", "testing", false, false));
+        } catch (TaskRejectedException e) {
+            // The executor is saturated, as it would be under sustained logins
+        }
+        return authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String loginEventPipeline() {
+        Authentication authentication = authenticate();
+        loginEventPipeline.loginSucceeded(authentication.getName());
+        return authenticateController.createToken(authentication, false);
+    }
+
+    private Authentication authenticate() {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+    }
+}
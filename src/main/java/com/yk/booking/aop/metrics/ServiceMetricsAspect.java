@@ -0,0 +1,120 @@
+package com.yk.booking.aop.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Aspect for measuring the execution of service Spring components.
+ * <p>
+ * Every call of a measured method is counted as {@value #CALLS_METER_NAME}, and a sample of them timed as
+ * {@value #TIMER_METER_NAME}, both tagged by class, method and outcome. The meters of each method are looked up
+ * once, so that measuring a call costs a counter increment, and two clock reads when sampled.
+ */
+@Aspect
+public class ServiceMetricsAspect {
+
+    public static final String CALLS_METER_NAME = "service.method.calls";
+    public static final String TIMER_METER_NAME = "service.method";
+
+    private static final MethodMeters NOT_MEASURED = new MethodMeters(null, null, null);
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final String[] include;
+
+    private final String[] exclude;
+
+    private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, double sampleRate, List<String> include, List<String> exclude) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.include = include.toArray(String[]::new);
+        this.exclude = exclude.toArray(String[]::new);
+    }
+
+    /**
+     * Pointcut that matches all services of the application.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Service *) && within(com.yk.booking..*)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that counts and times the calls of the measured methods.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable thrown by the method.
+     */
+    @Around("servicePointcut()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters meters = methodMeters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::methodMeters);
+        if (meters == NOT_MEASURED) {
+            return joinPoint.proceed();
+        }
+        boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            Object result = joinPoint.proceed();
+            meters.calls().increment();
+            if (sampled) {
+                meters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } catch (Throwable e) {
+            // Failures are rare enough for their meters to be looked up in the registry
+            Tags tags = meters.tags().and("outcome", "error", "exception", e.getClass().getSimpleName());
+            callsCounter(tags).increment();
+            if (sampled) {
+                timer(tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            throw e;
+        }
+    }
+
+    private MethodMeters methodMeters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        if (!PatternMatchUtils.simpleMatch(include, name) || PatternMatchUtils.simpleMatch(exclude, name)) {
+            return NOT_MEASURED;
+        }
+        Tags tags = Tags.of("class", method.getDeclaringClass().getSimpleName(), "method", method.getName());
+        Tags successTags = tags.and("outcome", "success", "exception", "none");
+        return new MethodMeters(tags, callsCounter(successTags), timer(successTags));
+    }
+
+    private Counter callsCounter(Tags tags) {
+        return Counter.builder(CALLS_METER_NAME)
+            .baseUnit("calls")
+            .description("Calls of the service methods")
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private Timer timer(Tags tags) {
+        return Timer.builder(TIMER_METER_NAME)
+            .description("Duration of a sample of the calls of the service methods")
+            .publishPercentileHistogram()
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private record MethodMeters(Tags tags, Counter calls, Timer timer) {}
+}
@@ -0,0 +1,4 @@
+/**
+ * Metrics aspect.
+ */
+package com.yk.booking.aop.metrics;
@@ -1,6 +1,12 @@
 package com.yk.booking.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Yk.
@@ -13,12 +19,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final BookingReference bookingReference = new BookingReference();
+
+    private final TierRecalculation tierRecalculation = new TierRecalculation();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final BookingTransition bookingTransition = new BookingTransition();
+
+    private final Availability availability = new Availability();
+
+    private final Cache cache = new Cache();
+
+    private final LoginEvents loginEvents = new LoginEvents();
+
+    private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+    private final ServiceMetrics serviceMetrics = new ServiceMetrics();
+
+    private final StatementStatistics statementStatistics = new StatementStatistics();
+
+    private final SlowQueries slowQueries = new SlowQueries();
+
+    private final Dataset dataset = new Dataset();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public BookingReference getBookingReference() {
+        return bookingReference;
+    }
+
+    public TierRecalculation getTierRecalculation() {
+        return tierRecalculation;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public BookingTransition getBookingTransition() {
+        return bookingTransition;
+    }
+
+    public Availability getAvailability() {
+        return availability;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public LoginEvents getLoginEvents() {
+        return loginEvents;
+    }
+
+    public LoginRateLimit getLoginRateLimit() {
+        return loginRateLimit;
+    }
+
+    public ServiceMetrics getServiceMetrics() {
+        return serviceMetrics;
+    }
+
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
+    public SlowQueries getSlowQueries() {
+        return slowQueries;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +111,594 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class BookingReference {
+
+        private int blockSize = 100;
+
+        private String secret;
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public void setBlockSize(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+    }
+
+    public static class TierRecalculation {
+
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class BookingTransition {
+
+        private int maxAttempts = 3;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class Availability {
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class MailOutbox {
+
+        private Duration pollDelay = Duration.ofSeconds(10);
+
+        private int batchSize = 50;
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        public Duration getPollDelay() {
+            return pollDelay;
+        }
+
+        public void setPollDelay(Duration pollDelay) {
+            this.pollDelay = pollDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class LoginEvents {
+
+        private int capacity = 10_000;
+
+        private Duration flushDelay = Duration.ofSeconds(1);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getFlushDelay() {
+            return flushDelay;
+        }
+
+        public void setFlushDelay(Duration flushDelay) {
+            this.flushDelay = flushDelay;
+        }
+    }
+
+    public static class LoginRateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Buckets kept of each kind, the least recently used ones being forgotten beyond.
+         */
+        private int maxBuckets = 100_000;
+
+        private final Bucket login = new Bucket(5, Duration.ofSeconds(12));
+
+        private final Bucket clientAddress = new Bucket(50, Duration.ofSeconds(1));
+
+        /**
+         * Addresses or CIDR ranges of the reverse proxies whose X-Forwarded-For header gives the client address.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public Bucket getLogin() {
+            return login;
+        }
+
+        public Bucket getClientAddress() {
+            return clientAddress;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public static class Bucket {
+
+            /**
+             * Attempts allowed in a burst.
+             */
+            private int capacity;
+
+            /**
+             * Time to earn back one attempt.
+             */
+            private Duration refillInterval;
+
+            Bucket(int capacity, Duration refillInterval) {
+                this.capacity = capacity;
+                this.refillInterval = refillInterval;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getRefillInterval() {
+                return refillInterval;
+            }
+
+            public void setRefillInterval(Duration refillInterval) {
+                this.refillInterval = refillInterval;
+            }
+        }
+    }
+
+    public static class ServiceMetrics {
+
+        private boolean enabled = true;
+
+        /**
+         * Fraction of the calls timed, all of them being counted.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Methods measured, as {@code SimpleClassName.methodName} patterns where {@code *} matches anything.
+         */
+        private List<String> include = new ArrayList<>(List.of("*"));
+
+        /**
+         * Methods never measured, even though included.
+         */
+        private List<String> exclude = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public List<String> getInclude() {
+            return include;
+        }
+
+        public void setInclude(List<String> include) {
+            this.include = include;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+
+        public void setExclude(List<String> exclude) {
+            this.exclude = exclude;
+        }
+    }
+
+    public static class StatementStatistics {
+
+        private boolean enabled = true;
+
+        /**
+         * Statements above which a request is logged as a warning.
+         */
+        private int warnThreshold = 30;
+
+        /**
+         * Whether the statements of each request are counted in a response header, which buffers the responses.
+         */
+        private boolean responseHeader = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWarnThreshold() {
+            return warnThreshold;
+        }
+
+        public void setWarnThreshold(int warnThreshold) {
+            this.warnThreshold = warnThreshold;
+        }
+
+        public boolean isResponseHeader() {
+            return responseHeader;
+        }
+
+        public void setResponseHeader(boolean responseHeader) {
+            this.responseHeader = responseHeader;
+        }
+    }
+
+    public static class SlowQueries {
+
+        private boolean enabled = true;
+
+        /**
+         * Execution time from which a statement is recorded.
+         */
+        private Duration threshold = Duration.ofMillis(500);
+
+        /**
+         * Slow statements kept, the oldest being dropped beyond.
+         */
+        private int capacity = 100;
+
+        /**
+         * Whether the execution plan of the slow queries is captured, with one more statement on their connection.
+         */
+        private boolean explain = false;
+
+        /**
+         * Whether the values of the binds are kept, rather than only their type and length. Never for the statements
+         * on the user and mail outbox tables.
+         */
+        private boolean bindValues = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public boolean isExplain() {
+            return explain;
+        }
+
+        public void setExplain(boolean explain) {
+            this.explain = explain;
+        }
+
+        public boolean isBindValues() {
+            return bindValues;
+        }
+
+        public void setBindValues(boolean bindValues) {
+            this.bindValues = bindValues;
+        }
+    }
+
+    public static class Dataset {
+
+        private int sports = 5;
+
+        private int courts = 1_000;
+
+        private int users = 10_000;
+
+        /**
+         * Time slots generated, one per hour of the opening hours of each court, over as many days as needed.
+         */
+        private long timeSlots = 2_000_000;
+
+        /**
+         * Bookings generated, each with its payment, about as many being written as the skew allows.
+         */
+        private long bookings = 1_500_000;
+
+        /**
+         * Days of time slots generated after today, the others being in the past.
+         */
+        private int futureDays = 30;
+
+        /**
+         * Exponent of the Zipf distribution of the bookings over the courts, 0 spreading them evenly.
+         */
+        private double courtSkew = 1.0;
+
+        /**
+         * Exponent of the Zipf distribution of the bookings over the users, 0 spreading them evenly.
+         */
+        private double userSkew = 1.2;
+
+        /**
+         * Rows sent per JDBC batch, and committed at once.
+         */
+        private int batchSize = 1_000;
+
+        private long seed = 42;
+
+        public int getSports() {
+            return sports;
+        }
+
+        public void setSports(int sports) {
+            this.sports = sports;
+        }
+
+        public int getCourts() {
+            return courts;
+        }
+
+        public void setCourts(int courts) {
+            this.courts = courts;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public long getTimeSlots() {
+            return timeSlots;
+        }
+
+        public void setTimeSlots(long timeSlots) {
+            this.timeSlots = timeSlots;
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        public void setBookings(long bookings) {
+            this.bookings = bookings;
+        }
+
+        public int getFutureDays() {
+            return futureDays;
+        }
+
+        public void setFutureDays(int futureDays) {
+            this.futureDays = futureDays;
+        }
+
+        public double getCourtSkew() {
+            return courtSkew;
+        }
+
+        public void setCourtSkew(double courtSkew) {
+            this.courtSkew = courtSkew;
+        }
+
+        public double getUserSkew() {
+            return userSkew;
+        }
+
+        public void setUserSkew(double userSkew) {
+            this.userSkew = userSkew;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Sizing and expiry of each cache by region name, see {@link CacheConfiguration}. Anything left unset
+         * falls back to {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on heap, exclusive with {@link #heapSize}.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the heap tier, measured by walking the cached object graphs.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Size of the off-heap tier, where the entries not hot enough to stay on heap are kept serialized.
+             */
+            private DataSize offHeapSize;
+
+            private Duration timeToLive;
+
+            /**
+             * Time after its last read at which an entry expires, exclusive with {@link #timeToLive}.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,10 +1,18 @@
 package com.yk.booking.config;
 
 import java.time.Duration;
+import java.util.Map;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
@@ -13,45 +21,127 @@ import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Caches of the application and of the Hibernate second level cache, all held by Ehcache through JCache.
+ * <p>
+ * Each cache is sized and expires as configured for its region under {@code application.cache.regions}, and
+ * otherwise as {@code jhipster.cache.ehcache}. Statistics are enabled on every cache, so that their hits, misses
+ * and evictions are published as {@code cache.*} meters.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final long maxEntries;
+    private final ExpiryPolicy<Object, Object> timeToLiveExpiry;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+        maxEntries = ehcache.getMaxEntries();
+        timeToLiveExpiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+        regions = applicationProperties.getCache().getRegions();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.yk.booking.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.yk.booking.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.yk.booking.domain.Authority.class.getName());
+            createCache(cm, com.yk.booking.repository.UserRepository.USERS_BY_LOGIN_CACHE, "users-by-login");
+            createCache(cm, com.yk.booking.repository.UserRepository.USERS_BY_EMAIL_CACHE, "users-by-email");
+            createCache(cm, com.yk.booking.domain.Authority.class.getName(), "authority");
+            createCache(cm, com.yk.booking.domain.User.class.getName() + ".authorities", "user-authorities");
+            createCache(cm, com.yk.booking.domain.Sport.class.getName(), "sport");
+            createCache(cm, com.yk.booking.domain.Court.class.getName(), "court");
+            createCache(cm, com.yk.booking.domain.ClientTier.class.getName(), "client-tier");
+            createCache(cm, com.yk.booking.domain.TierVoucher.class.getName(), "tier-voucher");
+            createCache(cm, com.yk.booking.repository.CourtRepository.ALL_COURTS_QUERY_CACHE, "all-courts");
+            createCache(cm, com.yk.booking.repository.ClientTierRepository.CLIENT_TIERS_BY_NAME_QUERY_CACHE, "client-tiers-by-name");
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, "query-results");
+            // A cached query is only known to be stale through the last update timestamps of its tables, which
+            // must therefore never expire
+            createCache(
+                cm,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                jcacheConfiguration("update-timestamps", ExpiryPolicyBuilder.noExpiration())
+            );
             // jhipster-needle-ehcache-add-entry
         };
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    private void createCache(javax.cache.CacheManager cm, String cacheName, String region) {
+        createCache(cm, cacheName, jcacheConfiguration(region, null));
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Configuration of the caches of a region, expiring as configured unless given a fixed expiry policy.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String region, ExpiryPolicy<Object, Object> fixedExpiry) {
+        ApplicationProperties.Cache.Region properties = regions.getOrDefault(region, DEFAULT_REGION);
+
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (properties.getHeapSize() != null) {
+            if (properties.getHeapEntries() != null) {
+                throw new IllegalStateException("Cache region " + region + " sets both heap-entries and heap-size");
+            }
+            resourcePools = resourcePools.heap(properties.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            long heapEntries = properties.getHeapEntries() != null ? properties.getHeapEntries() : maxEntries;
+            resourcePools = resourcePools.heap(heapEntries, EntryUnit.ENTRIES);
+        }
+        if (properties.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(properties.getOffHeapSize().toBytes(), MemoryUnit.B);
+        }
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(fixedExpiry != null ? fixedExpiry : expiry(region, properties));
+        if (properties.getOffHeapSize() != null) {
+            // Off-heap entries are stored as bytes, and the keys and values of these caches are all serializable
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder.withKeySerializer(new PlainJavaSerializer<>(classLoader)).withValueSerializer(
+                new PlainJavaSerializer<>(classLoader)
+            );
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    private ExpiryPolicy<Object, Object> expiry(String region, ApplicationProperties.Cache.Region properties) {
+        if (properties.getTimeToIdle() != null) {
+            if (properties.getTimeToLive() != null) {
+                throw new IllegalStateException("Cache region " + region + " sets both time-to-live and time-to-idle");
+            }
+            return ExpiryPolicyBuilder.timeToIdleExpiration(properties.getTimeToIdle());
+        }
+        if (properties.getTimeToLive() != null) {
+            return ExpiryPolicyBuilder.timeToLiveExpiration(properties.getTimeToLive());
         }
+        return timeToLiveExpiry;
     }
 
     @Autowired(required = false)
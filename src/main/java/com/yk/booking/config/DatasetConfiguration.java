@@ -0,0 +1,57 @@
+package com.yk.booking.config;
+
+import com.yk.booking.management.DatasetGenerator;
+import com.yk.booking.service.BookingReferenceGenerator;
+import com.yk.booking.service.scheduler.RevenueRollupScheduler;
+import com.yk.booking.service.scheduler.UserTierUpdateScheduler;
+import javax.sql.DataSource;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Loads the synthetic dataset of {@link DatasetGenerator} once the application has started with the
+ * {@value Constants#SPRING_PROFILE_DATASET} profile, sized by {@code application.dataset}.
+ * <p>
+ * The revenue rollup, the booking counters and the tiers are then brought in line with the new bookings by running
+ * their nightly jobs. Those jobs write with MySQL only statements, such as {@code ON DUPLICATE KEY UPDATE}, so
+ * unlike {@link DatasetGenerator} the profile needs MySQL. The generated users log in with the password
+ * {@value #PASSWORD}.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_DATASET)
+public class DatasetConfiguration {
+
+    private static final String PASSWORD = "dataset";
+
+    @Bean
+    public DatasetGenerator datasetGenerator(
+        DataSource dataSource,
+        ApplicationProperties applicationProperties,
+        BookingReferenceGenerator bookingReferenceGenerator,
+        PasswordEncoder passwordEncoder
+    ) {
+        return new DatasetGenerator(
+            dataSource,
+            applicationProperties.getDataset(),
+            bookingReferenceGenerator,
+            passwordEncoder.encode(PASSWORD)
+        );
+    }
+
+    @Bean
+    public ApplicationRunner datasetRunner(
+        DatasetGenerator datasetGenerator,
+        RevenueRollupScheduler revenueRollupScheduler,
+        UserTierUpdateScheduler userTierUpdateScheduler
+    ) {
+        return args -> {
+            if (datasetGenerator.generate().isPresent()) {
+                revenueRollupScheduler.rebuildAll();
+                userTierUpdateScheduler.updateUserTiers();
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.yk.booking.config;
+
+import com.yk.booking.aop.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.service-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspectConfiguration {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.ServiceMetrics serviceMetrics = applicationProperties.getServiceMetrics();
+        return new ServiceMetricsAspect(
+            meterRegistry,
+            serviceMetrics.getSampleRate(),
+            serviceMetrics.getInclude(),
+            serviceMetrics.getExclude()
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.yk.booking.config;
+
+import com.yk.booking.management.SlowQueriesEndpoint;
+import com.yk.booking.management.SlowQueryRecorder;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Recording of the slow statements run on the datasources, see {@link SlowQueryRecorder}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.slow-queries", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfiguration {
+
+    @Bean
+    public SlowQueryRecorder slowQueryRecorder(ApplicationProperties applicationProperties) {
+        ApplicationProperties.SlowQueries slowQueries = applicationProperties.getSlowQueries();
+        return new SlowQueryRecorder(
+            slowQueries.getThreshold(),
+            slowQueries.getCapacity(),
+            slowQueries.isExplain(),
+            slowQueries.isBindValues(),
+            "com.yk.booking.service"
+        );
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryRecorder slowQueryRecorder) {
+        return new SlowQueriesEndpoint(slowQueryRecorder);
+    }
+
+    /**
+     * Wraps the Hikari datasource, so that the recorder sees every statement run on its connections.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> slowQueryRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource).listener(slowQueryRecorder.getObject()).build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.yk.booking.config;
+
+import com.yk.booking.management.JdbcTimingSessionListener;
+import com.yk.booking.management.StatementCountingInspector;
+import com.yk.booking.web.filter.StatementStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Counting and timing of the SQL statements of each {@code /api} request, see {@link StatementStatisticsFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.statement-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatisticsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementStatisticsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.StatementStatistics properties = applicationProperties.getStatementStatistics();
+        FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new StatementStatisticsFilter(meterRegistry, properties.getWarnThreshold(), properties.isResponseHeader())
+        );
+        registration.addUrlPatterns("/api/*");
+        // Before the security filters, which load the users logging in
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -41,12 +41,16 @@ public class Booking implements Serializable {
     @JoinColumn(unique = true)
     private Payment payment;
 
-    @Column(name = "booking_id", length = 5, unique = true)
+    @Column(name = "booking_id", length = 8, unique = true)
     private String bookingId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -101,6 +105,19 @@ public class Booking implements Serializable {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Booking version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public TimeSlot getTimeSlot() {
         return this.timeSlot;
     }
@@ -166,6 +183,7 @@ public class Booking implements Serializable {
             "id=" + getId() +
             ", bookingDate='" + getBookingDate() + "'" +
             ", status='" + getStatus() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
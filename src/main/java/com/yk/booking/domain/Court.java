@@ -3,9 +3,12 @@ package com.yk.booking.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.io.Serializable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "court")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Court implements Serializable {
 
     private static final long serialVersionUID = 1L;
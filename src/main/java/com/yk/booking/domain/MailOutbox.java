@@ -0,0 +1,268 @@
+package com.yk.booking.domain;
+
+import com.yk.booking.domain.enumeration.MailOutboxStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An email waiting in the outbox.
+ * <p>
+ * Rows are written by {@link com.yk.booking.service.MailOutboxService} in the transaction that triggers the email,
+ * and delivered by {@link com.yk.booking.service.scheduler.MailOutboxDispatcher}. The subject and content of a row
+ * holding a {@link com.yk.booking.service.dto.BookingNotification} are only rendered by the dispatcher.
+ */
+@Entity
+@Table(name = "mail_outbox")
+public class MailOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Lob
+    @Column(name = "content")
+    private String content;
+
+    @Lob
+    @Column(name = "notification")
+    private String notification;
+
+    @Column(name = "html", nullable = false)
+    private Boolean html;
+
+    @Column(name = "dedup_key")
+    private String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private MailOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "sent_date")
+    private Instant sentDate;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public MailOutbox id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return this.recipient;
+    }
+
+    public MailOutbox recipient(String recipient) {
+        this.setRecipient(recipient);
+        return this;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return this.subject;
+    }
+
+    public MailOutbox subject(String subject) {
+        this.setSubject(subject);
+        return this;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+
+    public MailOutbox content(String content) {
+        this.setContent(content);
+        return this;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getNotification() {
+        return this.notification;
+    }
+
+    public MailOutbox notification(String notification) {
+        this.setNotification(notification);
+        return this;
+    }
+
+    public void setNotification(String notification) {
+        this.notification = notification;
+    }
+
+    public Boolean getHtml() {
+        return this.html;
+    }
+
+    public MailOutbox html(Boolean html) {
+        this.setHtml(html);
+        return this;
+    }
+
+    public void setHtml(Boolean html) {
+        this.html = html;
+    }
+
+    public String getDedupKey() {
+        return this.dedupKey;
+    }
+
+    public MailOutbox dedupKey(String dedupKey) {
+        this.setDedupKey(dedupKey);
+        return this;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
+    public MailOutboxStatus getStatus() {
+        return this.status;
+    }
+
+    public MailOutbox status(MailOutboxStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(MailOutboxStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public MailOutbox attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+
+    public MailOutbox nextAttemptAt(Instant nextAttemptAt) {
+        this.setNextAttemptAt(nextAttemptAt);
+        return this;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public MailOutbox createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getSentDate() {
+        return this.sentDate;
+    }
+
+    public MailOutbox sentDate(Instant sentDate) {
+        this.setSentDate(sentDate);
+        return this;
+    }
+
+    public void setSentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public MailOutbox lastError(String lastError) {
+        this.setLastError(lastError);
+        return this;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MailOutbox)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((MailOutbox) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MailOutbox{" +
+            "id=" + getId() +
+            ", recipient='" + getRecipient() + "'" +
+            ", subject='" + getSubject() + "'" +
+            ", html='" + getHtml() + "'" +
+            ", dedupKey='" + getDedupKey() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", nextAttemptAt='" + getNextAttemptAt() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", sentDate='" + getSentDate() + "'" +
+            ", lastError='" + getLastError() + "'" +
+            "}";
+    }
+}
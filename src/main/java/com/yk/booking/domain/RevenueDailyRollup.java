@@ -0,0 +1,147 @@
+package com.yk.booking.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Approved revenue of one UTC day for a court and sport.
+ * <p>
+ * Rows are maintained by {@link com.yk.booking.service.RevenueRollupService}; a court or sport id of {@code 0}
+ * stands for bookings without one.
+ */
+@Entity
+@Table(name = "revenue_daily_rollup")
+public class RevenueDailyRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "court_id", nullable = false)
+    private Long courtId;
+
+    @Column(name = "sport_id", nullable = false)
+    private Long sportId;
+
+    @Column(name = "amount", precision = 21, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public RevenueDailyRollup id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRollupDate() {
+        return this.rollupDate;
+    }
+
+    public RevenueDailyRollup rollupDate(LocalDate rollupDate) {
+        this.setRollupDate(rollupDate);
+        return this;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public Long getCourtId() {
+        return this.courtId;
+    }
+
+    public RevenueDailyRollup courtId(Long courtId) {
+        this.setCourtId(courtId);
+        return this;
+    }
+
+    public void setCourtId(Long courtId) {
+        this.courtId = courtId;
+    }
+
+    public Long getSportId() {
+        return this.sportId;
+    }
+
+    public RevenueDailyRollup sportId(Long sportId) {
+        this.setSportId(sportId);
+        return this;
+    }
+
+    public void setSportId(Long sportId) {
+        this.sportId = sportId;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public RevenueDailyRollup amount(BigDecimal amount) {
+        this.setAmount(amount);
+        return this;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getBookingCount() {
+        return this.bookingCount;
+    }
+
+    public RevenueDailyRollup bookingCount(Long bookingCount) {
+        this.setBookingCount(bookingCount);
+        return this;
+    }
+
+    public void setBookingCount(Long bookingCount) {
+        this.bookingCount = bookingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RevenueDailyRollup)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((RevenueDailyRollup) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RevenueDailyRollup{" +
+            "id=" + getId() +
+            ", rollupDate='" + getRollupDate() + "'" +
+            ", courtId=" + getCourtId() +
+            ", sportId=" + getSportId() +
+            ", amount=" + getAmount() +
+            ", bookingCount=" + getBookingCount() +
+            "}";
+    }
+}
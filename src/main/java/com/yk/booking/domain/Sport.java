@@ -2,9 +2,12 @@ package com.yk.booking.domain;
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "sport")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Sport implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -4,12 +4,15 @@ import com.yk.booking.domain.enumeration.ClientTier;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A TierVoucher - maps client tiers to their assigned vouchers.
  */
 @Entity
 @Table(name = "tier_voucher")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TierVoucher implements Serializable {
 
     private static final long serialVersionUID = 1L;
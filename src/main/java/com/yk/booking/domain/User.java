@@ -15,6 +15,8 @@ import java.util.Locale;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A user.
@@ -83,6 +85,9 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
     @Column(name = "tier", length = 20)
     private ClientTier tier;
 
+    @Column(name = "last_login_date")
+    private Instant lastLoginDate;
+
     @JsonIgnore
     @ManyToMany
     @JoinTable(
@@ -90,6 +95,7 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
         joinColumns = { @JoinColumn(name = "user_id", referencedColumnName = "id") },
         inverseJoinColumns = { @JoinColumn(name = "authority_name", referencedColumnName = "name") }
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @BatchSize(size = 20)
     private Set<Authority> authorities = new HashSet<>();
 
@@ -206,6 +212,14 @@ public class User extends AbstractAuditingEntity<Long> implements Serializable {
         this.tier = tier;
     }
 
+    public Instant getLastLoginDate() {
+        return lastLoginDate;
+    }
+
+    public void setLastLoginDate(Instant lastLoginDate) {
+        this.lastLoginDate = lastLoginDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
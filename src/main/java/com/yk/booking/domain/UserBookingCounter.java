@@ -0,0 +1,75 @@
+package com.yk.booking.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Number of bookings of a user counting towards its client tier.
+ * <p>
+ * Rows are maintained by {@link com.yk.booking.service.UserBookingCounterService}.
+ */
+@Entity
+@Table(name = "user_booking_counter")
+public class UserBookingCounter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+
+    public Long getUserId() {
+        return this.userId;
+    }
+
+    public UserBookingCounter userId(Long userId) {
+        this.setUserId(userId);
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBookingCount() {
+        return this.bookingCount;
+    }
+
+    public UserBookingCounter bookingCount(Long bookingCount) {
+        this.setBookingCount(bookingCount);
+        return this;
+    }
+
+    public void setBookingCount(Long bookingCount) {
+        this.bookingCount = bookingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserBookingCounter)) {
+            return false;
+        }
+        return getUserId() != null && getUserId().equals(((UserBookingCounter) o).getUserId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserBookingCounter{" +
+            "userId=" + getUserId() +
+            ", bookingCount=" + getBookingCount() +
+            "}";
+    }
+}
@@ -2,9 +2,22 @@ package com.yk.booking.domain.enumeration;
 
 /**
  * The BookingStatus enumeration.
+ * <p>
+ * A booking is created {@link #PENDING} and is then either {@link #APPROVED} or {@link #REJECTED}, both final.
  */
 public enum BookingStatus {
     PENDING,
     APPROVED,
-    REJECTED,
+    REJECTED;
+
+    /**
+     * Check whether a booking in this status may be moved to another one.
+     *
+     * @param target the new status.
+     * @return {@code true} if the transition is allowed, {@code false} otherwise, including when {@code target} is
+     * this status.
+     */
+    public boolean canTransitionTo(BookingStatus target) {
+        return this == PENDING && (target == APPROVED || target == REJECTED);
+    }
 }
@@ -0,0 +1,11 @@
+package com.yk.booking.domain.enumeration;
+
+/**
+ * The MailOutboxStatus enumeration.
+ */
+public enum MailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED,
+}
@@ -0,0 +1,382 @@
+package com.yk.booking.management;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.config.Constants;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.security.AuthoritiesConstants;
+import com.yk.booking.service.BookingReferenceGenerator;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk loads a synthetic dataset of sports, courts, users, time slots, payments and bookings, so that queries can be
+ * tried against production like volumes.
+ * <p>
+ * Rows are written with JDBC batches of plain SQL, committed batch by batch, with ids taken after the largest
+ * existing ones, so that the generator itself runs on MySQL as on H2 next to existing data. Each court opens
+ * {@value #OPENING_HOURS} one hour time slots a day. The bookings follow a Zipf distribution over the courts and
+ * another one over the users, whose exponents are configurable, and those of the time slots still to come may be
+ * pending. The tables derived from the bookings are not written, see
+ * {@link com.yk.booking.config.DatasetConfiguration}, which needs MySQL for that.
+ */
+public class DatasetGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int OPENING_HOUR = 8;
+
+    static final int OPENING_HOURS = 14;
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private static final String LOGIN_PREFIX = "dataset-";
+
+    private final DataSource dataSource;
+
+    private final ApplicationProperties.Dataset dataset;
+
+    private final BookingReferenceGenerator bookingReferenceGenerator;
+
+    private final String passwordHash;
+
+    /**
+     * Counts of the rows written.
+     */
+    public record Generated(int sports, int courts, int users, long timeSlots, long bookings) {}
+
+    public DatasetGenerator(
+        DataSource dataSource,
+        ApplicationProperties.Dataset dataset,
+        BookingReferenceGenerator bookingReferenceGenerator,
+        String passwordHash
+    ) {
+        if (dataset.getSports() < 1 || dataset.getCourts() < 1 || dataset.getUsers() < 1 || dataset.getBatchSize() < 1) {
+            throw new IllegalArgumentException("application.dataset needs at least one sport, court and user, and a positive batch size");
+        }
+        this.dataSource = dataSource;
+        this.dataset = dataset;
+        this.bookingReferenceGenerator = bookingReferenceGenerator;
+        this.passwordHash = passwordHash;
+    }
+
+    /**
+     * Write the dataset, unless its users are already there, i.e. it was written by an earlier run, even partially.
+     *
+     * @return the counts of the rows written, empty if nothing was written.
+     * @throws SQLException if a batch fails, the batches committed before it being kept.
+     */
+    public Optional<Generated> generate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (single(connection, "SELECT COUNT(*) FROM jhi_user WHERE login LIKE '" + LOGIN_PREFIX + "%'") > 0) {
+                LOG.info("The database already holds the users of a dataset, no dataset generated");
+                return Optional.empty();
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                return Optional.of(generate(connection));
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private Generated generate(Connection connection) throws SQLException {
+        String database = connection.getMetaData().getDatabaseProductName();
+        if ("MySQL".equals(database) && !connection.getMetaData().getURL().contains("rewriteBatchedStatements=true")) {
+            LOG.warn("Add rewriteBatchedStatements=true to the JDBC URL, MySQL running the batches statement by statement without it");
+        }
+        SplittableRandom random = new SplittableRandom(dataset.getSeed());
+        Instant now = Instant.now();
+
+        long firstSportId = maxId(connection, "sport") + 1;
+        long firstCourtId = maxId(connection, "court") + 1;
+        long firstUserId = maxId(connection, "jhi_user") + 1;
+        BigDecimal[] prices = insertSports(connection, firstSportId);
+        insertCourts(connection, firstCourtId, firstSportId);
+        insertUsers(connection, firstUserId, now);
+        long[] rows = insertTimeSlotsAndBookings(connection, firstCourtId, firstUserId, prices, random, now);
+
+        if ("H2".equals(database)) {
+            // Unlike MySQL, H2 does not move its identity columns past the ids inserted explicitly
+            for (String table : new String[] { "sport", "court", "jhi_user", "time_slot", "payment", "booking" }) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId(connection, table) + 1));
+                }
+            }
+            connection.commit();
+        }
+        Generated generated = new Generated(dataset.getSports(), dataset.getCourts(), dataset.getUsers(), rows[0], rows[1]);
+        LOG.info("Generated dataset: {}", generated);
+        return generated;
+    }
+
+    private BigDecimal[] insertSports(Connection connection, long firstSportId) throws SQLException {
+        BigDecimal[] prices = new BigDecimal[dataset.getSports()];
+        try (PreparedStatement sport = connection.prepareStatement("INSERT INTO sport (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < dataset.getSports(); i++) {
+                prices[i] = BigDecimal.valueOf(2_000 + i * 500L, 2);
+                sport.setLong(1, firstSportId + i);
+                sport.setString(2, "Sport " + (firstSportId + i));
+                sport.addBatch();
+            }
+            sport.executeBatch();
+        }
+        connection.commit();
+        return prices;
+    }
+
+    private void insertCourts(Connection connection, long firstCourtId, long firstSportId) throws SQLException {
+        try (PreparedStatement court = connection.prepareStatement("INSERT INTO court (id, name, sport_id) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < dataset.getCourts(); i++) {
+                court.setLong(1, firstCourtId + i);
+                court.setString(2, "Court " + (firstCourtId + i));
+                court.setLong(3, firstSportId + (i % dataset.getSports()));
+                court.addBatch();
+                if ((i + 1) % dataset.getBatchSize() == 0) {
+                    court.executeBatch();
+                }
+            }
+            court.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void insertUsers(Connection connection, long firstUserId, Instant now) throws SQLException {
+        try (
+            PreparedStatement user = connection.prepareStatement(
+                "INSERT INTO jhi_user (id, login, password_hash, first_name, last_name, email, activated, lang_key, created_by, " +
+                "created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            );
+            PreparedStatement authority = connection.prepareStatement(
+                "INSERT INTO jhi_user_authority (user_id, authority_name) VALUES (?, ?)"
+            )
+        ) {
+            for (int i = 0; i < dataset.getUsers(); i++) {
+                long id = firstUserId + i;
+                user.setLong(1, id);
+                user.setString(2, LOGIN_PREFIX + id);
+                user.setString(3, passwordHash);
+                user.setString(4, "Dataset");
+                user.setString(5, "User " + id);
+                user.setString(6, LOGIN_PREFIX + id + "@localhost");
+                user.setBoolean(7, true);
+                user.setString(8, Constants.DEFAULT_LANGUAGE);
+                user.setString(9, Constants.SYSTEM);
+                user.setObject(10, utc(now));
+                user.addBatch();
+                authority.setLong(1, id);
+                authority.setString(2, AuthoritiesConstants.USER);
+                authority.addBatch();
+                if ((i + 1) % dataset.getBatchSize() == 0) {
+                    user.executeBatch();
+                    authority.executeBatch();
+                    connection.commit();
+                }
+            }
+            user.executeBatch();
+            authority.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * @return the numbers of time slots and bookings written.
+     */
+    private long[] insertTimeSlotsAndBookings(
+        Connection connection,
+        long firstCourtId,
+        long firstUserId,
+        BigDecimal[] prices,
+        SplittableRandom random,
+        Instant now
+    ) throws SQLException {
+        int courts = dataset.getCourts();
+        long slotsPerDay = (long) courts * OPENING_HOURS;
+        long days = Math.max(1, (dataset.getTimeSlots() + slotsPerDay - 1) / slotsPerDay);
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).plusDays(dataset.getFutureDays() - days + 1);
+
+        // Probability that a time slot of each court is booked, the first courts being the most popular ones
+        double slotsPerCourt = (double) Math.min(dataset.getTimeSlots(), days * slotsPerDay) / courts;
+        double[] booked = booked(zipf(courts, dataset.getCourtSkew()), dataset.getBookings() / slotsPerCourt);
+        double[] userWeights = zipf(dataset.getUsers(), dataset.getUserSkew());
+
+        long timeSlotId = maxId(connection, "time_slot");
+        long bookingId = maxId(connection, "booking");
+        long paymentId = maxId(connection, "payment");
+        long timeSlots = 0;
+        long bookings = 0;
+        int pending = 0;
+        try (
+            PreparedStatement timeSlot = connection.prepareStatement(
+                "INSERT INTO time_slot (id, start_time, end_time, court_id) VALUES (?, ?, ?, ?)"
+            );
+            PreparedStatement payment = connection.prepareStatement(
+                "INSERT INTO payment (id, amount, payment_date, status, transaction_id, user_id) VALUES (?, ?, ?, ?, ?, ?)"
+            );
+            PreparedStatement booking = connection.prepareStatement(
+                "INSERT INTO booking (id, booking_id, booking_date, status, time_slot_id, payment_id, user_id, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 0)"
+            )
+        ) {
+            for (long day = 0; day < days && timeSlots < dataset.getTimeSlots(); day++) {
+                Instant opening = firstDay.plusDays(day).atTime(OPENING_HOUR, 0).toInstant(ZoneOffset.UTC);
+                for (int court = 0; court < courts && timeSlots < dataset.getTimeSlots(); court++) {
+                    for (int hour = 0; hour < OPENING_HOURS && timeSlots < dataset.getTimeSlots(); hour++) {
+                        Instant startTime = opening.plus(hour, ChronoUnit.HOURS);
+                        timeSlot.setLong(1, ++timeSlotId);
+                        timeSlot.setObject(2, utc(startTime));
+                        timeSlot.setObject(3, utc(startTime.plus(1, ChronoUnit.HOURS)));
+                        timeSlot.setLong(4, firstCourtId + court);
+                        timeSlot.addBatch();
+                        timeSlots++;
+                        pending++;
+
+                        if (random.nextDouble() < booked[court]) {
+                            long userId = firstUserId + pick(userWeights, random);
+                            BookingStatus status = status(startTime.isAfter(now), random);
+                            Instant bookingDate = startTime.minus(random.nextLong(1, 14 * 24 * 60), ChronoUnit.MINUTES);
+                            if (bookingDate.isAfter(now)) {
+                                bookingDate = now;
+                            }
+                            payment.setLong(1, ++paymentId);
+                            payment.setBigDecimal(2, prices[court % prices.length]);
+                            payment.setObject(3, utc(bookingDate.plus(random.nextLong(1, 30), ChronoUnit.MINUTES)));
+                            payment.setString(4, paymentStatus(status));
+                            payment.setString(5, "DATASET-" + paymentId);
+                            payment.setLong(6, userId);
+                            payment.addBatch();
+                            booking.setLong(1, ++bookingId);
+                            booking.setString(2, bookingReferenceGenerator.nextReference());
+                            booking.setObject(3, utc(bookingDate));
+                            booking.setString(4, status.name());
+                            booking.setLong(5, timeSlotId);
+                            booking.setLong(6, paymentId);
+                            booking.setLong(7, userId);
+                            booking.addBatch();
+                            bookings++;
+                            if (bookings % PROGRESS_INTERVAL == 0) {
+                                LOG.info("Generated {} time slots and {} bookings", timeSlots, bookings);
+                            }
+                        }
+
+                        if (pending >= dataset.getBatchSize()) {
+                            // The rows are flushed in the order of their foreign keys
+                            timeSlot.executeBatch();
+                            payment.executeBatch();
+                            booking.executeBatch();
+                            connection.commit();
+                            pending = 0;
+                        }
+                    }
+                }
+            }
+            timeSlot.executeBatch();
+            payment.executeBatch();
+            booking.executeBatch();
+        }
+        connection.commit();
+        return new long[] { timeSlots, bookings };
+    }
+
+    /**
+     * Share of the time slots of each rank that are booked, proportional to its weight under the cumulative weights,
+     * as long as it stays below 1. The shares of the fully booked ranks are spread over the others, so that they add
+     * up to {@code fullyBooked}, or all are 1 when there are not that many ranks.
+     */
+    static double[] booked(double[] cumulative, double fullyBooked) {
+        int n = cumulative.length;
+        double[] weights = new double[n];
+        for (int rank = 0; rank < n; rank++) {
+            weights[rank] = cumulative[rank] - (rank == 0 ? 0 : cumulative[rank - 1]);
+        }
+        double[] booked = new double[n];
+        if (fullyBooked >= n) {
+            Arrays.fill(booked, 1);
+            return booked;
+        }
+        // The sum of the capped shares grows with the scale, which is bisected until they add up
+        double low = 0;
+        double high = n / weights[n - 1];
+        for (int iteration = 0; iteration < 100; iteration++) {
+            double scale = (low + high) / 2;
+            double sum = 0;
+            for (double weight : weights) {
+                sum += Math.min(1, scale * weight);
+            }
+            if (sum < fullyBooked) {
+                low = scale;
+            } else {
+                high = scale;
+            }
+        }
+        for (int rank = 0; rank < n; rank++) {
+            booked[rank] = Math.min(1, high * weights[rank]);
+        }
+        return booked;
+    }
+
+    private static BookingStatus status(boolean upcoming, SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (upcoming && roll < 0.4) {
+            return BookingStatus.PENDING;
+        }
+        return roll < 0.9 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+    }
+
+    private static String paymentStatus(BookingStatus status) {
+        return switch (status) {
+            case APPROVED -> "COMPLETED";
+            case REJECTED -> "FAILED";
+            case PENDING -> "PENDING";
+        };
+    }
+
+    /**
+     * Cumulative weights of the ranks {@code 0..n-1} under a Zipf distribution of the given exponent.
+     */
+    private static double[] zipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(rank < 0 ? -rank - 1 : rank, cumulative.length - 1);
+    }
+
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        return single(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    private static long single(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.yk.booking.management;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the execution of the statements and batches of a Hibernate session in the current
+ * {@link StatementStatistics}.
+ * <p>
+ * Hibernate creates one listener per session, which is used by a single thread at a time.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementStatistics.statementExecuted(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementStatistics.statementExecuted(System.nanoTime() - executionStart);
+    }
+}
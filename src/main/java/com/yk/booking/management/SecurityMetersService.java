@@ -13,16 +13,26 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String LOGINS_METER_NAME = "security.authentication.logins";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter loginSucceededCounter;
+    private final Counter loginFailedCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.loginSucceededCounter = loginsCounterForOutcomeBuilder("success").register(registry);
+        this.loginFailedCounter = loginsCounterForOutcomeBuilder("failure").register(registry);
+    }
+
+    private Counter.Builder loginsCounterForOutcomeBuilder(String outcome) {
+        return Counter.builder(LOGINS_METER_NAME).baseUnit("logins").description("Login attempts of the users.").tag("outcome", outcome);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -47,4 +57,9 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackLogins(long succeeded, long failed) {
+        this.loginSucceededCounter.increment(succeeded);
+        this.loginFailedCounter.increment(failed);
+    }
 }
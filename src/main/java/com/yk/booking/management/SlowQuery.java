@@ -0,0 +1,25 @@
+package com.yk.booking.management;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement recorded by the {@link SlowQueryRecorder}.
+ *
+ * @param executedAt when the statement completed.
+ * @param durationMillis the execution time of the statement.
+ * @param sql the statement.
+ * @param binds the parameters of the statement, or of the first statement of a batch.
+ * @param batchSize the number of statements of the batch, 0 if not batched.
+ * @param caller the service method which issued the statement, if any.
+ * @param plan the execution plan of the statement, if captured.
+ */
+public record SlowQuery(
+    Instant executedAt,
+    long durationMillis,
+    String sql,
+    List<String> binds,
+    int batchSize,
+    String caller,
+    String plan
+) {}
@@ -0,0 +1,228 @@
+package com.yk.booking.management;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the last statements which ran longer than a threshold, in a bounded buffer listed by
+ * {@link SlowQueriesEndpoint}.
+ * <p>
+ * Each statement is kept with its binds and the service method which issued it, found by walking the stack of the
+ * thread only once a statement turned out to be slow. The execution plan of slow queries can also be captured on
+ * MySQL and H2, by running {@code EXPLAIN} with the same binds on the same connection right after them.
+ * <p>
+ * Binds are masked down to their type and length unless bind values are enabled, and always for the statements on
+ * the tables of {@link #SENSITIVE_TABLES}.
+ */
+public class SlowQueryRecorder implements QueryExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final int MAX_BIND_LENGTH = 200;
+
+    private static final String EXPLAIN = "EXPLAIN ";
+
+    /**
+     * Tables holding credentials or personal data, whose bind values are never kept.
+     */
+    static final List<String> SENSITIVE_TABLES = List.of("jhi_user", "mail_outbox");
+
+    private final long thresholdMillis;
+
+    private final int capacity;
+
+    private final boolean explain;
+
+    private final boolean bindValues;
+
+    private final String callerPackage;
+
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public SlowQueryRecorder(Duration threshold, int capacity, boolean explain, boolean bindValues, String callerPackage) {
+        this.thresholdMillis = threshold.toMillis();
+        this.capacity = capacity;
+        this.explain = explain;
+        this.bindValues = bindValues;
+        this.callerPackage = callerPackage + ".";
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Only the completed statements are recorded
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        Instant executedAt = Instant.now();
+        String caller = caller();
+        for (QueryInfo query : queryInfoList) {
+            if (query.getQuery().startsWith(EXPLAIN)) {
+                continue;
+            }
+            List<ParameterSetOperation> binds = query.getParametersList().isEmpty() ? List.of() : query.getParametersList().get(0);
+            String plan = explain ? explain(execInfo.getStatement(), query.getQuery(), binds) : null;
+            SlowQuery slowQuery = new SlowQuery(
+                executedAt,
+                execInfo.getElapsedTime(),
+                query.getQuery(),
+                format(binds, bindValues && !isSensitive(query.getQuery())),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                caller,
+                plan
+            );
+            LOG.info("Slow statement from {} ran in {} ms: {}", caller, slowQuery.durationMillis(), slowQuery.sql());
+            synchronized (slowQueries) {
+                if (slowQueries.size() == capacity) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(slowQuery);
+            }
+        }
+    }
+
+    /**
+     * @return the slow statements kept, the last one first.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            List<SlowQuery> lastFirst = new ArrayList<>(slowQueries.size());
+            slowQueries.descendingIterator().forEachRemaining(lastFirst::add);
+            return lastFirst;
+        }
+    }
+
+    public void clear() {
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private String caller() {
+        return StackWalker.getInstance()
+            .walk(frames ->
+                frames
+                    .filter(frame -> frame.getClassName().startsWith(callerPackage))
+                    // Skip the proxies, whose class names are generated
+                    .filter(frame -> !frame.getClassName().contains("$$"))
+                    .filter(frame -> !frame.getClassName().equals(SlowQueryRecorder.class.getName()))
+                    .findFirst()
+                    .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+            )
+            .orElse(null);
+    }
+
+    private static boolean isSensitive(String sql) {
+        String lowerCase = sql.toLowerCase(Locale.ROOT);
+        return SENSITIVE_TABLES.stream().anyMatch(lowerCase::contains);
+    }
+
+    private static List<String> format(List<ParameterSetOperation> binds, boolean values) {
+        List<String> formatted = new ArrayList<>(binds.size());
+        for (ParameterSetOperation bind : binds) {
+            Object[] args = bind.getArgs();
+            if (ParameterSetOperation.isRegisterOutParameterOperation(bind) || args.length < 2) {
+                continue;
+            }
+            String value;
+            if (ParameterSetOperation.isSetNullParameterOperation(bind)) {
+                value = "NULL";
+            } else if (values) {
+                value = String.valueOf(args[1]);
+                if (value.length() > MAX_BIND_LENGTH) {
+                    value = value.substring(0, MAX_BIND_LENGTH) + "...";
+                }
+            } else {
+                value = mask(args[1]);
+            }
+            formatted.add(args[0] + "=" + value);
+        }
+        return formatted;
+    }
+
+    private static String mask(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        String type = value.getClass().getSimpleName();
+        if (value instanceof byte[] bytes) {
+            return type + "(" + bytes.length + ")";
+        }
+        if (value instanceof CharSequence chars) {
+            return type + "(" + chars.length() + ")";
+        }
+        return type;
+    }
+
+    private static String explain(Statement statement, String sql, List<ParameterSetOperation> binds) {
+        String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (!verb.startsWith("select") && !verb.startsWith("with")) {
+            return null;
+        }
+        try {
+            Connection connection = statement.getConnection();
+            String database = connection.getMetaData().getDatabaseProductName();
+            if (!"MySQL".equals(database) && !"H2".equals(database)) {
+                return null;
+            }
+            try (PreparedStatement explained = connection.prepareStatement(EXPLAIN + sql)) {
+                for (ParameterSetOperation bind : binds) {
+                    Object[] args = bind.getArgs();
+                    if (args.length < 2 || !(args[0] instanceof Integer index)) {
+                        continue;
+                    }
+                    if (ParameterSetOperation.isSetNullParameterOperation(bind)) {
+                        explained.setNull(index, (Integer) args[1]);
+                    } else {
+                        explained.setObject(index, args[1]);
+                    }
+                }
+                try (ResultSet plan = explained.executeQuery()) {
+                    return format(plan);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOG.debug("Could not explain slow query {}: {}", sql, e.getMessage());
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static String format(ResultSet plan) throws SQLException {
+        ResultSetMetaData columns = plan.getMetaData();
+        StringJoiner rows = new StringJoiner("\n");
+        StringJoiner header = new StringJoiner("\t");
+        for (int column = 1; column <= columns.getColumnCount(); column++) {
+            header.add(columns.getColumnLabel(column));
+        }
+        rows.add(header.toString());
+        while (plan.next()) {
+            StringJoiner row = new StringJoiner("\t");
+            for (int column = 1; column <= columns.getColumnCount(); column++) {
+                row.add(String.valueOf(plan.getObject(column)));
+            }
+            rows.add(row.toString());
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.yk.booking.management;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements prepared by Hibernate in the current {@link StatementStatistics}, leaving them unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        StatementStatistics.statementPrepared();
+        return sql;
+    }
+}
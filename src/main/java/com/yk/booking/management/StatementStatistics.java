@@ -0,0 +1,93 @@
+package com.yk.booking.management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL statements prepared and time spent executing them on the current thread, between {@link #open(String)} and
+ * {@link #close()}.
+ * <p>
+ * Statements are counted by {@link StatementCountingInspector} and timed by {@link JdbcTimingSessionListener},
+ * which Hibernate calls on the thread running the session. Scopes nest: statements are counted by the innermost
+ * open scope, and a closed scope is kept by the one enclosing it.
+ */
+public final class StatementStatistics {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+
+    private final StatementStatistics enclosing;
+
+    private final List<StatementStatistics> closed = new ArrayList<>();
+
+    private int statements;
+
+    private long jdbcNanos;
+
+    private StatementStatistics(String name, StatementStatistics enclosing) {
+        this.name = name;
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Start counting the statements of the current thread, until the returned scope is closed.
+     *
+     * @param name the name of the scope, such as the request it counts the statements of.
+     * @return the new scope.
+     */
+    public static StatementStatistics open(String name) {
+        StatementStatistics statistics = new StatementStatistics(name, CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop counting in this scope, and resume counting in the enclosing one.
+     */
+    public void close() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Statement statistics " + name + " closed out of order");
+        }
+        if (enclosing != null) {
+            enclosing.closed.add(this);
+            CURRENT.set(enclosing);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void statementPrepared() {
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void statementExecuted(long nanos) {
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.jdbcNanos += nanos;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return the scopes opened and closed within this one.
+     */
+    public List<StatementStatistics> getClosed() {
+        return Collections.unmodifiableList(closed);
+    }
+}
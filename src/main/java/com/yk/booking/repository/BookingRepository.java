@@ -3,8 +3,10 @@ package com.yk.booking.repository;
 import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.User;
 import com.yk.booking.domain.enumeration.BookingStatus;
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
@@ -16,7 +18,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     long countByUser(User user);
 
     List<Booking> findAllByStatus(BookingStatus status);
@@ -25,6 +27,108 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Optional<Booking> findByBookingId(String bookingId);
 
+    /**
+     * Find the bookings of a user, most recent first, through the {@code booking(user_id, booking_date)} index.
+     */
+    @EntityGraph(attributePaths = { "timeSlot.court.sport", "payment", "user" })
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId ORDER BY b.bookingDate DESC, b.id DESC")
+    List<Booking> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find a booking with its time slot, court, sport, user and payment, in one query.
+     */
+    @Query(
+        "SELECT b FROM Booking b LEFT JOIN FETCH b.timeSlot ts LEFT JOIN FETCH ts.court c LEFT JOIN FETCH c.sport " +
+        "LEFT JOIN FETCH b.user LEFT JOIN FETCH b.payment WHERE b.id = :id"
+    )
+    Optional<Booking> findOneWithDetails(@Param("id") Long id);
+
+    /**
+     * Find the bookings with one of the given ids and the given status, locking their rows until the end of the
+     * transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Booking> findAllByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    /**
+     * Find bookings with their time slot, court, sport, user and payment, in one query.
+     */
+    @Query(
+        "SELECT b FROM Booking b LEFT JOIN FETCH b.timeSlot ts LEFT JOIN FETCH ts.court c LEFT JOIN FETCH c.sport " +
+        "LEFT JOIN FETCH b.user LEFT JOIN FETCH b.payment WHERE b.id IN :ids"
+    )
+    List<Booking> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move the bookings with one of the given ids from one status to another, leaving the others untouched.
+     *
+     * @return the number of bookings updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("expected") BookingStatus expected, @Param("status") BookingStatus status);
+
+    /**
+     * Move a booking from one status to another if neither its status nor its version changed since it was read.
+     *
+     * @return {@code 1} if the booking was updated, {@code 0} if it was changed concurrently.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+        "WHERE b.id = :id AND b.status = :expected AND b.version = :version"
+    )
+    int compareAndSetStatus(
+        @Param("id") Long id,
+        @Param("expected") BookingStatus expected,
+        @Param("version") Long version,
+        @Param("status") BookingStatus status
+    );
+
+    /**
+     * Find a booking of the given statuses, other than {@code excludedId} if any, holding a slot of the court
+     * overlapping {@code [start, end)}. This is a locking read: unlike a plain read, which sees the snapshot the
+     * transaction took on its first read, it sees the bookings committed meanwhile, and keeps them until the end
+     * of the transaction.
+     *
+     * @return the id of an overlapping booking, if any.
+     */
+    @Query(
+        value = "SELECT b.id FROM booking b JOIN time_slot ts ON ts.id = b.time_slot_id " +
+        "WHERE ts.court_id = :courtId AND b.status IN (:statuses) AND ts.start_time < :end AND ts.end_time > :start " +
+        "AND (:excludedId IS NULL OR b.id <> :excludedId) LIMIT 1 FOR SHARE",
+        nativeQuery = true
+    )
+    List<Long> findOverlappingForShare(
+        @Param("courtId") Long courtId,
+        @Param("statuses") Collection<String> statuses,
+        @Param("start") Instant start,
+        @Param("end") Instant end,
+        @Param("excludedId") Long excludedId
+    );
+
+    Optional<Booking> findOneByTimeSlotId(Long timeSlotId);
+
+    /**
+     * Count the bookings of every user counting towards its tier, that is all but rejected ones, in one pass over
+     * the {@code booking(user_id, booking_date)} index.
+     */
+    @Query(
+        "SELECT b.user.id AS userId, COUNT(b) AS bookingCount FROM Booking b " +
+        "WHERE b.user IS NOT NULL AND (b.status IS NULL OR b.status <> :excluded) GROUP BY b.user.id"
+    )
+    List<UserBookingCount> countBookingsByUser(@Param("excluded") BookingStatus excluded);
+
+    @Query("SELECT MIN(b.bookingDate) FROM Booking b")
+    Optional<Instant> findFirstBookingDate();
+
+    @Query("SELECT MAX(b.bookingDate) FROM Booking b")
+    Optional<Instant> findLastBookingDate();
+
     @Query(
         "SELECT SUM(b.payment.amount) FROM Booking b WHERE b.status = :status AND b.bookingDate >= :startOfDay AND b.bookingDate < :endOfDay"
     )
@@ -33,4 +137,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("startOfDay") Instant startOfDay,
         @Param("endOfDay") Instant endOfDay
     );
+
+    /**
+     * Number of bookings of a user.
+     */
+    interface UserBookingCount {
+        Long getUserId();
+
+        long getBookingCount();
+    }
 }
@@ -1,7 +1,13 @@
 package com.yk.booking.repository;
 
 import com.yk.booking.domain.Client;
+import com.yk.booking.domain.ClientTier;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,35 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {}
+public interface ClientRepository extends JpaRepository<Client, Long> {
+    Optional<Client> findOneByUserId(Long userId);
+
+    /**
+     * Find the next clients after {@code afterId} in id order, reading only the ids needed to recalculate tiers.
+     */
+    @Query(
+        "SELECT c.id AS id, u.id AS userId, u.login AS userLogin, CAST(u.tier AS String) AS userTierName, t.id AS clientTierId " +
+        "FROM Client c LEFT JOIN c.user u LEFT JOIN c.clientTier t " +
+        "WHERE c.id > :afterId ORDER BY c.id"
+    )
+    List<ClientTierAssignment> findTierAssignmentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Client c SET c.clientTier = :clientTier WHERE c.id IN :ids")
+    int updateClientTier(@Param("ids") Collection<Long> ids, @Param("clientTier") ClientTier clientTier);
+
+    /**
+     * Ids of a client, its user and their current tiers.
+     */
+    interface ClientTierAssignment {
+        Long getId();
+
+        Long getUserId();
+
+        String getUserLogin();
+
+        String getUserTierName();
+
+        Long getClientTierId();
+    }
+}
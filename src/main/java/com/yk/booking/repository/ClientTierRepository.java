@@ -1,7 +1,9 @@
 package com.yk.booking.repository;
 
 import com.yk.booking.domain.ClientTier;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +13,17 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface ClientTierRepository extends JpaRepository<ClientTier, Long> {
+    String CLIENT_TIERS_BY_NAME_QUERY_CACHE = "clientTiersByName";
+
+    /**
+     * Find a tier by name, keeping its id in the {@value #CLIENT_TIERS_BY_NAME_QUERY_CACHE} query cache region
+     * until a tier changes.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CLIENT_TIERS_BY_NAME_QUERY_CACHE),
+        }
+    )
     Optional<ClientTier> findByTierName(String tierName);
 }
@@ -2,8 +2,13 @@ package com.yk.booking.repository;
 
 import com.yk.booking.domain.Court;
 import com.yk.booking.domain.Sport;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,9 +17,25 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface CourtRepository extends JpaRepository<Court, Long> {
+    String ALL_COURTS_QUERY_CACHE = "allCourts";
+
     List<Court> findBySport(Sport sport);
 
+    /**
+     * Find all courts with their sport. The ids are kept in the {@value #ALL_COURTS_QUERY_CACHE} query cache
+     * region until a court or sport changes, and the courts themselves in their entity region.
+     */
     @Override
     @EntityGraph(attributePaths = "sport")
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ALL_COURTS_QUERY_CACHE),
+        }
+    )
     List<Court> findAll();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select court from Court court where court.id = :id")
+    Optional<Court> findOneForUpdate(@Param("id") Long id);
 }
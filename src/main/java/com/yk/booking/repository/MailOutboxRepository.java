@@ -0,0 +1,39 @@
+package com.yk.booking.repository;
+
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.domain.enumeration.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailOutbox entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    /**
+     * Find and lock the emails due for delivery, oldest first. Rows already locked by another node are skipped
+     * rather than waited for, so several dispatchers can drain the outbox side by side.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutbox m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<MailOutbox> findDueForUpdate(
+        @Param("statuses") Collection<MailOutboxStatus> statuses,
+        @Param("now") Instant now,
+        Limit limit
+    );
+
+    boolean existsByRecipientAndDedupKeyAndStatusIn(String recipient, String dedupKey, Collection<MailOutboxStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :status, m.sentDate = :now, m.lastError = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("status") MailOutboxStatus status, @Param("now") Instant now);
+}
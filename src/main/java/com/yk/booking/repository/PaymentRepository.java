@@ -1,8 +1,12 @@
 package com.yk.booking.repository;
 
 import com.yk.booking.domain.Payment;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,4 +17,36 @@ import org.springframework.stereotype.Repository;
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("select payment from Payment payment where payment.user.login = ?#{authentication.name}")
     List<Payment> findByUserIsCurrentUser();
+
+    /**
+     * Find the payments without a booking, ordered by id, through the unique index on {@code booking(payment_id)}.
+     *
+     * @param afterId the id to continue after, {@code 0} for the first slice.
+     * @param limit the maximum number of payments to return.
+     */
+    @Query(
+        "SELECT p.id AS id, p.amount AS amount, p.paymentDate AS paymentDate, p.status AS status, p.qrCodeUrl AS qrCodeUrl, " +
+        "p.transactionId AS transactionId, p.user.id AS userId " +
+        "FROM Payment p LEFT JOIN p.booking b WHERE b.id IS NULL AND p.id > :afterId ORDER BY p.id"
+    )
+    List<PaymentSummary> findUnbookedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Read-only projection of a payment.
+     */
+    interface PaymentSummary {
+        Long getId();
+
+        BigDecimal getAmount();
+
+        Instant getPaymentDate();
+
+        String getStatus();
+
+        String getQrCodeUrl();
+
+        String getTransactionId();
+
+        Long getUserId();
+    }
 }
@@ -0,0 +1,114 @@
+package com.yk.booking.repository;
+
+import com.yk.booking.domain.RevenueDailyRollup;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RevenueDailyRollup entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RevenueDailyRollupRepository extends JpaRepository<RevenueDailyRollup, Long> {
+    /**
+     * Add an amount and a booking count to the row of a day, court and sport, creating it when missing.
+     * Negative values withdraw an earlier contribution.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollup"))
+    @Query(
+        value = "INSERT INTO revenue_daily_rollup (rollup_date, court_id, sport_id, amount, booking_count) " +
+        "VALUES (:date, :courtId, :sportId, :amount, :bookingCount) " +
+        "ON DUPLICATE KEY UPDATE amount = amount + :amount, booking_count = booking_count + :bookingCount",
+        nativeQuery = true
+    )
+    int addContribution(
+        @Param("date") LocalDate date,
+        @Param("courtId") Long courtId,
+        @Param("sportId") Long sportId,
+        @Param("amount") BigDecimal amount,
+        @Param("bookingCount") long bookingCount
+    );
+
+    /**
+     * Rows of the bookings dated in {@code [:start, :end)}, computed from the bookings and their payments.
+     */
+    String AGGREGATED_FROM_BOOKINGS =
+        "SELECT DATE(b.booking_date) AS rollup_date, COALESCE(c.id, 0) AS court_id, COALESCE(c.sport_id, 0) AS sport_id, " +
+        "SUM(p.amount) AS amount, COUNT(*) AS booking_count " +
+        "FROM booking b JOIN payment p ON p.id = b.payment_id " +
+        "LEFT JOIN time_slot ts ON ts.id = b.time_slot_id LEFT JOIN court c ON c.id = ts.court_id " +
+        "WHERE b.status = 'APPROVED' AND p.amount IS NOT NULL AND LOWER(p.status) <> 'failed' " +
+        "AND b.booking_date >= :start AND b.booking_date < :end " +
+        "GROUP BY DATE(b.booking_date), COALESCE(c.id, 0), COALESCE(c.sport_id, 0)";
+
+    /**
+     * Set the rows of the bookings dated in {@code [start, end)}, which must cover whole UTC days, to their values
+     * recomputed from the bookings, creating the missing ones.
+     * <p>
+     * The bookings are read with locking reads, so a booking change running at the same time either commits first and
+     * is counted, or waits for this statement and adds its contribution to the value set here.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollup"))
+    @Query(
+        value = "INSERT INTO revenue_daily_rollup (rollup_date, court_id, sport_id, amount, booking_count) " +
+        "SELECT * FROM (" +
+        AGGREGATED_FROM_BOOKINGS +
+        ") a ON DUPLICATE KEY UPDATE amount = a.amount, booking_count = a.booking_count",
+        nativeQuery = true
+    )
+    int upsertAggregatedFromBookings(@Param("start") Instant start, @Param("end") Instant end);
+
+    /**
+     * Delete the rows of the days in {@code [from, to)} left without any booking dated in {@code [start, end)}, the
+     * same days, for instance those of a court moved to another sport.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revenue_daily_rollup"))
+    @Query(
+        value = "DELETE r FROM revenue_daily_rollup r LEFT JOIN (" +
+        AGGREGATED_FROM_BOOKINGS +
+        ") a ON a.rollup_date = r.rollup_date AND a.court_id = r.court_id AND a.sport_id = r.sport_id " +
+        "WHERE r.rollup_date >= :from AND r.rollup_date < :to AND a.rollup_date IS NULL",
+        nativeQuery = true
+    )
+    int deleteWithoutBookings(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+
+    @Query(
+        "SELECT r.rollupDate AS date, SUM(r.amount) AS revenue FROM RevenueDailyRollup r " +
+        "WHERE r.rollupDate >= :from AND r.rollupDate < :to GROUP BY r.rollupDate ORDER BY r.rollupDate"
+    )
+    List<DailyRevenue> sumRevenueByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT SUM(r.amount) FROM RevenueDailyRollup r WHERE r.rollupDate >= :from AND r.rollupDate < :to")
+    Optional<BigDecimal> sumRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MIN(r.rollupDate) FROM RevenueDailyRollup r")
+    Optional<LocalDate> findFirstRollupDate();
+
+    @Query("SELECT MAX(r.rollupDate) FROM RevenueDailyRollup r")
+    Optional<LocalDate> findLastRollupDate();
+
+    /**
+     * Revenue of one day over every court and sport.
+     */
+    interface DailyRevenue {
+        LocalDate getDate();
+
+        BigDecimal getRevenue();
+    }
+}
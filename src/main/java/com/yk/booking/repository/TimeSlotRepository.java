@@ -1,7 +1,12 @@
 package com.yk.booking.repository;
 
 import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +14,62 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {}
+public interface TimeSlotRepository extends JpaRepository<TimeSlot, Long> {
+    /**
+     * Find the time slots of a court starting in {@code [start, end)} whose booking has the given status.
+     * Only the projected columns are read, served by the {@code time_slot(court_id, start_time)} index.
+     */
+    @Query(
+        "SELECT b.id AS bookingId, ts.id AS id, ts.startTime AS startTime, ts.endTime AS endTime, " +
+        "c.id AS courtId, c.name AS courtName, s.id AS sportId, s.name AS sportName " +
+        "FROM Booking b JOIN b.timeSlot ts JOIN ts.court c LEFT JOIN c.sport s " +
+        "WHERE c.id = :courtId AND ts.startTime >= :start AND ts.startTime < :end AND b.status = :status " +
+        "ORDER BY ts.startTime, ts.id"
+    )
+    List<BookedTimeSlot> findBookedByCourtAndStartTimeBetween(
+        @Param("courtId") Long courtId,
+        @Param("status") BookingStatus status,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+
+    /**
+     * Find the time slots without a booking, ordered by id, through the unique index on {@code booking(time_slot_id)}.
+     *
+     * @param afterId the id to continue after, {@code 0} for the first slice.
+     * @param limit the maximum number of time slots to return.
+     */
+    @Query(
+        "SELECT ts.id AS id, ts.startTime AS startTime, ts.endTime AS endTime, " +
+        "c.id AS courtId, c.name AS courtName, s.id AS sportId, s.name AS sportName " +
+        "FROM TimeSlot ts LEFT JOIN ts.booking b LEFT JOIN ts.court c LEFT JOIN c.sport s " +
+        "WHERE b.id IS NULL AND ts.id > :afterId ORDER BY ts.id"
+    )
+    List<TimeSlotSummary> findUnbookedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Read-only projection of a time slot with its court and sport.
+     */
+    interface TimeSlotSummary {
+        Long getId();
+
+        Instant getStartTime();
+
+        Instant getEndTime();
+
+        Long getCourtId();
+
+        String getCourtName();
+
+        Long getSportId();
+
+        String getSportName();
+    }
+
+    /**
+     * Read-only projection of a booked time slot with its court and sport.
+     */
+    interface BookedTimeSlot extends TimeSlotSummary {
+        Long getBookingId();
+    }
+}
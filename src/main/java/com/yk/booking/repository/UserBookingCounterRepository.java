@@ -0,0 +1,74 @@
+package com.yk.booking.repository;
+
+import com.yk.booking.domain.UserBookingCounter;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the UserBookingCounter entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface UserBookingCounterRepository extends JpaRepository<UserBookingCounter, Long> {
+    /**
+     * Add to the booking count of a user, creating the counter when missing. The row stays locked until the end
+     * of the transaction, so concurrent bookings of the same user are counted one after the other.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_booking_counter"))
+    @Query(
+        value = "INSERT INTO user_booking_counter (user_id, booking_count) VALUES (:userId, :delta) " +
+        "ON DUPLICATE KEY UPDATE booking_count = booking_count + :delta",
+        nativeQuery = true
+    )
+    int addBookings(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Bookings of the user of counter {@code c} counting towards its tier, all but those of status {@code :excluded}.
+     */
+    String COUNTED_BOOKINGS =
+        "SELECT COUNT(*) FROM booking b WHERE b.user_id = c.user_id AND (b.status IS NULL OR b.status <> :excluded)";
+
+    /**
+     * Recount the bookings of the users of id in {@code (afterId, toId]} having a counter, and update the counters
+     * that differ. The count is taken by the update itself, so a booking counted meanwhile is never lost.
+     *
+     * @return the number of counters that had drifted.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_booking_counter"))
+    @Query(
+        value = "UPDATE user_booking_counter c SET c.booking_count = (" +
+        COUNTED_BOOKINGS +
+        ") WHERE c.user_id > :afterId AND c.user_id <= :toId AND c.booking_count <> (" +
+        COUNTED_BOOKINGS +
+        ")",
+        nativeQuery = true
+    )
+    int recountBookings(@Param("afterId") long afterId, @Param("toId") long toId, @Param("excluded") String excluded);
+
+    /**
+     * Create the missing counters of the users of id in {@code (afterId, toId]} having counted bookings. A counter
+     * created meanwhile by {@link #addBookings} is left as it is.
+     *
+     * @return the number of counters created.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_booking_counter"))
+    @Query(
+        value = "INSERT INTO user_booking_counter (user_id, booking_count) " +
+        "SELECT b.user_id, COUNT(*) FROM booking b " +
+        "WHERE b.user_id > :afterId AND b.user_id <= :toId AND (b.status IS NULL OR b.status <> :excluded) " +
+        "AND NOT EXISTS (SELECT 1 FROM user_booking_counter c WHERE c.user_id = b.user_id) GROUP BY b.user_id " +
+        "ON DUPLICATE KEY UPDATE booking_count = user_booking_counter.booking_count",
+        nativeQuery = true
+    )
+    int insertMissingCounters(@Param("afterId") long afterId, @Param("toId") long toId, @Param("excluded") String excluded);
+
+    @Query(value = "SELECT booking_count FROM user_booking_counter WHERE user_id = :userId", nativeQuery = true)
+    Optional<Long> findBookingCount(@Param("userId") Long userId);
+}
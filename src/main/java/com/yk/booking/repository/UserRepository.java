@@ -1,13 +1,18 @@
 package com.yk.booking.repository;
 
 import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.ClientTier;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -23,6 +28,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneByResetKey(String resetKey);
     Optional<User> findOneByEmailIgnoreCase(String email);
     Optional<User> findOneByLogin(String login);
+    List<User> findAllByLoginIn(Collection<String> logins);
 
     @EntityGraph(attributePaths = "authorities")
     @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, unless = "#result == null")
@@ -33,4 +39,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Optional<Long> findMaxId();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.tier = :tier WHERE u.id IN :ids")
+    int updateTier(@Param("ids") Collection<Long> ids, @Param("tier") ClientTier tier);
+
+    /**
+     * Record a login of a user, unless a later one was already recorded.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.lastLoginDate = :date WHERE u.login = :login AND (u.lastLoginDate IS NULL OR u.lastLoginDate < :date)")
+    int updateLastLoginDate(@Param("login") String login, @Param("date") Instant date);
 }
@@ -0,0 +1,96 @@
+package com.yk.booking.security;
+
+import com.nimbusds.jose.proc.BadJWSException;
+import com.yk.booking.management.SecurityMetersService;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} remembering the tokens it verified, so that the bearer token sent with every request of a
+ * session is parsed and its signature checked only once.
+ * <p>
+ * Verified tokens are kept by value until they expire, and at most {@code maxEntries} of them: when full, expired
+ * tokens are dropped, and all of them if that is not enough to free half of the cache. Tokens failing
+ * verification are never cached, and counted by cause.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingJwtDecoder.class);
+
+    private final JwtDecoder delegate;
+
+    private final int maxEntries;
+
+    private final SecurityMetersService metersService;
+
+    private final Map<String, Jwt> verifiedJwts = new ConcurrentHashMap<>();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt cached = verifiedJwts.get(token);
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedJwts.remove(token, cached);
+        }
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            trackFailure(e);
+            throw e;
+        }
+        // Tokens without expiry are not cached, as they could never be dropped
+        if (jwt.getExpiresAt() != null) {
+            cache(token, jwt);
+        }
+        return jwt;
+    }
+
+    int size() {
+        return verifiedJwts.size();
+    }
+
+    private void cache(String token, Jwt jwt) {
+        if (verifiedJwts.size() >= maxEntries) {
+            Instant now = Instant.now();
+            verifiedJwts.values().removeIf(verified -> !verified.getExpiresAt().isAfter(now));
+            if (verifiedJwts.size() > maxEntries / 2) {
+                verifiedJwts.clear();
+            }
+        }
+        verifiedJwts.put(token, jwt);
+    }
+
+    private void trackFailure(JwtException e) {
+        if (e instanceof JwtValidationException) {
+            // Only the expiry of the tokens is validated
+            metersService.trackTokenExpired();
+        } else if (e.getCause() instanceof BadJWSException) {
+            metersService.trackTokenInvalidSignature();
+        } else if (e.getCause() instanceof ParseException) {
+            metersService.trackTokenMalformed();
+        } else if (e instanceof BadJwtException) {
+            // Unsecured tokens, or signed with another algorithm
+            metersService.trackTokenUnsupported();
+        } else {
+            LOG.error("Unknown JWT error {}", e.getMessage());
+        }
+    }
+}
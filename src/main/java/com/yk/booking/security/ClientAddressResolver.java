@@ -0,0 +1,73 @@
+package com.yk.booking.security;
+
+import com.yk.booking.config.ApplicationProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the address of the client behind a request, the one {@link LoginRateLimiter} limits.
+ * <p>
+ * The {@code X-Forwarded-For} header is only believed when the request comes from one of the trusted proxies of
+ * {@code application.login-rate-limit.trusted-proxies}: it is then read from the right, skipping the trusted
+ * proxies, and the first other address is the client. Anyone else could send any header, so without trusted
+ * proxies, or when the request does not come from one, the client is the peer address of the connection.
+ * <p>
+ * This does not depend on {@code server.forward-headers-strategy}, which only the dev profile sets: with it, the
+ * peer address is already taken from the header and no proxy needs to be trusted here.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    @Autowired
+    public ClientAddressResolver(ApplicationProperties applicationProperties) {
+        this(applicationProperties.getLoginRateLimit().getTrustedProxies());
+    }
+
+    ClientAddressResolver(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream().map(IpAddressMatcher::new).toList();
+    }
+
+    /**
+     * Get the address of the client behind a request.
+     *
+     * @param request the request.
+     * @return the client address.
+     */
+    public String resolve(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(X_FORWARDED_FOR);
+        if (forwardedFor == null || !isTrusted(address)) {
+            return address;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0 && isTrusted(address); i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            address = hop;
+        }
+        return address;
+    }
+
+    private boolean isTrusted(String address) {
+        for (IpAddressMatcher trustedProxy : trustedProxies) {
+            try {
+                if (trustedProxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not an IP address, so not a proxy of ours
+                return false;
+            }
+        }
+        return false;
+    }
+}
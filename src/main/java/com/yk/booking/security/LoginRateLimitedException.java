@@ -0,0 +1,23 @@
+package com.yk.booking.security;
+
+import java.time.Duration;
+
+/**
+ * This exception is thrown when a login attempt is refused by the {@link LoginRateLimiter}, before its password is
+ * verified.
+ */
+public class LoginRateLimitedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public LoginRateLimitedException(Duration retryAfter) {
+        super("Too many login attempts");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,169 @@
+package com.yk.booking.security;
+
+import com.yk.booking.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the login attempts of each login and of each client address, so that guessing passwords is slow and
+ * costs at most a bounded number of BCrypt verifications.
+ * <p>
+ * Each login and client address has a token bucket, allowing a burst of attempts then earning back one attempt
+ * every refill interval. A bucket is a single timestamp (the generic cell rate algorithm): the time at which it
+ * will be full again. Buckets are held by 64 stripes, each an LRU map under its own lock, and only the most
+ * recently used ones are kept, a forgotten bucket being as good as full.
+ */
+@Component
+public class LoginRateLimiter {
+
+    public static final String ATTEMPTS_METER_NAME = "security.authentication.rate-limit.attempts";
+    public static final String BUCKETS_METER_NAME = "security.authentication.rate-limit.buckets";
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+
+    private final LongSupplier nanoTime;
+
+    private final Buckets loginBuckets;
+
+    private final Buckets clientAddressBuckets;
+
+    private final Counter allowedCounter;
+
+    private final Counter loginLimitedCounter;
+
+    private final Counter clientAddressLimitedCounter;
+
+    @Autowired
+    public LoginRateLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(applicationProperties.getLoginRateLimit(), meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(ApplicationProperties.LoginRateLimit properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.enabled = properties.isEnabled();
+        this.nanoTime = nanoTime;
+        int maxBucketsPerStripe = Math.max(1, properties.getMaxBuckets() / STRIPES);
+        this.loginBuckets = new Buckets(properties.getLogin(), maxBucketsPerStripe);
+        this.clientAddressBuckets = new Buckets(properties.getClientAddress(), maxBucketsPerStripe);
+        this.allowedCounter = attemptsCounter("allowed", meterRegistry);
+        this.loginLimitedCounter = attemptsCounter("login-limited", meterRegistry);
+        this.clientAddressLimitedCounter = attemptsCounter("client-address-limited", meterRegistry);
+        bucketsGauge("login", loginBuckets, meterRegistry);
+        bucketsGauge("client-address", clientAddressBuckets, meterRegistry);
+    }
+
+    private static Counter attemptsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(ATTEMPTS_METER_NAME)
+            .baseUnit("attempts")
+            .description("Login attempts checked by the login rate limiter")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static void bucketsGauge(String kind, Buckets buckets, MeterRegistry meterRegistry) {
+        Gauge.builder(BUCKETS_METER_NAME, buckets, Buckets::size)
+            .baseUnit("buckets")
+            .description("Token buckets kept by the login rate limiter")
+            .tag("kind", kind)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Take one login attempt from the buckets of a login and of a client address.
+     *
+     * @param login the login being authenticated.
+     * @param clientAddress the address of the client.
+     * @throws LoginRateLimitedException if either bucket is empty, in which case the login bucket is left untouched.
+     */
+    public void acquire(String login, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoTime.getAsLong();
+        long wait = clientAddressBuckets.tryAcquire(clientAddress, now);
+        if (wait > 0) {
+            clientAddressLimitedCounter.increment();
+            throw new LoginRateLimitedException(Duration.ofNanos(wait));
+        }
+        wait = loginBuckets.tryAcquire(login.toLowerCase(Locale.ENGLISH), now);
+        if (wait > 0) {
+            loginLimitedCounter.increment();
+            throw new LoginRateLimitedException(Duration.ofNanos(wait));
+        }
+        allowedCounter.increment();
+    }
+
+    int size() {
+        return loginBuckets.size() + clientAddressBuckets.size();
+    }
+
+    private static final class Buckets {
+
+        private final long refillNanos;
+
+        private final long burstNanos;
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        Buckets(ApplicationProperties.LoginRateLimit.Bucket properties, int maxBucketsPerStripe) {
+            this.refillNanos = properties.getRefillInterval().toNanos();
+            this.burstNanos = refillNanos * properties.getCapacity();
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(maxBucketsPerStripe);
+            }
+        }
+
+        /**
+         * @return 0 if an attempt was taken from the bucket of the key, or the time to wait for one otherwise.
+         */
+        long tryAcquire(String key, long now) {
+            Stripe stripe = stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+            synchronized (stripe) {
+                Long fullAt = stripe.get(key);
+                // An attempt is allowed as long as taking it leaves the bucket at most a whole burst away from full
+                long next = (fullAt == null || fullAt - now < 0 ? now : fullAt) + refillNanos;
+                if (next - now > burstNanos) {
+                    return next - now - burstNanos;
+                }
+                stripe.put(key, next);
+                return 0;
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxBuckets;
+
+        Stripe(int maxBuckets) {
+            super(16, 0.75f, true);
+            this.maxBuckets = maxBuckets;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxBuckets;
+        }
+    }
+}
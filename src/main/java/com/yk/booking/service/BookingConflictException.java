@@ -0,0 +1,13 @@
+package com.yk.booking.service;
+
+/**
+ * Thrown when a booking would take a court that is already booked for an overlapping time.
+ */
+public class BookingConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.yk.booking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in the booking listing, ordered by {@code (bookingDate, id)} descending.
+ * <p>
+ * Clients receive it as an opaque URL-safe token and send it back to get the bookings that follow it.
+ */
+public record BookingCursor(Instant bookingDate, Long id) {
+    private static final char SEPARATOR = '|';
+
+    public BookingCursor {
+        Objects.requireNonNull(bookingDate, "bookingDate");
+        Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Encode this cursor as an opaque token.
+     *
+     * @return the token.
+     */
+    public String encode() {
+        String raw = bookingDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the token.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid booking cursor");
+            }
+            return new BookingCursor(Instant.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid booking cursor", e);
+        }
+    }
+}
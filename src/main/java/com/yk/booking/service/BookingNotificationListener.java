@@ -0,0 +1,39 @@
+package com.yk.booking.service;
+
+import com.yk.booking.service.dto.BookingNotification;
+import com.yk.booking.service.dto.BookingNotificationBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the emails of the {@link BookingNotification}s and {@link BookingNotificationBatch}es published by
+ * {@link BookingService}.
+ * <p>
+ * Notifications are handled synchronously, so their emails are queued in the transaction approving or rejecting the
+ * bookings: they commit or roll back with it. The templates are only rendered by the outbox dispatcher.
+ */
+@Component
+public class BookingNotificationListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingNotificationListener.class);
+
+    private final MailService mailService;
+
+    public BookingNotificationListener(MailService mailService) {
+        this.mailService = mailService;
+    }
+
+    @EventListener
+    public void onBookingNotification(BookingNotification notification) {
+        LOG.debug("Booking {} changed, queuing its {} email", notification.id(), notification.kind());
+        mailService.sendBookingNotification(notification);
+    }
+
+    @EventListener
+    public void onBookingNotificationBatch(BookingNotificationBatch batch) {
+        LOG.debug("{} bookings changed, queuing their emails", batch.notifications().size());
+        mailService.sendBookingNotifications(batch.notifications());
+    }
+}
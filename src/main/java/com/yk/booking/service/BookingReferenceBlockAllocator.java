@@ -0,0 +1,58 @@
+package com.yk.booking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Allocates blocks of booking reference numbers from the {@code booking_reference_block} table.
+ * <p>
+ * Each call moves the stored high-water value past the block in its own transaction. The row lock taken by the
+ * update serialises allocations across application nodes, so a block is never handed out twice.
+ */
+@Component
+public class BookingReferenceBlockAllocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingReferenceBlockAllocator.class);
+
+    static final String SEQUENCE_NAME = "booking";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingReferenceBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve the next block of reference numbers.
+     * <p>
+     * The table stores the first number not yet reserved rather than a block number, so blocks of any size never
+     * overlap, including when the block size changes between two reservations.
+     *
+     * @param size the number of reference numbers to reserve.
+     * @return the first number of the block, the block being unique across all callers.
+     */
+    public long nextBlock(int size) {
+        Long start = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(
+                "UPDATE booking_reference_block SET next_hi = next_hi + ? WHERE name = ?",
+                size,
+                SEQUENCE_NAME
+            );
+            if (updated != 1) {
+                throw new IllegalStateException("Booking reference sequence '" + SEQUENCE_NAME + "' is not initialised");
+            }
+            return jdbcTemplate.queryForObject("SELECT next_hi - ? FROM booking_reference_block WHERE name = ?", Long.class, size, SEQUENCE_NAME);
+        });
+        LOG.debug("Allocated booking references {} to {}", start, start + size - 1);
+        return start;
+    }
+}
@@ -0,0 +1,21 @@
+package com.yk.booking.service;
+
+/**
+ * Strategy for allocating the customer facing reference of a {@link com.yk.booking.domain.Booking}.
+ * <p>
+ * Implementations must hand out unique, fixed-length codes without querying existing bookings, and
+ * must stay unique when several application nodes share the same database.
+ */
+public interface BookingReferenceGenerator {
+    /**
+     * Length of every reference handed out.
+     */
+    int REFERENCE_LENGTH = 8;
+
+    /**
+     * Allocate a new booking reference.
+     *
+     * @return a reference of {@link #REFERENCE_LENGTH} characters.
+     */
+    String nextReference();
+}
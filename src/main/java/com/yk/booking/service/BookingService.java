@@ -1,30 +1,61 @@
 package com.yk.booking.service;
 
+import com.yk.booking.config.ApplicationProperties;
 import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Booking_;
 import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Court_;
+import com.yk.booking.domain.Sport_;
 import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.TimeSlot_;
 import com.yk.booking.domain.User;
+import com.yk.booking.domain.User_;
 import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.BookingRepository;
 import com.yk.booking.repository.CourtRepository;
 import com.yk.booking.repository.TimeSlotRepository;
 import com.yk.booking.repository.UserRepository;
+import com.yk.booking.service.RevenueRollupService.Contribution;
+import com.yk.booking.service.criteria.BookingCriteria;
 import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.dto.BookingNotification;
+import com.yk.booking.service.dto.BookingNotification.Kind;
+import com.yk.booking.service.dto.BookingNotificationBatch;
+import com.yk.booking.service.dto.BookingStatusResultDTO;
+import com.yk.booking.service.dto.BookingStatusResultDTO.Outcome;
 import com.yk.booking.service.mapper.BookingMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link com.yk.booking.domain.Booking}.
@@ -33,8 +64,19 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class BookingService {
 
+    public static final String TRANSITIONS_METER_NAME = "booking.status.transitions";
+
     private static final Logger LOG = LoggerFactory.getLogger(BookingService.class);
 
+    /**
+     * Statuses of bookings that hold their time slot.
+     */
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.PENDING, BookingStatus.APPROVED);
+
+    private static final List<String> ACTIVE_STATUS_NAMES = ACTIVE_STATUSES.stream().map(BookingStatus::name).toList();
+
+    private static final Sort LISTING_SORT = Sort.by(Sort.Direction.DESC, Booking_.BOOKING_DATE, Booking_.ID);
+
     private final BookingRepository bookingRepository;
 
     private final BookingMapper bookingMapper;
@@ -45,9 +87,29 @@ public class BookingService {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final CourtAvailabilityIndex courtAvailabilityIndex;
+
+    private final BookingReferenceGenerator bookingReferenceGenerator;
+
+    private final CourtBookingLocks courtBookingLocks;
 
-    private final Random random = new Random();
+    private final RevenueRollupService revenueRollupService;
+
+    private final UserBookingCounterService userBookingCounterService;
+
+    private final TransactionTemplate transitionTransactionTemplate;
+
+    private final int maxTransitionAttempts;
+
+    private final Counter transitionAppliedCounter;
+
+    private final Counter transitionUnchangedCounter;
+
+    private final Counter transitionRetryCounter;
+
+    private final Counter transitionConflictCounter;
 
     @Autowired
     public BookingService(
@@ -56,14 +118,40 @@ public class BookingService {
         TimeSlotRepository timeSlotRepository,
         CourtRepository courtRepository,
         UserRepository userRepository,
-        MailService mailService
+        ApplicationEventPublisher applicationEventPublisher,
+        CourtAvailabilityIndex courtAvailabilityIndex,
+        BookingReferenceGenerator bookingReferenceGenerator,
+        CourtBookingLocks courtBookingLocks,
+        RevenueRollupService revenueRollupService,
+        UserBookingCounterService userBookingCounterService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
     ) {
         this.bookingRepository = bookingRepository;
         this.bookingMapper = bookingMapper;
         this.timeSlotRepository = timeSlotRepository;
         this.courtRepository = courtRepository;
         this.userRepository = userRepository;
-        this.mailService = mailService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.courtAvailabilityIndex = courtAvailabilityIndex;
+        this.bookingReferenceGenerator = bookingReferenceGenerator;
+        this.courtBookingLocks = courtBookingLocks;
+        this.revenueRollupService = revenueRollupService;
+        this.userBookingCounterService = userBookingCounterService;
+        this.transitionTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTransitionAttempts = applicationProperties.getBookingTransition().getMaxAttempts();
+        this.transitionAppliedCounter = transitionsCounter("applied", meterRegistry);
+        this.transitionUnchangedCounter = transitionsCounter("unchanged", meterRegistry);
+        this.transitionRetryCounter = transitionsCounter("retry", meterRegistry);
+        this.transitionConflictCounter = transitionsCounter("conflict", meterRegistry);
+    }
+
+    private static Counter transitionsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(TRANSITIONS_METER_NAME)
+            .description("Attempts at approving or rejecting a single booking")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
     }
 
     /**
@@ -76,23 +164,16 @@ public class BookingService {
         LOG.debug("Request to save Booking : {}", bookingDTO);
         Booking booking = bookingMapper.toEntity(bookingDTO);
 
-        // Handle User reference
-        if (bookingDTO.getUser() != null && bookingDTO.getUser().getId() != null) {
-            User user = userRepository.findById(bookingDTO.getUser().getId()).orElseThrow(() -> new RuntimeException("User not found"));
-            booking.setUser(user);
-        }
-
         // Handle TimeSlot creation if provided
         if (bookingDTO.getTimeSlot() != null) {
             TimeSlot timeSlot = new TimeSlot();
             timeSlot.setStartTime(bookingDTO.getTimeSlot().getStartTime());
             timeSlot.setEndTime(bookingDTO.getTimeSlot().getEndTime());
 
-            // Handle Court reference
+            // Handle Court reference, locked so that the bookings of a court are checked for overlaps one at a time
             if (bookingDTO.getTimeSlot().getCourt() != null && bookingDTO.getTimeSlot().getCourt().getId() != null) {
-                Court court = courtRepository
-                    .findById(bookingDTO.getTimeSlot().getCourt().getId())
-                    .orElseThrow(() -> new RuntimeException("Court not found"));
+                Court court = lockCourt(bookingDTO.getTimeSlot().getCourt().getId());
+                checkNoOverlap(court.getId(), timeSlot.getStartTime(), timeSlot.getEndTime(), null);
                 timeSlot.setCourt(court);
             }
 
@@ -101,39 +182,152 @@ public class BookingService {
             booking.setTimeSlot(timeSlot);
         }
 
-        String bookingId;
-        do {
-            bookingId = String.format("%05d", random.nextInt(100000));
-        } while (bookingRepository.findByBookingId(bookingId).isPresent());
-        booking.setBookingId(bookingId);
+        // Handle User reference
+        if (bookingDTO.getUser() != null && bookingDTO.getUser().getId() != null) {
+            User user = userRepository.findById(bookingDTO.getUser().getId()).orElseThrow(() -> new RuntimeException("User not found"));
+            booking.setUser(user);
+        }
+
+        booking.setBookingId(bookingReferenceGenerator.nextReference());
 
         booking = bookingRepository.save(booking);
+        courtAvailabilityIndex.onBookingChanged(booking);
+        revenueRollupService.replace(null, revenueRollupService.contributionOf(booking));
+        userBookingCounterService.replace(null, userBookingCounterService.countedUserOf(booking));
         return bookingMapper.toDto(booking);
     }
 
+    /**
+     * Publish the notification of a booking moved from one status to another, queued with the change.
+     */
+    private void publishTransition(Long id, BookingStatus before, BookingStatus after) {
+        if (before == after) {
+            return;
+        }
+        Kind.forStatus(after).ifPresent(kind ->
+            bookingRepository
+                .findOneWithDetails(id)
+                .map(booking -> BookingNotification.of(booking, kind))
+                .ifPresent(applicationEventPublisher::publishEvent)
+        );
+    }
+
+    /**
+     * Check that a change read the current version of a booking, and that its status follows
+     * {@link BookingStatus#canTransitionTo(BookingStatus)}.
+     */
+    private static void checkChange(Booking existingBooking, BookingDTO bookingDTO) {
+        if (bookingDTO.getVersion() != null && !bookingDTO.getVersion().equals(existingBooking.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                "Booking " + existingBooking.getId() + " was changed since version " + bookingDTO.getVersion()
+            );
+        }
+        BookingStatus status = bookingDTO.getStatus();
+        if (status != null && status != existingBooking.getStatus() && !existingBooking.getStatus().canTransitionTo(status)) {
+            throw new BookingTransitionException(existingBooking.getId(), existingBooking.getStatus(), status);
+        }
+    }
+
+    private Court lockCourt(Long courtId) {
+        courtBookingLocks.lockUntilCompletion(courtId);
+        return courtRepository.findOneForUpdate(courtId).orElseThrow(() -> new RuntimeException("Court not found"));
+    }
+
+    private void checkNoOverlap(Long courtId, Instant start, Instant end, Long excludedBookingId) {
+        if (start == null || end == null) {
+            return;
+        }
+        // A locking read, so that the bookings committed while waiting for the court lock are seen too
+        if (!bookingRepository.findOverlappingForShare(courtId, ACTIVE_STATUS_NAMES, start, end, excludedBookingId).isEmpty()) {
+            throw new BookingConflictException("Court " + courtId + " is already booked between " + start + " and " + end);
+        }
+    }
+
+    /**
+     * When a change moves an active booking to another time slot, or changes the times of its slot, lock the court
+     * it lands on and check that no other booking holds it then, as {@link #save(BookingDTO)} does.
+     */
+    private void checkMove(Booking booking, SlotPosition before, SlotPosition after) {
+        if (after == null || after.courtId() == null || after.equals(before) || !ACTIVE_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        lockCourt(after.courtId());
+        checkNoOverlap(after.courtId(), after.start(), after.end(), booking.getId());
+    }
+
+    /**
+     * Check a change of the times or of the court of a time slot, when an active booking holds it, as a move of the
+     * booking.
+     *
+     * @param before where the time slot stood before the change.
+     * @param timeSlot the changed time slot.
+     * @throws BookingConflictException if the booking of the slot now overlaps another booking of the court.
+     */
+    void checkTimeSlotChange(SlotPosition before, TimeSlot timeSlot) {
+        SlotPosition after = SlotPosition.of(timeSlot);
+        if (after == null || after.equals(before)) {
+            return;
+        }
+        bookingRepository.findOneByTimeSlotId(timeSlot.getId()).ifPresent(booking -> checkMove(booking, before, after));
+    }
+
+    /**
+     * Where a booking stands: its time slot, the court of the slot and its times.
+     */
+    record SlotPosition(Long timeSlotId, Long courtId, Instant start, Instant end) {
+        static SlotPosition of(TimeSlot timeSlot) {
+            if (timeSlot == null) {
+                return null;
+            }
+            Long courtId = timeSlot.getCourt() == null ? null : timeSlot.getCourt().getId();
+            return new SlotPosition(timeSlot.getId(), courtId, timeSlot.getStartTime(), timeSlot.getEndTime());
+        }
+    }
+
     /**
      * Update a booking.
      *
-     * @param bookingDTO the entity to save.
+     * @param bookingDTO the entity to save, rejected if its version is not the current one.
      * @return the persisted entity.
+     * @throws OptimisticLockingFailureException if the booking was changed since the given version.
+     * @throws BookingTransitionException if the booking cannot move to the given status.
+     * @throws BookingConflictException if the booking moves to a slot overlapping another booking of the court.
      */
     public BookingDTO update(BookingDTO bookingDTO) {
         LOG.debug("Request to update Booking : {}", bookingDTO);
+        Optional<Booking> existingBooking = bookingRepository.findById(bookingDTO.getId());
+        existingBooking.ifPresent(existing -> checkChange(existing, bookingDTO));
+        BookingStatus statusBefore = existingBooking.map(Booking::getStatus).orElse(null);
+        Contribution before = existingBooking.map(revenueRollupService::contributionOf).orElse(null);
+        Long countedUserBefore = existingBooking.map(userBookingCounterService::countedUserOf).orElse(null);
+        SlotPosition positionBefore = existingBooking.map(Booking::getTimeSlot).map(SlotPosition::of).orElse(null);
         Booking booking = bookingMapper.toEntity(bookingDTO);
-
-        if (booking.getStatus() == BookingStatus.APPROVED) {
-            mailService.sendBookingConfirmationEmail(booking);
+        if (booking.getVersion() == null) {
+            // Callers that do not send the version keep the last-writer-wins behaviour
+            existingBooking.map(Booking::getVersion).ifPresent(booking::setVersion);
+        }
+        if (booking.getTimeSlot() != null && booking.getTimeSlot().getId() != null) {
+            // Only the reference to the slot is saved with the booking, so it lands on the slot as it is stored
+            TimeSlot timeSlot = timeSlotRepository.findById(booking.getTimeSlot().getId()).orElse(null);
+            checkMove(booking, positionBefore, SlotPosition.of(timeSlot));
         }
 
         booking = bookingRepository.save(booking);
+        courtAvailabilityIndex.onBookingChanged(booking);
+        publishTransition(booking.getId(), statusBefore, booking.getStatus());
+        revenueRollupService.replace(before, revenueRollupService.contributionOf(booking));
+        userBookingCounterService.replace(countedUserBefore, userBookingCounterService.countedUserOf(booking));
         return bookingMapper.toDto(booking);
     }
 
     /**
      * Partially update a booking.
      *
-     * @param bookingDTO the entity to update partially.
+     * @param bookingDTO the entity to update partially, rejected if it holds a version that is not the current one.
      * @return the persisted entity.
+     * @throws OptimisticLockingFailureException if the booking was changed since the given version.
+     * @throws BookingTransitionException if the booking cannot move to the given status.
+     * @throws BookingConflictException if the booking moves to a slot overlapping another booking of the court.
      */
     public Optional<BookingDTO> partialUpdate(BookingDTO bookingDTO) {
         LOG.debug("Request to partially update Booking : {}", bookingDTO);
@@ -141,23 +335,121 @@ public class BookingService {
         return bookingRepository
             .findById(bookingDTO.getId())
             .map(existingBooking -> {
+                checkChange(existingBooking, bookingDTO);
+                BookingStatus statusBefore = existingBooking.getStatus();
+                Contribution before = revenueRollupService.contributionOf(existingBooking);
+                Long countedUserBefore = userBookingCounterService.countedUserOf(existingBooking);
+                SlotPosition positionBefore = SlotPosition.of(existingBooking.getTimeSlot());
                 bookingMapper.partialUpdate(existingBooking, bookingDTO);
-
-                return existingBooking;
+                checkMove(existingBooking, positionBefore, SlotPosition.of(existingBooking.getTimeSlot()));
+                Booking booking = bookingRepository.save(existingBooking);
+                revenueRollupService.replace(before, revenueRollupService.contributionOf(booking));
+                userBookingCounterService.replace(countedUserBefore, userBookingCounterService.countedUserOf(booking));
+                publishTransition(booking.getId(), statusBefore, booking.getStatus());
+                return booking;
+            })
+            .map(booking -> {
+                courtAvailabilityIndex.onBookingChanged(booking);
+                return booking;
             })
-            .map(bookingRepository::save)
             .map(bookingMapper::toDto);
     }
 
     /**
-     * Get all the bookings.
+     * Get a slice of the bookings matching the criteria, newest first, i.e. ordered by booking date then id, descending.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the position to continue from, or {@code null} for the first slice.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<BookingDTO> findAfter(BookingCriteria criteria, BookingCursor after, int size) {
+        LOG.debug("Request to get Bookings by criteria : {} after {}", criteria, after);
+        Specification<Booking> specification = createSpecification(criteria).and(fetchDetails());
+        if (after != null) {
+            specification = specification.and(after(after));
+        }
+        // Read one extra row to find out whether another slice follows without counting
+        List<Booking> bookings = bookingRepository.findBy(specification, query -> query.sortBy(LISTING_SORT).limit(size + 1).all());
+        boolean hasNext = bookings.size() > size;
+        List<BookingDTO> content = bookings.stream().limit(size).map(bookingMapper::toDto).toList();
+        return new SliceImpl<>(content, PageRequest.of(0, size, LISTING_SORT), hasNext);
+    }
+
+    /**
+     * Count the bookings matching the criteria.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(BookingCriteria criteria) {
+        LOG.debug("Request to count Bookings by criteria : {}", criteria);
+        return bookingRepository.count(createSpecification(criteria));
+    }
+
+    private static Specification<Booking> createSpecification(BookingCriteria criteria) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getStatus() != null) {
+                predicates.add(builder.equal(root.get(Booking_.status), criteria.getStatus()));
+            }
+            if (criteria.getCourtId() != null) {
+                predicates.add(builder.equal(root.get(Booking_.timeSlot).get(TimeSlot_.court).get(Court_.id), criteria.getCourtId()));
+            }
+            if (criteria.getSportId() != null) {
+                predicates.add(
+                    builder.equal(root.get(Booking_.timeSlot).get(TimeSlot_.court).get(Court_.sport).get(Sport_.id), criteria.getSportId())
+                );
+            }
+            if (criteria.getUserId() != null) {
+                predicates.add(builder.equal(root.get(Booking_.user).get(User_.id), criteria.getUserId()));
+            }
+            if (criteria.getFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get(Booking_.bookingDate), criteria.getFrom()));
+            }
+            if (criteria.getTo() != null) {
+                predicates.add(builder.lessThan(root.get(Booking_.bookingDate), criteria.getTo()));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, builder) ->
+            builder.or(
+                builder.lessThan(root.get(Booking_.bookingDate), cursor.bookingDate()),
+                builder.and(
+                    builder.equal(root.get(Booking_.bookingDate), cursor.bookingDate()),
+                    builder.lessThan(root.get(Booking_.id), cursor.id())
+                )
+            );
+    }
+
+    /**
+     * Fetch the associations read by {@link BookingMapper#toDto(Booking)} in the same query.
+     */
+    private static Specification<Booking> fetchDetails() {
+        return (root, query, builder) -> {
+            Fetch<Booking, TimeSlot> timeSlot = root.fetch(Booking_.timeSlot, JoinType.LEFT);
+            timeSlot.fetch(TimeSlot_.court, JoinType.LEFT).fetch(Court_.sport, JoinType.LEFT);
+            root.fetch(Booking_.user, JoinType.LEFT);
+            root.fetch(Booking_.payment, JoinType.LEFT);
+            return null;
+        };
+    }
+
+    /**
+     * Get all the bookings of a user, most recent first.
      *
+     * @param userId the id of the user.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<BookingDTO> findAll() {
-        LOG.debug("Request to get all Bookings");
-        return bookingRepository.findAll().stream().map(bookingMapper::toDto).collect(Collectors.toCollection(LinkedList::new));
+    public List<BookingDTO> findAllByUserId(Long userId) {
+        LOG.debug("Request to get all Bookings of User : {}", userId);
+        return bookingRepository.findByUserId(userId).stream().map(bookingMapper::toDto).toList();
     }
 
     /**
@@ -177,38 +469,13 @@ public class BookingService {
      *
      * @param id the id of the booking to approve.
      * @return the persisted entity.
+     * @throws BookingTransitionException if the booking was rejected.
+     * @throws OptimisticLockingFailureException if the booking kept changing concurrently.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<BookingDTO> approveBooking(Long id) {
         LOG.debug("Request to approve Booking : {}", id);
-        return bookingRepository
-            .findById(id)
-            .map(booking -> {
-                booking.setStatus(BookingStatus.APPROVED);
-                return booking;
-            })
-            .map(bookingRepository::save)
-            .map(booking -> {
-                // Fetch all required relationships for email template
-                if (booking.getTimeSlot() != null) {
-                    booking.getTimeSlot().getStartTime(); // Force lazy load
-                    booking.getTimeSlot().getEndTime();
-                    if (booking.getTimeSlot().getCourt() != null) {
-                        booking.getTimeSlot().getCourt().getName(); // Force lazy load
-                        if (booking.getTimeSlot().getCourt().getSport() != null) {
-                            booking.getTimeSlot().getCourt().getSport().getName(); // Force lazy load
-                        }
-                    }
-                }
-                if (booking.getUser() != null) {
-                    booking.getUser().getEmail(); // Force lazy load
-                    booking.getUser().getLogin();
-                    booking.getUser().getLangKey();
-                }
-                // Send confirmation email after successful approval
-                mailService.sendBookingConfirmationEmail(booking);
-                return booking;
-            })
-            .map(bookingMapper::toDto);
+        return transition(id, BookingStatus.APPROVED);
     }
 
     /**
@@ -216,38 +483,126 @@ public class BookingService {
      *
      * @param id the id of the booking to reject.
      * @return the persisted entity.
+     * @throws BookingTransitionException if the booking was approved.
+     * @throws OptimisticLockingFailureException if the booking kept changing concurrently.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<BookingDTO> rejectBooking(Long id) {
         LOG.debug("Request to reject Booking : {}", id);
-        return bookingRepository
-            .findById(id)
-            .map(booking -> {
-                booking.setStatus(BookingStatus.REJECTED);
-                return booking;
-            })
-            .map(bookingRepository::save)
-            .map(booking -> {
-                // Fetch all required relationships for email template
-                if (booking.getTimeSlot() != null) {
-                    booking.getTimeSlot().getStartTime(); // Force lazy load
-                    booking.getTimeSlot().getEndTime();
-                    if (booking.getTimeSlot().getCourt() != null) {
-                        booking.getTimeSlot().getCourt().getName(); // Force lazy load
-                        if (booking.getTimeSlot().getCourt().getSport() != null) {
-                            booking.getTimeSlot().getCourt().getSport().getName(); // Force lazy load
-                        }
-                    }
-                }
-                if (booking.getUser() != null) {
-                    booking.getUser().getEmail(); // Force lazy load
-                    booking.getUser().getLogin();
-                    booking.getUser().getLangKey();
-                }
-                // Send rejection email after successful rejection
-                mailService.sendBookingRejectionEmail(booking);
-                return booking;
-            })
-            .map(bookingMapper::toDto);
+        return transition(id, BookingStatus.REJECTED);
+    }
+
+    /**
+     * Move a booking to another status, retrying up to {@code application.booking-transition.max-attempts} times
+     * when it is changed concurrently. Each attempt runs in its own transaction, so that a retry reads what the
+     * concurrent change committed.
+     */
+    private Optional<BookingDTO> transition(Long id, BookingStatus status) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<BookingDTO> result = transitionTransactionTemplate.execute(transaction -> tryTransition(id, status));
+            if (result != null) {
+                return result;
+            }
+            if (attempt >= maxTransitionAttempts) {
+                transitionConflictCounter.increment();
+                throw new OptimisticLockingFailureException(
+                    "Booking " + id + " kept changing, gave up moving it to " + status + " after " + attempt + " attempts"
+                );
+            }
+            LOG.debug("Booking {} changed concurrently, retrying its move to {}", id, status);
+            transitionRetryCounter.increment();
+        }
+    }
+
+    /**
+     * Compare-and-set the status of a booking against the status and version it was read with.
+     *
+     * @return the booking, empty if it does not exist, or {@code null} if it was changed concurrently.
+     */
+    private Optional<BookingDTO> tryTransition(Long id, BookingStatus status) {
+        Optional<Booking> existingBooking = bookingRepository.findOneWithDetails(id);
+        if (existingBooking.isEmpty()) {
+            return Optional.empty();
+        }
+        Booking booking = existingBooking.orElseThrow();
+        if (booking.getStatus() == status) {
+            // Already moved, by an earlier call or a concurrent one: nothing to apply and nothing to notify
+            transitionUnchangedCounter.increment();
+            return Optional.of(bookingMapper.toDto(booking));
+        }
+        if (booking.getStatus() == null || !booking.getStatus().canTransitionTo(status)) {
+            throw new BookingTransitionException(id, booking.getStatus(), status);
+        }
+        Contribution before = revenueRollupService.contributionOf(booking);
+        Long countedUserBefore = userBookingCounterService.countedUserOf(booking);
+        if (bookingRepository.compareAndSetStatus(id, booking.getStatus(), booking.getVersion(), status) == 0) {
+            return null;
+        }
+        // The update cleared the persistence context: the detached booking only mirrors the new state
+        booking.status(status).version(booking.getVersion() + 1);
+        revenueRollupService.replace(before, revenueRollupService.contributionOf(booking));
+        userBookingCounterService.replace(countedUserBefore, userBookingCounterService.countedUserOf(booking));
+        courtAvailabilityIndex.onBookingChanged(booking);
+        // Notification email queued with the transition
+        Kind.forStatus(status).ifPresent(kind -> applicationEventPublisher.publishEvent(BookingNotification.of(booking, kind)));
+        transitionAppliedCounter.increment();
+        return Optional.of(bookingMapper.toDto(booking));
+    }
+
+    /**
+     * Move pending bookings to another status in one conditional update. Bookings which are no longer pending are
+     * left untouched, and the notifications of the updated ones are published as one batch.
+     *
+     * @param ids the ids of the bookings.
+     * @param status the new status, {@link BookingStatus#APPROVED} or {@link BookingStatus#REJECTED}.
+     * @return the outcome for each distinct id, in request order.
+     */
+    public List<BookingStatusResultDTO> updatePendingStatus(Collection<Long> ids, BookingStatus status) {
+        LOG.debug("Request to move pending Bookings {} to {}", ids, status);
+        if (!BookingStatus.PENDING.canTransitionTo(status)) {
+            throw new IllegalArgumentException("Pending bookings can only be approved or rejected");
+        }
+        Kind kind = Kind.forStatus(status).orElseThrow();
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        // Lock the pending rows first, so the conditional update below changes exactly those
+        List<Long> pendingIds = bookingRepository
+            .findAllByIdInAndStatusForUpdate(requestedIds, BookingStatus.PENDING)
+            .stream()
+            .map(Booking::getId)
+            .toList();
+        List<Booking> bookings = pendingIds.isEmpty() ? List.of() : bookingRepository.findAllWithDetailsByIdIn(pendingIds);
+        if (!bookings.isEmpty()) {
+            List<Contribution> before = bookings.stream().map(revenueRollupService::contributionOf).toList();
+            List<Long> countedUsersBefore = bookings.stream().map(userBookingCounterService::countedUserOf).toList();
+            bookingRepository.updateStatus(pendingIds, BookingStatus.PENDING, status);
+            // The persistence context was cleared by the update: the detached bookings only mirror the new status
+            bookings.forEach(booking -> booking.setStatus(status));
+            revenueRollupService.replaceAll(before, bookings.stream().map(revenueRollupService::contributionOf).toList());
+            userBookingCounterService.replaceAll(
+                countedUsersBefore,
+                bookings.stream().map(userBookingCounterService::countedUserOf).toList()
+            );
+            bookings.forEach(courtAvailabilityIndex::onBookingChanged);
+            applicationEventPublisher.publishEvent(
+                new BookingNotificationBatch(bookings.stream().map(booking -> BookingNotification.of(booking, kind)).toList())
+            );
+        }
+
+        Set<Long> updatedIds = new HashSet<>(pendingIds);
+        Set<Long> existingIds = new HashSet<>(updatedIds);
+        List<Long> otherIds = requestedIds.stream().filter(id -> !updatedIds.contains(id)).toList();
+        if (!otherIds.isEmpty()) {
+            existingIds.addAll(bookingRepository.findIdsByIdIn(otherIds));
+        }
+        return requestedIds
+            .stream()
+            .map(id ->
+                new BookingStatusResultDTO(
+                    id,
+                    updatedIds.contains(id) ? Outcome.UPDATED : existingIds.contains(id) ? Outcome.NOT_PENDING : Outcome.NOT_FOUND
+                )
+            )
+            .toList();
     }
 
     /**
@@ -257,7 +612,14 @@ public class BookingService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Booking : {}", id);
+        bookingRepository
+            .findById(id)
+            .ifPresent(existingBooking -> {
+                revenueRollupService.replace(revenueRollupService.contributionOf(existingBooking), null);
+                userBookingCounterService.replace(userBookingCounterService.countedUserOf(existingBooking), null);
+            });
         bookingRepository.deleteById(id);
+        courtAvailabilityIndex.onBookingDeleted(id);
     }
 
     /**
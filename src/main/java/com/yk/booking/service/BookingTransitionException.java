@@ -0,0 +1,15 @@
+package com.yk.booking.service;
+
+import com.yk.booking.domain.enumeration.BookingStatus;
+
+/**
+ * Thrown when a booking is asked to move to a status its current status cannot lead to.
+ */
+public class BookingTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookingTransitionException(Long id, BookingStatus from, BookingStatus to) {
+        super("Booking " + id + " is " + from + " and cannot become " + to);
+    }
+}
@@ -2,12 +2,21 @@ package com.yk.booking.service;
 
 import com.yk.booking.domain.Client;
 import com.yk.booking.domain.ClientTier;
-import com.yk.booking.repository.BookingRepository;
 import com.yk.booking.repository.ClientRepository;
+import com.yk.booking.repository.ClientRepository.ClientTierAssignment;
 import com.yk.booking.repository.ClientTierRepository;
+import com.yk.booking.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,17 +32,23 @@ public class ClientService {
     private static final Logger LOG = LoggerFactory.getLogger(ClientService.class);
 
     private final ClientRepository clientRepository;
-    private final BookingRepository bookingRepository;
     private final ClientTierRepository clientTierRepository;
+    private final UserRepository userRepository;
+    private final UserBookingCounterService userBookingCounterService;
+    private final CacheManager cacheManager;
 
     public ClientService(
         ClientRepository clientRepository,
-        BookingRepository bookingRepository,
-        ClientTierRepository clientTierRepository
+        ClientTierRepository clientTierRepository,
+        UserRepository userRepository,
+        UserBookingCounterService userBookingCounterService,
+        CacheManager cacheManager
     ) {
         this.clientRepository = clientRepository;
-        this.bookingRepository = bookingRepository;
         this.clientTierRepository = clientTierRepository;
+        this.userRepository = userRepository;
+        this.userBookingCounterService = userBookingCounterService;
+        this.cacheManager = cacheManager;
     }
 
     /**
@@ -134,18 +149,7 @@ public class ClientService {
     public Client updateClientTier(Client client) {
         LOG.debug("Request to update Client Tier for Client : {}", client);
 
-        Long totalBookings = bookingRepository.countByUser(client.getUser());
-        String tierName;
-
-        if (totalBookings >= 21) {
-            tierName = "PLATINUM";
-        } else if (totalBookings >= 11) {
-            tierName = "GOLD";
-        } else if (totalBookings >= 6) {
-            tierName = "IRON";
-        } else {
-            tierName = "LEAD";
-        }
+        String tierName = ClientTierPolicy.tierNameFor(userBookingCounterService.getBookingCount(client.getUser().getId()));
 
         ClientTier tier = clientTierRepository
             .findByTierName(tierName)
@@ -153,4 +157,78 @@ public class ClientService {
         client.setClientTier(tier);
         return clientRepository.save(client);
     }
+
+    /**
+     * Move the next chunk of clients, and their users, to the tier earned by the booking count of the user.
+     * <p>
+     * Only the ids of the clients are read, and the clients and users whose tier changes are written with one bulk
+     * update per tier, so a chunk costs a handful of statements whatever its size.
+     *
+     * @param afterId the id of the last client of the previous chunk, {@code 0} for the first chunk.
+     * @param size the maximum number of clients in the chunk.
+     * @param bookingCounts the number of bookings by user id, users without bookings being absent.
+     * @param tiers the client tiers by name.
+     * @return the outcome of the chunk, without last id when no client is left.
+     */
+    public TierChunk updateClientTiers(long afterId, int size, Map<Long, Long> bookingCounts, Map<String, ClientTier> tiers) {
+        List<ClientTierAssignment> assignments = clientRepository.findTierAssignmentsAfter(afterId, Limit.of(size));
+        Map<String, List<Long>> clientChanges = new HashMap<>();
+        Map<String, List<Long>> userChanges = new HashMap<>();
+        List<String> changedLogins = new ArrayList<>();
+        int skipped = 0;
+        for (ClientTierAssignment assignment : assignments) {
+            if (assignment.getUserId() == null) {
+                LOG.warn("Client {} has no associated user. Skipping tier update.", assignment.getId());
+                skipped++;
+                continue;
+            }
+            String tierName = ClientTierPolicy.tierNameFor(bookingCounts.getOrDefault(assignment.getUserId(), 0L));
+            if (!tierName.equals(assignment.getUserTierName())) {
+                userChanges.computeIfAbsent(tierName, name -> new ArrayList<>()).add(assignment.getUserId());
+                changedLogins.add(assignment.getUserLogin());
+            }
+            ClientTier tier = tiers.get(tierName);
+            if (tier == null) {
+                skipped++;
+            } else if (!tier.getId().equals(assignment.getClientTierId())) {
+                clientChanges.computeIfAbsent(tierName, name -> new ArrayList<>()).add(assignment.getId());
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<String, List<Long>> change : clientChanges.entrySet()) {
+            updated += clientRepository.updateClientTier(change.getValue(), tiers.get(change.getKey()));
+        }
+        int usersUpdated = 0;
+        for (Map.Entry<String, List<Long>> change : userChanges.entrySet()) {
+            usersUpdated += userRepository.updateTier(change.getValue(), ClientTierPolicy.userTierNamed(change.getKey()));
+        }
+        // Evicted once committed, lest a concurrent read cache the previous tiers again
+        TransactionCallbacks.afterCommit(() -> {
+            Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+            changedLogins.forEach(usersByLogin::evictIfPresent);
+        });
+
+        Long lastId = assignments.isEmpty() ? null : assignments.get(assignments.size() - 1).getId();
+        LOG.debug(
+            "Recalculated tiers of {} clients after {}: {} clients and {} users updated, {} skipped",
+            assignments.size(),
+            afterId,
+            updated,
+            usersUpdated,
+            skipped
+        );
+        return new TierChunk(lastId, assignments.size(), updated, usersUpdated, skipped);
+    }
+
+    /**
+     * Outcome of {@link #updateClientTiers}.
+     *
+     * @param lastId the id of the last client of the chunk, {@code null} when the chunk was empty.
+     * @param scanned the number of clients read.
+     * @param updated the number of clients moved to another tier.
+     * @param usersUpdated the number of users moved to another tier.
+     * @param skipped the number of clients left alone, having no user or no matching tier.
+     */
+    public record TierChunk(Long lastId, int scanned, int updated, int usersUpdated, int skipped) {}
 }
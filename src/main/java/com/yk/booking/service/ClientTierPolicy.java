@@ -0,0 +1,46 @@
+package com.yk.booking.service;
+
+import com.yk.booking.domain.enumeration.ClientTier;
+
+/**
+ * Thresholds deciding the tier of a client from its number of bookings.
+ */
+public final class ClientTierPolicy {
+
+    public static final String PLATINUM = "PLATINUM";
+
+    public static final String GOLD = "GOLD";
+
+    public static final String IRON = "IRON";
+
+    public static final String LEAD = "LEAD";
+
+    private ClientTierPolicy() {}
+
+    /**
+     * Get the name of the tier earned with the given number of bookings.
+     *
+     * @param bookingCount the number of bookings of the client.
+     * @return the tier name.
+     */
+    public static String tierNameFor(long bookingCount) {
+        if (bookingCount >= 21) {
+            return PLATINUM;
+        } else if (bookingCount >= 11) {
+            return GOLD;
+        } else if (bookingCount >= 6) {
+            return IRON;
+        }
+        return LEAD;
+    }
+
+    /**
+     * Get the tier of a user from the name of its tier.
+     *
+     * @param tierName the tier name, as given by {@link #tierNameFor(long)}.
+     * @return the user tier.
+     */
+    public static ClientTier userTierNamed(String tierName) {
+        return ClientTier.valueOf(tierName);
+    }
+}
@@ -0,0 +1,249 @@
+package com.yk.booking.service;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.TimeSlotRepository;
+import com.yk.booking.repository.TimeSlotRepository.BookedTimeSlot;
+import com.yk.booking.service.dto.TimeSlotDTO;
+import com.yk.booking.service.mapper.TimeSlotMapper;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the approved time slots of each court, bucketed by day.
+ * <p>
+ * Slots are bucketed by the day of their start time. A (court, day) bucket is loaded with a projection
+ * query the first time it is requested and is then kept up to date by {@link BookingService}, so that
+ * availability lookups cost O(slots-per-day) instead of a scan of the whole booking table. Changes are
+ * only applied once the surrounding transaction has committed, so a rolled back booking never shows up
+ * as occupied.
+ * <p>
+ * Only the bookings changed through this instance are applied to the buckets. A bucket is reloaded once it
+ * is older than {@code application.availability.time-to-live}, which bounds how late the bookings changed
+ * on the other instances of the application show up.
+ */
+@Component
+public class CourtAvailabilityIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CourtAvailabilityIndex.class);
+
+    private static final Comparator<IndexedSlot> BY_START_TIME = Comparator.comparing(
+        (IndexedSlot slot) -> slot.timeSlot().getStartTime()
+    ).thenComparing(IndexedSlot::bookingId);
+
+    private final TimeSlotRepository timeSlotRepository;
+
+    private final TimeSlotMapper timeSlotMapper;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<CourtDay, Bucket> bucketsByCourtDay = new ConcurrentHashMap<>();
+
+    private final Map<Long, CourtDay> courtDayByBooking = new ConcurrentHashMap<>();
+
+    // Bumped by every change applied to the buckets, a bucket loaded meanwhile may have missed it.
+    private volatile long modifications;
+
+    @Autowired
+    public CourtAvailabilityIndex(
+        TimeSlotRepository timeSlotRepository,
+        TimeSlotMapper timeSlotMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this(timeSlotRepository, timeSlotMapper, applicationProperties.getAvailability(), System::nanoTime);
+    }
+
+    CourtAvailabilityIndex(
+        TimeSlotRepository timeSlotRepository,
+        TimeSlotMapper timeSlotMapper,
+        ApplicationProperties.Availability properties,
+        LongSupplier nanoTime
+    ) {
+        this.timeSlotRepository = timeSlotRepository;
+        this.timeSlotMapper = timeSlotMapper;
+        this.timeToLiveNanos = properties.getTimeToLive().toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Get the approved time slots of a court for a day, ordered by start time.
+     *
+     * @param courtId the id of the court.
+     * @param date the day, in the system time zone.
+     * @return the occupied time slots.
+     */
+    public List<TimeSlotDTO> findApprovedSlots(Long courtId, LocalDate date) {
+        CourtDay courtDay = new CourtDay(courtId, date);
+        Bucket bucket = bucketsByCourtDay.get(courtDay);
+        if (bucket == null || isExpired(bucket)) {
+            bucket = load(courtDay, bucket);
+        }
+        List<TimeSlotDTO> result = new ArrayList<>(bucket.slots().size());
+        for (IndexedSlot slot : bucket.slots()) {
+            result.add(slot.timeSlot());
+        }
+        return result;
+    }
+
+    /**
+     * Record the current state of a booking: approved bookings with a court are indexed, anything else
+     * is removed from the index.
+     *
+     * @param booking the booking, with its time slot and court reachable.
+     */
+    public void onBookingChanged(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        Long bookingId = booking.getId();
+        CourtDay courtDay = courtDayOf(booking);
+        if (booking.getStatus() != BookingStatus.APPROVED || courtDay == null) {
+            TransactionCallbacks.afterCommit(() -> remove(bookingId));
+            return;
+        }
+        IndexedSlot slot = new IndexedSlot(bookingId, timeSlotMapper.toDto(booking.getTimeSlot()));
+        TransactionCallbacks.afterCommit(() -> put(courtDay, slot));
+    }
+
+    /**
+     * Remove a deleted booking from the index.
+     *
+     * @param bookingId the id of the booking.
+     */
+    public void onBookingDeleted(Long bookingId) {
+        TransactionCallbacks.afterCommit(() -> remove(bookingId));
+    }
+
+    /**
+     * Drop the buckets of days that are over, they are not looked up anymore, and the expired buckets, they
+     * would be reloaded anyway.
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    public synchronized void evictPastDays() {
+        LocalDate today = LocalDate.now(zoneId);
+        bucketsByCourtDay.entrySet().removeIf(entry -> entry.getKey().date().isBefore(today) || isExpired(entry.getValue()));
+        courtDayByBooking.values().removeIf(courtDay -> !bucketsByCourtDay.containsKey(courtDay));
+        LOG.debug("Evicted availability buckets before {} or expired, {} buckets left", today, bucketsByCourtDay.size());
+    }
+
+    /**
+     * Clear the whole index, buckets are reloaded on their next lookup.
+     */
+    public synchronized void clear() {
+        modifications++;
+        bucketsByCourtDay.clear();
+        courtDayByBooking.clear();
+    }
+
+    private boolean isExpired(Bucket bucket) {
+        return nanoTime.getAsLong() - bucket.loadedAt() >= timeToLiveNanos;
+    }
+
+    /**
+     * Load a bucket outside of any lock, so that lookups of other buckets never wait for the database, then
+     * install it unless a change was applied to the index meanwhile: the change could be missing from the
+     * loaded rows, so the bucket is then only returned to this caller and loaded again on the next lookup.
+     */
+    private Bucket load(CourtDay courtDay, Bucket expired) {
+        LOG.debug("Loading availability of court {} on {}", courtDay.courtId(), courtDay.date());
+        long modificationsBeforeLoad = modifications;
+        long loadedAt = nanoTime.getAsLong();
+        Instant startOfDay = courtDay.date().atStartOfDay(zoneId).toInstant();
+        Instant endOfDay = courtDay.date().plusDays(1).atStartOfDay(zoneId).toInstant();
+        List<IndexedSlot> slots = new ArrayList<>();
+        for (BookedTimeSlot bookedTimeSlot : timeSlotRepository.findBookedByCourtAndStartTimeBetween(
+            courtDay.courtId(),
+            BookingStatus.APPROVED,
+            startOfDay,
+            endOfDay
+        )) {
+            slots.add(new IndexedSlot(bookedTimeSlot.getBookingId(), timeSlotMapper.summaryToDto(bookedTimeSlot)));
+        }
+        slots.sort(BY_START_TIME);
+        Bucket bucket = new Bucket(Collections.unmodifiableList(slots), loadedAt);
+        synchronized (this) {
+            if (modifications != modificationsBeforeLoad) {
+                return bucket;
+            }
+            boolean installed = expired == null
+                ? bucketsByCourtDay.putIfAbsent(courtDay, bucket) == null
+                : bucketsByCourtDay.replace(courtDay, expired, bucket);
+            if (!installed) {
+                return bucket;
+            }
+            if (expired != null) {
+                expired.slots().forEach(slot -> courtDayByBooking.remove(slot.bookingId(), courtDay));
+            }
+            bucket.slots().forEach(slot -> courtDayByBooking.put(slot.bookingId(), courtDay));
+        }
+        return bucket;
+    }
+
+    private synchronized void put(CourtDay courtDay, IndexedSlot slot) {
+        remove(slot.bookingId());
+        courtDayByBooking.put(slot.bookingId(), courtDay);
+        // Buckets that were never loaded are left alone, they will see the booking when they are.
+        bucketsByCourtDay.computeIfPresent(courtDay, (key, bucket) -> {
+            List<IndexedSlot> updated = new ArrayList<>(bucket.slots().size() + 1);
+            updated.addAll(bucket.slots());
+            updated.add(slot);
+            updated.sort(BY_START_TIME);
+            return new Bucket(Collections.unmodifiableList(updated), bucket.loadedAt());
+        });
+    }
+
+    private synchronized void remove(Long bookingId) {
+        modifications++;
+        CourtDay courtDay = courtDayByBooking.remove(bookingId);
+        if (courtDay == null) {
+            return;
+        }
+        bucketsByCourtDay.computeIfPresent(courtDay, (key, bucket) -> {
+            List<IndexedSlot> updated = new ArrayList<>(bucket.slots());
+            updated.removeIf(slot -> slot.bookingId().equals(bookingId));
+            return new Bucket(Collections.unmodifiableList(updated), bucket.loadedAt());
+        });
+    }
+
+    private CourtDay courtDayOf(Booking booking) {
+        if (
+            booking.getTimeSlot() == null ||
+            booking.getTimeSlot().getStartTime() == null ||
+            booking.getTimeSlot().getCourt() == null ||
+            booking.getTimeSlot().getCourt().getId() == null
+        ) {
+            return null;
+        }
+        return new CourtDay(booking.getTimeSlot().getCourt().getId(), LocalDate.ofInstant(booking.getTimeSlot().getStartTime(), zoneId));
+    }
+
+    private record CourtDay(Long courtId, LocalDate date) {
+        private CourtDay {
+            Objects.requireNonNull(courtId);
+            Objects.requireNonNull(date);
+        }
+    }
+
+    private record IndexedSlot(Long bookingId, TimeSlotDTO timeSlot) {}
+
+    private record Bucket(List<IndexedSlot> slots, long loadedAt) {}
+}
@@ -0,0 +1,61 @@
+package com.yk.booking.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped in-process locks serialising the bookings of a court.
+ * <p>
+ * Courts are spread over the stripes by id modulo the number of stripes: consecutive court ids never share a
+ * stripe, but courts whose ids differ by a multiple of it do, and their bookings then wait on each other. A stripe
+ * is held until the current transaction has completed: concurrent requests for the same court queue here instead
+ * of piling up on the database row lock, which remains the guard across application nodes.
+ */
+@Component
+public class CourtBookingLocks {
+
+    private static final int STRIPES = 256;
+
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public CourtBookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Lock the stripe of a court until the current transaction completes.
+     *
+     * @param courtId the id of the court.
+     * @throws CannotAcquireLockException if the stripe could not be locked in time.
+     */
+    public void lockUntilCompletion(Long courtId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Court locks can only be taken inside a transaction");
+        }
+        ReentrantLock lock = locks[Math.floorMod(courtId, STRIPES)];
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the booking lock of court " + courtId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for the booking lock of court " + courtId, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            }
+        );
+    }
+}
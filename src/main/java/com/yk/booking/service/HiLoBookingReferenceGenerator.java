@@ -0,0 +1,120 @@
+package com.yk.booking.service;
+
+import com.yk.booking.config.ApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BookingReferenceGenerator} backed by hi/lo block allocation.
+ * <p>
+ * Reference numbers are taken from blocks reserved through {@link BookingReferenceBlockAllocator}, so the
+ * database is only touched once per block. Each number is then scrambled with a keyed Feistel permutation
+ * over 40 bits and written as 8 Crockford base32 characters: the permutation is a bijection, so distinct
+ * numbers always give distinct references, while consecutive bookings get unrelated looking codes.
+ */
+@Component
+public class HiLoBookingReferenceGenerator implements BookingReferenceGenerator {
+
+    private static final int HALF_BITS = 20;
+
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+
+    private static final long CODE_SPACE = 1L << (2 * HALF_BITS);
+
+    private static final int ROUNDS = 4;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final BookingReferenceBlockAllocator blockAllocator;
+
+    private final int blockSize;
+
+    private final SecretKeySpec key;
+
+    private long next;
+
+    private long limit;
+
+    @Autowired
+    public HiLoBookingReferenceGenerator(BookingReferenceBlockAllocator blockAllocator, ApplicationProperties applicationProperties) {
+        this(
+            blockAllocator,
+            applicationProperties.getBookingReference().getBlockSize(),
+            applicationProperties.getBookingReference().getSecret()
+        );
+    }
+
+    HiLoBookingReferenceGenerator(BookingReferenceBlockAllocator blockAllocator, int blockSize, String secret) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Booking reference block size must be positive");
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("application.booking-reference.secret must be configured");
+        }
+        this.blockAllocator = blockAllocator;
+        this.blockSize = blockSize;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    @Override
+    public String nextReference() {
+        return encode(permute(nextValue()));
+    }
+
+    private synchronized long nextValue() {
+        if (next >= limit) {
+            next = blockAllocator.nextBlock(blockSize);
+            limit = next + blockSize;
+        }
+        if (next >= CODE_SPACE) {
+            throw new IllegalStateException("Booking reference space is exhausted");
+        }
+        return next++;
+    }
+
+    private long permute(long value) {
+        Mac mac = newMac();
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < ROUNDS; round++) {
+            long mixed = left ^ roundFunction(mac, round, right);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long roundFunction(Mac mac, int round, long half) {
+        mac.update((byte) round);
+        mac.update((byte) (half >>> 16));
+        mac.update((byte) (half >>> 8));
+        mac.update((byte) half);
+        byte[] digest = mac.doFinal();
+        return (((digest[0] & 0xFFL) << 16) | ((digest[1] & 0xFFL) << 8) | (digest[2] & 0xFFL)) & HALF_MASK;
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[REFERENCE_LENGTH];
+        for (int i = REFERENCE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise booking reference permutation", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.yk.booking.service;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.management.SecurityMetersService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Side effects of the logins of the users, applied off the login request.
+ * <p>
+ * Logins are only recorded in memory, and flushed every {@code application.login-events.flush-delay}: the
+ * successful and failed logins are counted by {@link SecurityMetersService}, and the last login date of each user
+ * is saved with a single update, however many times they logged in meanwhile. At most
+ * {@code application.login-events.capacity} users are pending a flush; the last login date of any other user is
+ * dropped rather than making their login wait.
+ */
+@Service
+public class LoginEventPipeline {
+
+    public static final String EVENTS_METER_NAME = "security.authentication.login-events";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginEventPipeline.class);
+
+    private final UserService userService;
+
+    private final SecurityMetersService securityMetersService;
+
+    private final int capacity;
+
+    private final Map<String, Instant> lastLoginDates = new ConcurrentHashMap<>();
+
+    private final LongAdder succeeded = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final Counter coalescedCounter;
+
+    private final Counter droppedCounter;
+
+    public LoginEventPipeline(
+        UserService userService,
+        SecurityMetersService securityMetersService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userService = userService;
+        this.securityMetersService = securityMetersService;
+        this.capacity = applicationProperties.getLoginEvents().getCapacity();
+        this.coalescedCounter = eventsCounter("coalesced", meterRegistry);
+        this.droppedCounter = eventsCounter("dropped", meterRegistry);
+    }
+
+    private static Counter eventsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(EVENTS_METER_NAME)
+            .baseUnit("events")
+            .description("Login events not flushed on their own")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record a successful login, without ever blocking.
+     *
+     * @param login the login of the user.
+     */
+    public void loginSucceeded(String login) {
+        succeeded.increment();
+        // The capacity is only a bound, concurrent logins of new users may overshoot it slightly
+        if (lastLoginDates.size() >= capacity && !lastLoginDates.containsKey(login)) {
+            droppedCounter.increment();
+            return;
+        }
+        if (lastLoginDates.put(login, Instant.now()) != null) {
+            coalescedCounter.increment();
+        }
+    }
+
+    /**
+     * Record a failed login, without ever blocking.
+     * <p>
+     * Failed logins are only counted, so that unknown logins never take the place of actual users.
+     */
+    public void loginFailed() {
+        failed.increment();
+    }
+
+    int pending() {
+        return lastLoginDates.size();
+    }
+
+    @Scheduled(fixedDelayString = "${application.login-events.flush-delay:PT1S}")
+    public void flush() {
+        securityMetersService.trackLogins(succeeded.sumThenReset(), failed.sumThenReset());
+        if (lastLoginDates.isEmpty()) {
+            return;
+        }
+        Map<String, Instant> flushed = new HashMap<>();
+        for (String login : lastLoginDates.keySet()) {
+            Instant lastLoginDate = lastLoginDates.remove(login);
+            if (lastLoginDate != null) {
+                flushed.put(login, lastLoginDate);
+            }
+        }
+        try {
+            userService.recordLastLoginDates(flushed);
+            LOG.debug("Recorded the last login date of {} users", flushed.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not record the last login date of {} users: {}", flushed.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
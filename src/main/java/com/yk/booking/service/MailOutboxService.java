@@ -0,0 +1,224 @@
+package com.yk.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.domain.enumeration.MailOutboxStatus;
+import com.yk.booking.repository.MailOutboxRepository;
+import com.yk.booking.service.dto.BookingNotification;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service managing the {@link MailOutbox}.
+ * <p>
+ * Emails are queued in the transaction of the change that triggers them, so they are neither lost when the
+ * transaction commits nor sent when it rolls back. Booking emails are queued as the {@link BookingNotification} they
+ * are rendered from, so that no template is rendered while the transaction holds its locks. Deliveries are claimed
+ * in batches by the dispatcher, and failed ones are retried with an exponential backoff until
+ * {@code application.mail-outbox.max-attempts}.
+ */
+@Service
+@Transactional
+public class MailOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private static final Set<MailOutboxStatus> UNSENT_STATUSES = EnumSet.of(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final ObjectMapper objectMapper;
+
+    public MailOutboxService(
+        MailOutboxRepository mailOutboxRepository,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.properties = applicationProperties.getMailOutbox();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue an email.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the body.
+     * @param html whether the body is HTML.
+     * @param dedupKey a key identifying the email for its recipient: while an email with the same key is waiting
+     *                 for delivery to the same recipient, this one is dropped. May be {@code null}.
+     * @return {@code true} if the email was queued, {@code false} if it was a duplicate.
+     */
+    public boolean enqueue(String to, String subject, String content, boolean html, String dedupKey) {
+        return enqueue(new MailOutbox().recipient(to).subject(subject).content(content).html(html).dedupKey(dedupKey));
+    }
+
+    /**
+     * Queue the email of a booking notification, to be rendered on delivery. The email is dropped if the user has no
+     * email address, or if it is a duplicate as in {@link #enqueue}, its key being the kind of notification and the
+     * id of the booking.
+     *
+     * @param notification the snapshot of the approved or rejected booking.
+     * @return {@code true} if the email was queued.
+     */
+    public boolean enqueueNotification(BookingNotification notification) {
+        String kind = notification.kind().getDedupPrefix();
+        if (StringUtils.isBlank(notification.userEmail())) {
+            LOG.error(
+                "Cannot send {} email: Email doesn't exist for user '{}' of booking ID '{}'",
+                kind,
+                notification.userLogin(),
+                notification.id()
+            );
+            return false;
+        }
+        String snapshot;
+        try {
+            snapshot = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write the notification of booking " + notification.id(), e);
+        }
+        return enqueue(
+            new MailOutbox().recipient(notification.userEmail()).notification(snapshot).html(true).dedupKey(kind + ":" + notification.id())
+        );
+    }
+
+    /**
+     * Queue the emails of several booking notifications, as {@link #enqueueNotification} does.
+     *
+     * @param notifications the snapshots of the approved or rejected bookings.
+     * @return the number of emails queued.
+     */
+    public int enqueueNotifications(Collection<BookingNotification> notifications) {
+        int queued = 0;
+        for (BookingNotification notification : notifications) {
+            if (enqueueNotification(notification)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private boolean enqueue(MailOutbox mail) {
+        if (
+            mail.getDedupKey() != null &&
+            mailOutboxRepository.existsByRecipientAndDedupKeyAndStatusIn(mail.getRecipient(), mail.getDedupKey(), UNSENT_STATUSES)
+        ) {
+            LOG.debug("Email '{}' to '{}' is already waiting in the outbox", mail.getDedupKey(), mail.getRecipient());
+            return false;
+        }
+        Instant now = Instant.now();
+        mailOutboxRepository.save(mail.status(MailOutboxStatus.PENDING).attempts(0).nextAttemptAt(now).createdDate(now));
+        return true;
+    }
+
+    /**
+     * Read the booking notification an email was queued with.
+     *
+     * @param mail the email.
+     * @return the notification, empty if the email was queued with its content.
+     * @throws IllegalStateException if the notification cannot be read.
+     */
+    public Optional<BookingNotification> readNotification(MailOutbox mail) {
+        if (mail.getNotification() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(mail.getNotification(), BookingNotification.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read the notification of email " + mail.getId(), e);
+        }
+    }
+
+    /**
+     * Claim the next emails due for delivery. Claimed emails are not handed out again before the lease expires,
+     * which only happens when the dispatcher holding them stopped before reporting back.
+     *
+     * @param size the maximum number of emails to claim.
+     * @return the claimed emails.
+     */
+    public List<MailOutbox> claimDue(int size) {
+        Instant now = Instant.now();
+        List<MailOutbox> due = mailOutboxRepository.findDueForUpdate(UNSENT_STATUSES, now, Limit.of(size));
+        for (MailOutbox mail : due) {
+            mail.status(MailOutboxStatus.SENDING).attempts(mail.getAttempts() + 1).nextAttemptAt(now.plus(properties.getLease()));
+        }
+        return due;
+    }
+
+    /**
+     * Record the delivery of emails.
+     *
+     * @param ids the ids of the delivered emails.
+     */
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            mailOutboxRepository.markSent(ids, MailOutboxStatus.SENT, Instant.now());
+        }
+    }
+
+    /**
+     * Record a failed delivery, scheduling a retry unless the email ran out of attempts.
+     *
+     * @param id the id of the email.
+     * @param error the cause of the failure.
+     * @return {@code true} if the email will be retried, {@code false} if it was given up.
+     */
+    public boolean markFailed(Long id, String error) {
+        return mailOutboxRepository
+            .findById(id)
+            .map(mail -> {
+                mail.lastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+                if (mail.getAttempts() >= properties.getMaxAttempts()) {
+                    LOG.warn("Giving up email {} to '{}' after {} attempts: {}", id, mail.getRecipient(), mail.getAttempts(), error);
+                    mail.status(MailOutboxStatus.FAILED);
+                    return false;
+                }
+                Duration delay = backoff(mail.getAttempts(), properties.getInitialBackoff(), properties.getMaxBackoff());
+                mail.status(MailOutboxStatus.PENDING).nextAttemptAt(Instant.now().plus(delay));
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Record a delivery that cannot succeed on a retry, such as one to an invalid address, giving up the email.
+     *
+     * @param id the id of the email.
+     * @param error the cause of the failure.
+     */
+    public void markPermanentlyFailed(Long id, String error) {
+        mailOutboxRepository
+            .findById(id)
+            .ifPresent(mail -> {
+                LOG.warn("Giving up email {} to '{}' after a permanent failure: {}", id, mail.getRecipient(), error);
+                mail.status(MailOutboxStatus.FAILED).lastError(StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+            });
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff, doubled after each failed attempt, capped.
+     */
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        Duration delay = initial.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 30));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
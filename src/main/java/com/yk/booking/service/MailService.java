@@ -1,10 +1,11 @@
 package com.yk.booking.service;
 
-import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.User;
+import com.yk.booking.service.dto.BookingNotification;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +22,9 @@ import tech.jhipster.config.JHipsterProperties;
 /**
  * Service for sending emails asynchronously.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * We use the {@link Async} annotation to send emails asynchronously. Booking emails are instead queued as a
+ * {@link BookingNotification} in the {@link MailOutboxService outbox}, in the transaction of the booking change, then
+ * rendered and delivered by the outbox dispatcher.
  */
 @Service
 public class MailService {
@@ -29,7 +32,7 @@ public class MailService {
     private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
 
     private static final String USER = "user";
-    private static final String BOOKING = "booking";
+    private static final String NOTIFICATION = "notification";
 
     private static final String BASE_URL = "baseUrl";
 
@@ -41,16 +44,20 @@ public class MailService {
 
     private final SpringTemplateEngine templateEngine;
 
+    private final MailOutboxService mailOutboxService;
+
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        SpringTemplateEngine templateEngine,
+        MailOutboxService mailOutboxService
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.mailOutboxService = mailOutboxService;
     }
 
     @Async
@@ -102,65 +109,54 @@ public class MailService {
         sendEmailSync(user.getEmail(), subject, content, false, true);
     }
 
-    @Async
-    public void sendBookingConfirmationEmail(Booking booking) {
-        LOG.debug("Sending booking confirmation email to '{}'", booking.getUser().getEmail());
-        LOG.debug("Sending booking '{}'", booking);
-        if (booking.getUser() == null) {
-            LOG.error("Cannot send booking confirmation email: User is null for booking ID '{}'", booking.getId());
-            return;
-        }
-        if (booking.getUser().getEmail() == null || booking.getUser().getEmail().trim().isEmpty()) {
-            LOG.error("Cannot send booking confirmation email: Email doesn't exist for user '{}'", booking.getUser().getLogin());
-            return;
-        }
-        try {
-            String langKey = booking.getUser().getLangKey();
-            if (langKey == null || langKey.trim().isEmpty()) {
-                langKey = "en"; // Default to English
-            }
-            Locale locale = Locale.forLanguageTag(langKey);
-            Context context = new Context(locale);
-            context.setVariable(BOOKING, booking);
-            context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-            String content = templateEngine.process("mail/successBookedEmail", context);
-            String subject = messageSource.getMessage("email.booking.confirmation.title", null, locale);
-            sendEmailSync(booking.getUser().getEmail(), subject, content, false, true);
-            LOG.info("Booking confirmation email sent successfully to '{}'", booking.getUser().getEmail());
-        } catch (Exception e) {
-            LOG.error("Error sending booking confirmation email to '{}': {}", booking.getUser().getEmail(), e.getMessage(), e);
+    /**
+     * Queue the email of a booking notification in the outbox, in the transaction of the caller.
+     *
+     * @param notification the snapshot of the approved or rejected booking.
+     */
+    public void sendBookingNotification(BookingNotification notification) {
+        if (mailOutboxService.enqueueNotification(notification)) {
+            LOG.info("Queued {} email to '{}'", notification.kind().getDedupPrefix(), notification.userEmail());
         }
     }
 
-    @Async
-    public void sendBookingRejectionEmail(Booking booking) {
-        LOG.debug("Sending booking rejection email to '{}'", booking.getUser().getEmail());
-        if (booking.getUser() == null) {
-            LOG.error("Cannot send booking rejection email: User is null for booking ID '{}'", booking.getId());
-            return;
+    /**
+     * Queue the emails of several booking notifications in the outbox, in the transaction of the caller, so the
+     * dispatcher picks them up together.
+     *
+     * @param notifications the snapshots of the approved or rejected bookings.
+     */
+    public void sendBookingNotifications(List<BookingNotification> notifications) {
+        if (!notifications.isEmpty()) {
+            LOG.info("Queued {} of {} booking emails", mailOutboxService.enqueueNotifications(notifications), notifications.size());
         }
-        if (booking.getUser().getEmail() == null || booking.getUser().getEmail().trim().isEmpty()) {
-            LOG.error("Cannot send booking rejection email: Email doesn't exist for user '{}'", booking.getUser().getLogin());
-            return;
-        }
-        try {
-            String langKey = booking.getUser().getLangKey();
-            if (langKey == null || langKey.trim().isEmpty()) {
-                langKey = "en"; // Default to English
-            }
-            Locale locale = Locale.forLanguageTag(langKey);
-            Context context = new Context(locale);
-            context.setVariable(BOOKING, booking);
-            context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-            String content = templateEngine.process("mail/failBookedEmail", context);
-            String subject = messageSource.getMessage("email.booking.rejection.title", null, locale);
-            sendEmailSync(booking.getUser().getEmail(), subject, content, false, true);
-            LOG.info("Booking rejection email sent successfully to '{}'", booking.getUser().getEmail());
-        } catch (Exception e) {
-            LOG.error("Error sending booking rejection email to '{}': {}", booking.getUser().getEmail(), e.getMessage(), e);
+    }
+
+    /**
+     * Render the email of a booking notification, in the language of its user.
+     *
+     * @param notification the snapshot of the approved or rejected booking.
+     * @return the subject and HTML content of the email.
+     */
+    public RenderedEmail renderBookingNotification(BookingNotification notification) {
+        String langKey = notification.langKey();
+        if (langKey == null || langKey.trim().isEmpty()) {
+            langKey = "en"; // Default to English
         }
+        Locale locale = Locale.forLanguageTag(langKey);
+        Context context = new Context(locale);
+        context.setVariable(NOTIFICATION, notification);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        String content = templateEngine.process(notification.kind().getTemplateName(), context);
+        String subject = messageSource.getMessage(notification.kind().getTitleKey(), null, locale);
+        return new RenderedEmail(subject, content);
     }
 
+    /**
+     * The subject and content of a rendered email.
+     */
+    public record RenderedEmail(String subject, String content) {}
+
     @Async
     public void sendActivationEmail(User user) {
         LOG.debug("Sending activation email to '{}'", user.getEmail());
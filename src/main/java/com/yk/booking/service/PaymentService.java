@@ -1,16 +1,21 @@
 package com.yk.booking.service;
 
+import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.Payment;
 import com.yk.booking.repository.PaymentRepository;
+import com.yk.booking.service.RevenueRollupService.Contribution;
 import com.yk.booking.service.dto.PaymentDTO;
 import com.yk.booking.service.mapper.PaymentMapper;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,9 +32,12 @@ public class PaymentService {
 
     private final PaymentMapper paymentMapper;
 
-    public PaymentService(PaymentRepository paymentRepository, PaymentMapper paymentMapper) {
+    private final RevenueRollupService revenueRollupService;
+
+    public PaymentService(PaymentRepository paymentRepository, PaymentMapper paymentMapper, RevenueRollupService revenueRollupService) {
         this.paymentRepository = paymentRepository;
         this.paymentMapper = paymentMapper;
+        this.revenueRollupService = revenueRollupService;
     }
 
     /**
@@ -53,8 +61,11 @@ public class PaymentService {
      */
     public PaymentDTO update(PaymentDTO paymentDTO) {
         LOG.debug("Request to update Payment : {}", paymentDTO);
+        Booking booking = paymentRepository.findById(paymentDTO.getId()).map(Payment::getBooking).orElse(null);
+        Contribution before = revenueRollupService.contributionOf(booking);
         Payment payment = paymentMapper.toEntity(paymentDTO);
         payment = paymentRepository.save(payment);
+        revenueRollupService.replace(before, revenueRollupService.contributionOf(booking));
         return paymentMapper.toDto(payment);
     }
 
@@ -70,11 +81,12 @@ public class PaymentService {
         return paymentRepository
             .findById(paymentDTO.getId())
             .map(existingPayment -> {
+                Contribution before = revenueRollupService.contributionOf(existingPayment.getBooking());
                 paymentMapper.partialUpdate(existingPayment, paymentDTO);
-
-                return existingPayment;
+                Payment payment = paymentRepository.save(existingPayment);
+                revenueRollupService.replace(before, revenueRollupService.contributionOf(payment.getBooking()));
+                return payment;
             })
-            .map(paymentRepository::save)
             .map(paymentMapper::toDto);
     }
 
@@ -90,16 +102,23 @@ public class PaymentService {
     }
 
     /**
-     *  Get all the payments where Booking is {@code null}.
-     *  @return the list of entities.
+     * Get a slice of the payments without a booking, ordered by id.
+     *
+     * @param afterId the id to continue after, {@code 0} for the first slice.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
      */
     @Transactional(readOnly = true)
-    public List<PaymentDTO> findAllWhereBookingIsNull() {
-        LOG.debug("Request to get all payments where Booking is null");
-        return StreamSupport.stream(paymentRepository.findAll().spliterator(), false)
-            .filter(payment -> payment.getBooking() == null)
-            .map(paymentMapper::toDto)
-            .collect(Collectors.toCollection(LinkedList::new));
+    public Slice<PaymentDTO> findAllWhereBookingIsNull(long afterId, int size) {
+        LOG.debug("Request to get payments where Booking is null after {}", afterId);
+        // Read one extra row to find out whether another slice follows without counting
+        List<PaymentDTO> payments = paymentRepository
+            .findUnbookedAfter(afterId, Limit.of(size + 1))
+            .stream()
+            .map(paymentMapper::summaryToDto)
+            .toList();
+        boolean hasNext = payments.size() > size;
+        return new SliceImpl<>(hasNext ? payments.subList(0, size) : payments, PageRequest.of(0, size), hasNext);
     }
 
     /**
@@ -135,11 +154,13 @@ public class PaymentService {
         LOG.debug("Request to update Payment status : {}, {}", id, status);
         return paymentRepository
             .findById(id)
-            .map(payment -> {
-                payment.setStatus(status);
+            .map(existingPayment -> {
+                Contribution before = revenueRollupService.contributionOf(existingPayment.getBooking());
+                existingPayment.setStatus(status);
+                Payment payment = paymentRepository.save(existingPayment);
+                revenueRollupService.replace(before, revenueRollupService.contributionOf(payment.getBooking()));
                 return payment;
             })
-            .map(paymentRepository::save)
             .map(paymentMapper::toDto);
     }
 }
@@ -0,0 +1,150 @@
+package com.yk.booking.service;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.RevenueDailyRollupRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the {@link com.yk.booking.domain.RevenueDailyRollup} table.
+ * <p>
+ * A booking contributes its payment amount to the row of its UTC booking day, court and sport while it is
+ * approved and its payment has an amount and has not failed. Callers take the contribution of a booking before
+ * changing it and hand both contributions to {@link #replace(Contribution, Contribution)} in the same transaction.
+ */
+@Service
+@Transactional
+public class RevenueRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    private static final Long NONE = 0L;
+
+    private static final String FAILED_PAYMENT = "failed";
+
+    private final RevenueDailyRollupRepository revenueDailyRollupRepository;
+
+    public RevenueRollupService(RevenueDailyRollupRepository revenueDailyRollupRepository) {
+        this.revenueDailyRollupRepository = revenueDailyRollupRepository;
+    }
+
+    /**
+     * Revenue a booking adds to one row of the rollup.
+     */
+    public record Contribution(LocalDate date, Long courtId, Long sportId, BigDecimal amount) {}
+
+    /**
+     * Get the current contribution of a booking.
+     *
+     * @param booking the booking, may be {@code null}.
+     * @return the contribution, or {@code null} if the booking does not count towards revenue.
+     */
+    @Transactional(readOnly = true)
+    public Contribution contributionOf(Booking booking) {
+        if (booking == null || booking.getStatus() != BookingStatus.APPROVED || booking.getBookingDate() == null) {
+            return null;
+        }
+        Payment payment = booking.getPayment();
+        if (payment == null || payment.getAmount() == null || FAILED_PAYMENT.equalsIgnoreCase(payment.getStatus())) {
+            return null;
+        }
+        Court court = booking.getTimeSlot() != null ? booking.getTimeSlot().getCourt() : null;
+        Long courtId = court != null ? court.getId() : NONE;
+        Long sportId = court != null && court.getSport() != null ? court.getSport().getId() : NONE;
+        return new Contribution(LocalDate.ofInstant(booking.getBookingDate(), ZoneOffset.UTC), courtId, sportId, payment.getAmount());
+    }
+
+    /**
+     * Replace the contribution of a booking in the rollup.
+     *
+     * @param before the contribution before the change, or {@code null}.
+     * @param after the contribution after the change, or {@code null}.
+     */
+    public void replace(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        LOG.debug("Request to replace revenue contribution {} with {}", before, after);
+        if (before != null) {
+            revenueDailyRollupRepository.addContribution(before.date(), before.courtId(), before.sportId(), before.amount().negate(), -1);
+        }
+        if (after != null) {
+            revenueDailyRollupRepository.addContribution(after.date(), after.courtId(), after.sportId(), after.amount(), 1);
+        }
+    }
+
+    /**
+     * Replace the contributions of several bookings at once, each rollup row being updated once with its net change.
+     *
+     * @param before the contributions before the change, with {@code null} for bookings not counting towards revenue.
+     * @param after the contributions after the change, with {@code null} for bookings not counting towards revenue.
+     */
+    public void replaceAll(Collection<Contribution> before, Collection<Contribution> after) {
+        Map<Row, Delta> deltas = new HashMap<>();
+        before.stream().filter(Objects::nonNull).forEach(c -> deltas.merge(Row.of(c), new Delta(c.amount().negate(), -1), Delta::plus));
+        after.stream().filter(Objects::nonNull).forEach(c -> deltas.merge(Row.of(c), new Delta(c.amount(), 1), Delta::plus));
+        deltas.forEach((row, delta) -> {
+            if (delta.bookingCount() != 0 || delta.amount().signum() != 0) {
+                LOG.debug("Request to add revenue {} over {} bookings to {}", delta.amount(), delta.bookingCount(), row);
+                revenueDailyRollupRepository.addContribution(
+                    row.date(),
+                    row.courtId(),
+                    row.sportId(),
+                    delta.amount(),
+                    delta.bookingCount()
+                );
+            }
+        });
+    }
+
+    private record Row(LocalDate date, Long courtId, Long sportId) {
+        static Row of(Contribution contribution) {
+            return new Row(contribution.date(), contribution.courtId(), contribution.sportId());
+        }
+    }
+
+    private record Delta(BigDecimal amount, long bookingCount) {
+        Delta plus(Delta other) {
+            return new Delta(amount.add(other.amount), bookingCount + other.bookingCount);
+        }
+    }
+
+    /**
+     * Recompute the rollup of the days in {@code [from, to)} from the bookings. The rows are set to their new values
+     * rather than deleted and inserted again, so the booking changes adding their contributions meanwhile are kept.
+     *
+     * @param from the first day to rebuild.
+     * @param to the day after the last day to rebuild.
+     * @return the number of rollup rows affected, as reported by the database.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        LOG.debug("Request to rebuild revenue rollup from {} to {}", from, to);
+        Instant start = from.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant end = to.atStartOfDay().toInstant(ZoneOffset.UTC);
+        int rows = revenueDailyRollupRepository.upsertAggregatedFromBookings(start, end);
+        return rows + revenueDailyRollupRepository.deleteWithoutBookings(from, to, start, end);
+    }
+
+    /**
+     * Check whether the rollup holds any row.
+     *
+     * @return {@code true} if the rollup is empty.
+     */
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return revenueDailyRollupRepository.count() == 0;
+    }
+}
@@ -1,21 +1,21 @@
 package com.yk.booking.service;
 
-import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.TimeSlot;
-import com.yk.booking.repository.BookingRepository;
 import com.yk.booking.repository.TimeSlotRepository;
+import com.yk.booking.service.BookingService.SlotPosition;
 import com.yk.booking.service.dto.TimeSlotDTO;
 import com.yk.booking.service.mapper.TimeSlotMapper;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,12 +32,20 @@ public class TimeSlotService {
 
     private final TimeSlotMapper timeSlotMapper;
 
-    private final BookingRepository bookingRepository;
+    private final CourtAvailabilityIndex courtAvailabilityIndex;
 
-    public TimeSlotService(TimeSlotRepository timeSlotRepository, TimeSlotMapper timeSlotMapper, BookingRepository bookingRepository) {
+    private final BookingService bookingService;
+
+    public TimeSlotService(
+        TimeSlotRepository timeSlotRepository,
+        TimeSlotMapper timeSlotMapper,
+        CourtAvailabilityIndex courtAvailabilityIndex,
+        BookingService bookingService
+    ) {
         this.timeSlotRepository = timeSlotRepository;
         this.timeSlotMapper = timeSlotMapper;
-        this.bookingRepository = bookingRepository;
+        this.courtAvailabilityIndex = courtAvailabilityIndex;
+        this.bookingService = bookingService;
     }
 
     /**
@@ -58,11 +66,14 @@ public class TimeSlotService {
      *
      * @param timeSlotDTO the entity to save.
      * @return the persisted entity.
+     * @throws BookingConflictException if the booking of the slot would overlap another booking of the court.
      */
     public TimeSlotDTO update(TimeSlotDTO timeSlotDTO) {
         LOG.debug("Request to update TimeSlot : {}", timeSlotDTO);
+        SlotPosition before = timeSlotRepository.findById(timeSlotDTO.getId()).map(SlotPosition::of).orElse(null);
         TimeSlot timeSlot = timeSlotMapper.toEntity(timeSlotDTO);
         timeSlot = timeSlotRepository.save(timeSlot);
+        bookingService.checkTimeSlotChange(before, timeSlot);
         return timeSlotMapper.toDto(timeSlot);
     }
 
@@ -71,6 +82,7 @@ public class TimeSlotService {
      *
      * @param timeSlotDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws BookingConflictException if the booking of the slot would overlap another booking of the court.
      */
     public Optional<TimeSlotDTO> partialUpdate(TimeSlotDTO timeSlotDTO) {
         LOG.debug("Request to partially update TimeSlot : {}", timeSlotDTO);
@@ -78,7 +90,9 @@ public class TimeSlotService {
         return timeSlotRepository
             .findById(timeSlotDTO.getId())
             .map(existingTimeSlot -> {
+                SlotPosition before = SlotPosition.of(existingTimeSlot);
                 timeSlotMapper.partialUpdate(existingTimeSlot, timeSlotDTO);
+                bookingService.checkTimeSlotChange(before, existingTimeSlot);
 
                 return existingTimeSlot;
             })
@@ -98,16 +112,23 @@ public class TimeSlotService {
     }
 
     /**
-     *  Get all the timeSlots where Booking is {@code null}.
-     *  @return the list of entities.
+     * Get a slice of the timeSlots without a booking, ordered by id.
+     *
+     * @param afterId the id to continue after, {@code 0} for the first slice.
+     * @param size the maximum number of entities to return.
+     * @return the slice of entities.
      */
     @Transactional(readOnly = true)
-    public List<TimeSlotDTO> findAllWhereBookingIsNull() {
-        LOG.debug("Request to get all timeSlots where Booking is null");
-        return StreamSupport.stream(timeSlotRepository.findAll().spliterator(), false)
-            .filter(timeSlot -> timeSlot.getBooking() == null)
-            .map(timeSlotMapper::toDto)
-            .collect(Collectors.toCollection(LinkedList::new));
+    public Slice<TimeSlotDTO> findAllWhereBookingIsNull(long afterId, int size) {
+        LOG.debug("Request to get timeSlots where Booking is null after {}", afterId);
+        // Read one extra row to find out whether another slice follows without counting
+        List<TimeSlotDTO> timeSlots = timeSlotRepository
+            .findUnbookedAfter(afterId, Limit.of(size + 1))
+            .stream()
+            .map(timeSlotMapper::summaryToDto)
+            .toList();
+        boolean hasNext = timeSlots.size() > size;
+        return new SliceImpl<>(hasNext ? timeSlots.subList(0, size) : timeSlots, PageRequest.of(0, size), hasNext);
     }
 
     /**
@@ -142,29 +163,6 @@ public class TimeSlotService {
     @Transactional(readOnly = true)
     public List<TimeSlotDTO> findByCourtAndDate(Long courtId, String dateStr) {
         LOG.debug("Request to get TimeSlots for court {} on date {}", courtId, dateStr);
-
-        // Parse the date
-        LocalDate date = LocalDate.parse(dateStr);
-        Instant startOfDay = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
-        Instant endOfDay = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-
-        // Get all bookings for this court and date
-        List<Booking> bookings = bookingRepository
-            .findAll()
-            .stream()
-            .filter(
-                booking ->
-                    booking.getTimeSlot() != null &&
-                    booking.getTimeSlot().getCourt() != null &&
-                    booking.getTimeSlot().getCourt().getId().equals(courtId) &&
-                    booking.getBookingDate() != null &&
-                    !booking.getBookingDate().isBefore(startOfDay) &&
-                    booking.getBookingDate().isBefore(endOfDay) &&
-                    "APPROVED".equals(booking.getStatus().name())
-            )
-            .collect(Collectors.toList());
-
-        // Get all time slots for approved bookings
-        return bookings.stream().map(Booking::getTimeSlot).map(timeSlotMapper::toDto).collect(Collectors.toList());
+        return courtAvailabilityIndex.findApprovedSlots(courtId, LocalDate.parse(dateStr));
     }
 }
@@ -0,0 +1,187 @@
+package com.yk.booking.service;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.UserBookingCounter;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.domain.enumeration.ClientTier;
+import com.yk.booking.repository.ClientRepository;
+import com.yk.booking.repository.ClientTierRepository;
+import com.yk.booking.repository.UserBookingCounterRepository;
+import com.yk.booking.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the {@link UserBookingCounter} of each user, and the tier of the user and its client.
+ * <p>
+ * Every booking but rejected ones counts towards the tier of its user. Callers take the counted user of a
+ * booking before changing it and hand both users to {@link #replace(Long, Long)} in the same transaction: when a
+ * count crosses a threshold of {@link ClientTierPolicy}, {@code User.tier} and {@code Client.clientTier} are
+ * updated straight away.
+ */
+@Service
+@Transactional
+public class UserBookingCounterService {
+
+    public static final String TIER_CHANGES_METER_NAME = "booking.tier.changes";
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserBookingCounterService.class);
+
+    private final UserBookingCounterRepository userBookingCounterRepository;
+    private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
+    private final ClientTierRepository clientTierRepository;
+    private final CacheManager cacheManager;
+
+    private final Counter promotionCounter;
+    private final Counter demotionCounter;
+
+    public UserBookingCounterService(
+        UserBookingCounterRepository userBookingCounterRepository,
+        UserRepository userRepository,
+        ClientRepository clientRepository,
+        ClientTierRepository clientTierRepository,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.userBookingCounterRepository = userBookingCounterRepository;
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.clientTierRepository = clientTierRepository;
+        this.cacheManager = cacheManager;
+        this.promotionCounter = tierChangesCounter("promotion", meterRegistry);
+        this.demotionCounter = tierChangesCounter("demotion", meterRegistry);
+    }
+
+    private static Counter tierChangesCounter(String direction, MeterRegistry meterRegistry) {
+        return Counter.builder(TIER_CHANGES_METER_NAME)
+            .description("Tier changes decided when a booking count crosses a threshold")
+            .tag("direction", direction)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the user a booking is currently counted for.
+     *
+     * @param booking the booking, may be {@code null}.
+     * @return the id of the user, or {@code null} if the booking does not count towards any tier.
+     */
+    @Transactional(readOnly = true)
+    public Long countedUserOf(Booking booking) {
+        if (booking == null || booking.getUser() == null || booking.getStatus() == BookingStatus.REJECTED) {
+            return null;
+        }
+        return booking.getUser().getId();
+    }
+
+    /**
+     * Move a booking from the counter of one user to another.
+     *
+     * @param before the counted user before the change, or {@code null}.
+     * @param after the counted user after the change, or {@code null}.
+     */
+    public void replace(Long before, Long after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            addBookings(before, -1);
+        }
+        if (after != null) {
+            addBookings(after, 1);
+        }
+    }
+
+    /**
+     * Move several bookings at once, each counter being updated once with its net change.
+     *
+     * @param before the counted users of the bookings before the change, with {@code null} for uncounted bookings.
+     * @param after the counted users of the same bookings after the change, with {@code null} for uncounted bookings.
+     */
+    public void replaceAll(Collection<Long> before, Collection<Long> after) {
+        Map<Long, Long> deltas = new HashMap<>();
+        before.stream().filter(Objects::nonNull).forEach(userId -> deltas.merge(userId, -1L, Long::sum));
+        after.stream().filter(Objects::nonNull).forEach(userId -> deltas.merge(userId, 1L, Long::sum));
+        deltas.forEach((userId, delta) -> {
+            if (delta != 0) {
+                addBookings(userId, delta);
+            }
+        });
+    }
+
+    private void addBookings(Long userId, long delta) {
+        userBookingCounterRepository.addBookings(userId, delta);
+        long bookingCount = userBookingCounterRepository.findBookingCount(userId).orElse(0L);
+        String tierName = ClientTierPolicy.tierNameFor(bookingCount);
+        if (!tierName.equals(ClientTierPolicy.tierNameFor(bookingCount - delta))) {
+            LOG.debug("User {} moves to tier {} with {} bookings", userId, tierName, bookingCount);
+            (delta > 0 ? promotionCounter : demotionCounter).increment();
+            applyTier(userId, tierName);
+        }
+    }
+
+    private void applyTier(Long userId, String tierName) {
+        userRepository
+            .findById(userId)
+            .ifPresent(user -> {
+                user.setTier(ClientTier.valueOf(tierName));
+                // Evicted once committed, lest a concurrent read cache the previous tier again
+                String login = user.getLogin();
+                TransactionCallbacks.afterCommit(() ->
+                    Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(login)
+                );
+            });
+        clientRepository
+            .findOneByUserId(userId)
+            .ifPresent(client -> clientTierRepository.findByTierName(tierName).ifPresent(client::setClientTier));
+    }
+
+    /**
+     * Get the booking count of a user.
+     *
+     * @param userId the id of the user.
+     * @return the number of bookings counting towards the tier of the user.
+     */
+    @Transactional(readOnly = true)
+    public long getBookingCount(Long userId) {
+        return userBookingCounterRepository.findBookingCount(userId).orElse(0L);
+    }
+
+    /**
+     * Get the highest user id, up to which {@link #reconcile(long, int)} walks the counters.
+     *
+     * @return the highest user id, {@code 0} without users.
+     */
+    @Transactional(readOnly = true)
+    public long getLastUserId() {
+        return userRepository.findMaxId().orElse(0L);
+    }
+
+    /**
+     * Align the counters of a chunk of users with their bookings, in a transaction of its own.
+     * <p>
+     * Each count is taken by the statement writing it, so a booking counted meanwhile by {@link #replace} is never
+     * overwritten by an older count.
+     *
+     * @param afterId the id after which the chunk starts.
+     * @param size the number of user ids covered by the chunk.
+     * @return the number of counters of the chunk that had drifted or were missing, and were repaired.
+     */
+    public int reconcile(long afterId, int size) {
+        long toId = afterId + size;
+        String excluded = BookingStatus.REJECTED.name();
+        return (
+            userBookingCounterRepository.recountBookings(afterId, toId, excluded) +
+            userBookingCounterRepository.insertMissingCounters(afterId, toId, excluded)
+        );
+    }
+}
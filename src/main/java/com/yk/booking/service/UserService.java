@@ -316,6 +316,25 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    /**
+     * Record the last login date of users, then evict the cached users whose date changed once committed.
+     *
+     * @param lastLoginDates the date of the last login of each user, by login.
+     */
+    public void recordLastLoginDates(Map<String, Instant> lastLoginDates) {
+        List<String> updated = lastLoginDates
+            .entrySet()
+            .stream()
+            .filter(lastLoginDate -> userRepository.updateLastLoginDate(lastLoginDate.getKey(), lastLoginDate.getValue()) > 0)
+            .map(Map.Entry::getKey)
+            .toList();
+        if (!updated.isEmpty()) {
+            // Evicted once committed, lest a concurrent read cache the previous dates again
+            List<User> users = userRepository.findAllByLoginIn(updated);
+            TransactionCallbacks.afterCommit(() -> users.forEach(this::clearUserCaches));
+        }
+    }
+
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
         if (user.getEmail() != null) {
@@ -0,0 +1,113 @@
+package com.yk.booking.service.criteria;
+
+import com.yk.booking.domain.enumeration.BookingStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Criteria class for filtering the {@link com.yk.booking.domain.Booking} entity.
+ * <p>
+ * Every field is optional; the {@code from}/{@code to} range applies to the booking date, with {@code to} exclusive.
+ */
+public class BookingCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private BookingStatus status;
+
+    private Long courtId;
+
+    private Long sportId;
+
+    private Long userId;
+
+    private Instant from;
+
+    private Instant to;
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public Long getCourtId() {
+        return courtId;
+    }
+
+    public void setCourtId(Long courtId) {
+        this.courtId = courtId;
+    }
+
+    public Long getSportId() {
+        return sportId;
+    }
+
+    public void setSportId(Long sportId) {
+        this.sportId = sportId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookingCriteria)) {
+            return false;
+        }
+        BookingCriteria that = (BookingCriteria) o;
+        return (
+            status == that.status &&
+            Objects.equals(courtId, that.courtId) &&
+            Objects.equals(sportId, that.sportId) &&
+            Objects.equals(userId, that.userId) &&
+            Objects.equals(from, that.from) &&
+            Objects.equals(to, that.to)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, courtId, sportId, userId, from, to);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookingCriteria{" +
+            "status=" + getStatus() +
+            ", courtId=" + getCourtId() +
+            ", sportId=" + getSportId() +
+            ", userId=" + getUserId() +
+            ", from='" + getFrom() + "'" +
+            ", to='" + getTo() + "'" +
+            "}";
+    }
+}
@@ -22,6 +22,8 @@ public class BookingDTO implements Serializable {
     @NotNull
     private BookingStatus status;
 
+    private Long version;
+
     private TimeSlotDTO timeSlot;
 
     private UserDTO user;
@@ -60,6 +62,14 @@ public class BookingDTO implements Serializable {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public TimeSlotDTO getTimeSlot() {
         return timeSlot;
     }
@@ -112,6 +122,7 @@ public class BookingDTO implements Serializable {
             "id=" + getId() +
             ", bookingDate='" + getBookingDate() + "'" +
             ", status='" + getStatus() + "'" +
+            ", version=" + getVersion() +
             ", timeSlot=" + getTimeSlot() +
             ", user=" + getUser() +
             ", payment=" + getPayment() +
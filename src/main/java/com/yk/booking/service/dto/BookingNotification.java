@@ -0,0 +1,101 @@
+package com.yk.booking.service.dto;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of a booking taken when it is approved or rejected, holding everything its email needs so
+ * it can be queued with the transaction and rendered on delivery without touching the entity.
+ */
+public record BookingNotification(
+    Kind kind,
+    Long id,
+    String bookingId,
+    String userLogin,
+    String userEmail,
+    String langKey,
+    String courtName,
+    String sportName,
+    Instant startTime,
+    Instant endTime
+)
+    implements Serializable {
+    /**
+     * What happened to the booking, with the email telling the user about it.
+     */
+    public enum Kind {
+        CONFIRMATION("mail/successBookedEmail", "email.booking.confirmation.title", "booking-confirmation"),
+        REJECTION("mail/failBookedEmail", "email.booking.rejection.title", "booking-rejection");
+
+        private final String templateName;
+
+        private final String titleKey;
+
+        private final String dedupPrefix;
+
+        Kind(String templateName, String titleKey, String dedupPrefix) {
+            this.templateName = templateName;
+            this.titleKey = titleKey;
+            this.dedupPrefix = dedupPrefix;
+        }
+
+        public String getTemplateName() {
+            return templateName;
+        }
+
+        public String getTitleKey() {
+            return titleKey;
+        }
+
+        public String getDedupPrefix() {
+            return dedupPrefix;
+        }
+
+        /**
+         * Get the notification telling the user that a booking moved to a status.
+         *
+         * @param status the new status of the booking.
+         * @return the kind of notification, empty if the status is not notified.
+         */
+        public static Optional<Kind> forStatus(BookingStatus status) {
+            if (status == BookingStatus.APPROVED) {
+                return Optional.of(CONFIRMATION);
+            }
+            if (status == BookingStatus.REJECTED) {
+                return Optional.of(REJECTION);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Take the snapshot of a booking, whose time slot, court, sport and user must be loaded.
+     *
+     * @param booking the booking.
+     * @param kind what happened to the booking.
+     * @return the snapshot.
+     */
+    public static BookingNotification of(Booking booking, Kind kind) {
+        User user = booking.getUser();
+        TimeSlot timeSlot = booking.getTimeSlot();
+        Court court = timeSlot != null ? timeSlot.getCourt() : null;
+        return new BookingNotification(
+            kind,
+            booking.getId(),
+            booking.getBookingId(),
+            user != null ? user.getLogin() : null,
+            user != null ? user.getEmail() : null,
+            user != null ? user.getLangKey() : null,
+            court != null ? court.getName() : null,
+            court != null && court.getSport() != null ? court.getSport().getName() : null,
+            timeSlot != null ? timeSlot.getStartTime() : null,
+            timeSlot != null ? timeSlot.getEndTime() : null
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.yk.booking.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The {@link BookingNotification}s of bookings changed together, whose emails are queued together.
+ */
+public record BookingNotificationBatch(List<BookingNotification> notifications) implements Serializable {
+    public BookingNotificationBatch {
+        notifications = List.copyOf(notifications);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yk.booking.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the outcome of a bulk status change on one booking.
+ */
+public class BookingStatusResultDTO implements Serializable {
+
+    /**
+     * What happened to the booking.
+     */
+    public enum Outcome {
+        /**
+         * The booking was pending and now has the requested status.
+         */
+        UPDATED,
+        /**
+         * The booking exists but was no longer pending, so it was left unchanged.
+         */
+        NOT_PENDING,
+        /**
+         * No booking has this id.
+         */
+        NOT_FOUND,
+    }
+
+    private Long id;
+
+    private Outcome outcome;
+
+    public BookingStatusResultDTO() {}
+
+    public BookingStatusResultDTO(Long id, Outcome outcome) {
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookingStatusResultDTO)) {
+            return false;
+        }
+        BookingStatusResultDTO that = (BookingStatusResultDTO) o;
+        return Objects.equals(id, that.id) && outcome == that.outcome;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, outcome);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookingStatusResultDTO{" +
+            "id=" + getId() +
+            ", outcome='" + getOutcome() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.yk.booking.service.dto;
+
+import com.yk.booking.domain.enumeration.BookingStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A DTO asking to move a list of pending bookings to another status.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BookingStatusUpdateDTO implements Serializable {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+
+    @NotNull
+    private BookingStatus status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookingStatusUpdateDTO{" +
+            "ids=" + getIds() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
@@ -24,6 +24,11 @@ public interface BookingMapper extends EntityMapper<BookingDTO, Booking> {
     @Mapping(target = "payment", source = "payment", qualifiedByName = "paymentWithStatus")
     BookingDTO toDto(Booking s);
 
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Booking entity, BookingDTO dto);
+
     @Named("timeSlotWithCourtAndSport")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
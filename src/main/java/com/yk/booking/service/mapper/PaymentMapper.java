@@ -2,6 +2,7 @@ package com.yk.booking.service.mapper;
 
 import com.yk.booking.domain.Payment;
 import com.yk.booking.domain.User;
+import com.yk.booking.repository.PaymentRepository.PaymentSummary;
 import com.yk.booking.service.dto.PaymentDTO;
 import com.yk.booking.service.dto.UserDTO;
 import org.mapstruct.*;
@@ -18,4 +19,23 @@ public interface PaymentMapper extends EntityMapper<PaymentDTO, Payment> {
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     UserDTO toDtoUserId(User user);
+
+    default PaymentDTO summaryToDto(PaymentSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        PaymentDTO paymentDTO = new PaymentDTO();
+        paymentDTO.setId(summary.getId());
+        paymentDTO.setAmount(summary.getAmount());
+        paymentDTO.setPaymentDate(summary.getPaymentDate());
+        paymentDTO.setStatus(summary.getStatus());
+        paymentDTO.setQrCodeUrl(summary.getQrCodeUrl());
+        paymentDTO.setTransactionId(summary.getTransactionId());
+        if (summary.getUserId() != null) {
+            UserDTO userDTO = new UserDTO();
+            userDTO.setId(summary.getUserId());
+            paymentDTO.setUser(userDTO);
+        }
+        return paymentDTO;
+    }
 }
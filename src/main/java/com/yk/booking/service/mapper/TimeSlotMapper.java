@@ -3,6 +3,7 @@ package com.yk.booking.service.mapper;
 import com.yk.booking.domain.Court;
 import com.yk.booking.domain.Sport;
 import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.repository.TimeSlotRepository.TimeSlotSummary;
 import com.yk.booking.service.dto.CourtDTO;
 import com.yk.booking.service.dto.SportDTO;
 import com.yk.booking.service.dto.TimeSlotDTO;
@@ -28,4 +29,27 @@ public interface TimeSlotMapper extends EntityMapper<TimeSlotDTO, TimeSlot> {
     @Mapping(target = "id", source = "id")
     @Mapping(target = "name", source = "name")
     SportDTO toDtoSportId(Sport sport);
+
+    default TimeSlotDTO summaryToDto(TimeSlotSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        TimeSlotDTO timeSlotDTO = new TimeSlotDTO();
+        timeSlotDTO.setId(summary.getId());
+        timeSlotDTO.setStartTime(summary.getStartTime());
+        timeSlotDTO.setEndTime(summary.getEndTime());
+        if (summary.getCourtId() != null) {
+            CourtDTO courtDTO = new CourtDTO();
+            courtDTO.setId(summary.getCourtId());
+            courtDTO.setName(summary.getCourtName());
+            if (summary.getSportId() != null) {
+                SportDTO sportDTO = new SportDTO();
+                sportDTO.setId(summary.getSportId());
+                sportDTO.setName(summary.getSportName());
+                courtDTO.setSport(sportDTO);
+            }
+            timeSlotDTO.setCourt(courtDTO);
+        }
+        return timeSlotDTO;
+    }
 }
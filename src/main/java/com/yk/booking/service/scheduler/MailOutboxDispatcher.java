@@ -0,0 +1,193 @@
+package com.yk.booking.service.scheduler;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.service.MailOutboxService;
+import com.yk.booking.service.MailService;
+import com.yk.booking.service.MailService.RenderedEmail;
+import com.yk.booking.service.dto.BookingNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Delivers the emails queued in the {@link MailOutbox}.
+ * <p>
+ * The outbox is drained in batches of {@code application.mail-outbox.batch-size}: each batch is handed to
+ * {@link JavaMailSender#send(MimeMessage...)} at once, which sends all of it over a single SMTP connection.
+ * Emails of a batch with the same recipient and deduplication key are only sent once. Booking emails, queued as their
+ * {@link BookingNotification}, are rendered here, outside of any transaction.
+ * <p>
+ * Failed emails are retried with a backoff, except those to an address that is invalid or that the server rejected,
+ * which are given up at once.
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    public static final String BATCH_METER_NAME = "mail.outbox.batch";
+    public static final String EMAILS_METER_NAME = "mail.outbox.emails";
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutboxService mailOutboxService;
+    private final MailService mailService;
+    private final JavaMailSender javaMailSender;
+    private final JHipsterProperties jHipsterProperties;
+    private final int batchSize;
+
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter retriedCounter;
+    private final Counter abandonedCounter;
+
+    public MailOutboxDispatcher(
+        MailOutboxService mailOutboxService,
+        MailService mailService,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.batchSize = applicationProperties.getMailOutbox().getBatchSize();
+        this.batchTimer = Timer.builder(BATCH_METER_NAME).description("Delivery of one batch of the mail outbox").register(meterRegistry);
+        this.sentCounter = emailsCounter("sent", meterRegistry);
+        this.deduplicatedCounter = emailsCounter("deduplicated", meterRegistry);
+        this.retriedCounter = emailsCounter("retried", meterRegistry);
+        this.abandonedCounter = emailsCounter("abandoned", meterRegistry);
+    }
+
+    private static Counter emailsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(EMAILS_METER_NAME)
+            .baseUnit("emails")
+            .description("Emails processed by the mail outbox dispatcher")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-delay:PT10S}")
+    public void dispatch() {
+        List<MailOutbox> batch;
+        do {
+            batch = mailOutboxService.claimDue(batchSize);
+            if (!batch.isEmpty()) {
+                List<MailOutbox> claimed = batch;
+                batchTimer.record(() -> deliver(claimed));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void deliver(List<MailOutbox> batch) {
+        Map<MimeMessage, MailOutbox> messages = new LinkedHashMap<>();
+        Map<String, Long> firstByDedupKey = new HashMap<>();
+        List<Long> duplicates = new ArrayList<>();
+        for (MailOutbox mail : batch) {
+            String dedupKey = mail.getDedupKey() != null ? mail.getRecipient() + '\n' + mail.getDedupKey() : null;
+            if (dedupKey != null && firstByDedupKey.putIfAbsent(dedupKey, mail.getId()) != null) {
+                duplicates.add(mail.getId());
+                continue;
+            }
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException | RuntimeException e) {
+                // Invalid address, or a notification that could not be read or rendered
+                failed(mail, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            if (!messages.isEmpty()) {
+                javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            }
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+
+        List<Long> sent = new ArrayList<>(duplicates);
+        for (Map.Entry<MimeMessage, MailOutbox> message : messages.entrySet()) {
+            Exception failure = failures.get(message.getKey());
+            if (failure == null) {
+                sent.add(message.getValue().getId());
+            } else {
+                failed(message.getValue(), failure);
+            }
+        }
+        mailOutboxService.markSent(sent);
+        sentCounter.increment(sent.size() - duplicates.size());
+        deduplicatedCounter.increment(duplicates.size());
+        log.debug(
+            "Delivered {} of {} emails from the outbox, {} duplicates",
+            sent.size() - duplicates.size(),
+            batch.size(),
+            duplicates.size()
+        );
+    }
+
+    private MimeMessage toMimeMessage(MailOutbox mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        Optional<RenderedEmail> rendered = mailOutboxService.readNotification(mail).map(mailService::renderBookingNotification);
+        message.setSubject(rendered.map(RenderedEmail::subject).orElse(mail.getSubject()));
+        message.setText(rendered.map(RenderedEmail::content).orElse(mail.getContent()), Boolean.TRUE.equals(mail.getHtml()));
+        return mimeMessage;
+    }
+
+    private void failed(MailOutbox mail, Exception e) {
+        log.warn("Email {} could not be sent to '{}': {}", mail.getId(), mail.getRecipient(), e.getMessage());
+        if (isPermanent(e)) {
+            mailOutboxService.markPermanentlyFailed(mail.getId(), e.toString());
+            abandonedCounter.increment();
+        } else if (mailOutboxService.markFailed(mail.getId(), e.toString())) {
+            retriedCounter.increment();
+        } else {
+            abandonedCounter.increment();
+        }
+    }
+
+    /**
+     * Whether a failure would happen again on a retry: an invalid address, or recipients rejected by the server.
+     */
+    private static boolean isPermanent(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AddressException || cause instanceof SendFailedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, MailOutbox> messages, Exception e) {
+        Map<Object, Exception> failures = new HashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
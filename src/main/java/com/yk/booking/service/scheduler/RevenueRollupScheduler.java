@@ -0,0 +1,131 @@
+package com.yk.booking.service.scheduler;
+
+import com.yk.booking.repository.BookingRepository;
+import com.yk.booking.repository.RevenueDailyRollupRepository;
+import com.yk.booking.service.RevenueRollupService;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the revenue rollup from the bookings.
+ * <p>
+ * The rollup is backfilled once, on the task executor, when the application starts with an empty rollup, and rebuilt
+ * every night to repair any drift, for instance when a court moved to another sport. Each month is rebuilt in its own
+ * transaction so the job never holds locks over the whole table.
+ * <p>
+ * Rebuilds hold the lease of the {@code job_lock} row {@value #LOCK_NAME}, so only one instance of the application runs
+ * them at a time; the others skip their run. The lease is taken and given back by statements of their own, so no
+ * connection is held for the whole run, and it expires after {@link #LEASE} if the instance stops halfway.
+ */
+@Component
+public class RevenueRollupScheduler {
+
+    static final String LOCK_NAME = "revenue_daily_rollup.rebuild";
+
+    /**
+     * Longer than any rebuild, so that a lease only expires when its instance stopped before giving it back.
+     */
+    static final Duration LEASE = Duration.ofHours(1);
+
+    private final Logger log = LoggerFactory.getLogger(RevenueRollupScheduler.class);
+
+    private final RevenueRollupService revenueRollupService;
+    private final BookingRepository bookingRepository;
+    private final RevenueDailyRollupRepository revenueDailyRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RevenueRollupScheduler(
+        RevenueRollupService revenueRollupService,
+        BookingRepository bookingRepository,
+        RevenueDailyRollupRepository revenueDailyRollupRepository,
+        JdbcTemplate jdbcTemplate
+    ) {
+        this.revenueRollupService = revenueRollupService;
+        this.bookingRepository = bookingRepository;
+        this.revenueDailyRollupRepository = revenueDailyRollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (revenueRollupService.isEmpty() && bookingRepository.findFirstBookingDate().isPresent()) {
+            log.info("Revenue rollup is empty, backfilling it from the bookings.");
+            rebuildAll();
+        }
+    }
+
+    // Run every night at 03:30
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void rebuildAll() {
+        Instant now = Instant.now();
+        int leased = jdbcTemplate.update(
+            "UPDATE job_lock SET locked_until = ?, locked_by = ? WHERE name = ? AND locked_until <= ?",
+            Timestamp.from(now.plus(LEASE)),
+            instanceId,
+            LOCK_NAME,
+            Timestamp.from(now)
+        );
+        if (leased == 0) {
+            log.info("Revenue rollup is being rebuilt by another instance, skipping.");
+            return;
+        }
+        try {
+            rebuildAllLocked();
+        } finally {
+            jdbcTemplate.update(
+                "UPDATE job_lock SET locked_until = ?, locked_by = NULL WHERE name = ? AND locked_by = ?",
+                Timestamp.from(Instant.now()),
+                LOCK_NAME,
+                instanceId
+            );
+        }
+    }
+
+    private void rebuildAllLocked() {
+        Optional<LocalDate> first = Stream.of(
+            bookingRepository.findFirstBookingDate().map(RevenueRollupScheduler::toUtcDate),
+            revenueDailyRollupRepository.findFirstRollupDate()
+        )
+            .flatMap(Optional::stream)
+            .min(LocalDate::compareTo);
+        Optional<LocalDate> last = Stream.of(
+            bookingRepository.findLastBookingDate().map(RevenueRollupScheduler::toUtcDate),
+            revenueDailyRollupRepository.findLastRollupDate()
+        )
+            .flatMap(Optional::stream)
+            .max(LocalDate::compareTo);
+        if (first.isEmpty() || last.isEmpty()) {
+            log.info("No bookings, revenue rollup left empty.");
+            return;
+        }
+
+        log.info("Rebuilding revenue rollup from {} to {}.", first.get(), last.get());
+        int rows = 0;
+        LocalDate end = last.get().plusDays(1);
+        for (LocalDate from = first.get(); from.isBefore(end); from = from.withDayOfMonth(1).plusMonths(1)) {
+            LocalDate to = from.withDayOfMonth(1).plusMonths(1);
+            rows += revenueRollupService.rebuild(from, to.isBefore(end) ? to : end);
+        }
+        log.info("Revenue rollup rebuilt with {} rows.", rows);
+    }
+
+    private static LocalDate toUtcDate(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
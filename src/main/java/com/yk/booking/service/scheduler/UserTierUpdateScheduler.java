@@ -1,79 +1,139 @@
 package com.yk.booking.service.scheduler;
 
-import com.yk.booking.domain.Client;
+import com.yk.booking.config.ApplicationProperties;
 import com.yk.booking.domain.ClientTier;
+import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.BookingRepository;
-import com.yk.booking.repository.ClientRepository;
+import com.yk.booking.repository.BookingRepository.UserBookingCount;
 import com.yk.booking.repository.ClientTierRepository;
-import java.util.List;
+import com.yk.booking.service.ClientService;
+import com.yk.booking.service.ClientService.TierChunk;
+import com.yk.booking.service.UserBookingCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Checks every day that the booking counters and tiers maintained by {@link UserBookingCounterService} agree
+ * with the bookings.
+ * <p>
+ * Drifted counters are first repaired by chunks of user ids, each recounted in its own transaction. The booking
+ * counts of all users are then read with a single grouped query, and the tier thresholds applied in memory.
+ * Clients are walked in id order by chunks, each chunk being read and updated in its own transaction, so the job
+ * never holds locks on the whole client table.
+ */
 @Component
 public class UserTierUpdateScheduler {
 
+    public static final String DURATION_METER_NAME = "booking.tier.recalculation";
+    public static final String CLIENTS_METER_NAME = "booking.tier.recalculation.clients";
+    public static final String PROGRESS_METER_NAME = "booking.tier.recalculation.progress";
+    public static final String USERS_METER_NAME = "booking.tier.recalculation.users";
+    public static final String DRIFT_METER_NAME = "booking.tier.recalculation.drift";
+
     private final Logger log = LoggerFactory.getLogger(UserTierUpdateScheduler.class);
 
-    private final ClientRepository clientRepository;
+    private final ClientService clientService;
+    private final UserBookingCounterService userBookingCounterService;
     private final BookingRepository bookingRepository;
     private final ClientTierRepository clientTierRepository;
+    private final int chunkSize;
+
+    private final Timer durationTimer;
+    private final Counter scannedCounter;
+    private final Counter updatedCounter;
+    private final Counter skippedCounter;
+    private final Counter usersUpdatedCounter;
+    private final Counter driftCounter;
+    private final AtomicLong progress = new AtomicLong();
 
     public UserTierUpdateScheduler(
-        ClientRepository clientRepository,
+        ClientService clientService,
+        UserBookingCounterService userBookingCounterService,
         BookingRepository bookingRepository,
-        ClientTierRepository clientTierRepository
+        ClientTierRepository clientTierRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
     ) {
-        this.clientRepository = clientRepository;
+        this.clientService = clientService;
+        this.userBookingCounterService = userBookingCounterService;
         this.bookingRepository = bookingRepository;
         this.clientTierRepository = clientTierRepository;
+        this.chunkSize = applicationProperties.getTierRecalculation().getChunkSize();
+        this.durationTimer = Timer.builder(DURATION_METER_NAME)
+            .description("Duration of the client tier recalculation")
+            .register(meterRegistry);
+        this.scannedCounter = clientsCounter("scanned", meterRegistry);
+        this.updatedCounter = clientsCounter("updated", meterRegistry);
+        this.skippedCounter = clientsCounter("skipped", meterRegistry);
+        this.usersUpdatedCounter = Counter.builder(USERS_METER_NAME)
+            .baseUnit("users")
+            .description("Users moved to another tier by the client tier recalculation")
+            .register(meterRegistry);
+        this.driftCounter = Counter.builder(DRIFT_METER_NAME)
+            .description("User booking counters found out of line with the bookings")
+            .register(meterRegistry);
+        meterRegistry.gauge(PROGRESS_METER_NAME, progress);
+    }
+
+    private static Counter clientsCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(CLIENTS_METER_NAME)
+            .baseUnit("clients")
+            .description("Clients processed by the client tier recalculation")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
     }
 
     // Run every 24 hours (86400000 ms)
     @Scheduled(fixedRate = 86400000)
-    @Transactional
     public void updateUserTiers() {
         log.info("Running scheduled task to update user tiers.");
+        durationTimer.record(this::recalculate);
+    }
 
-        List<Client> clients = clientRepository.findAll();
-
-        for (Client client : clients) {
-            // Assuming a user has a client associated with them
-            if (client.getUser() == null) {
-                log.warn("Client {} has no associated user. Skipping tier update.", client.getId());
-                continue;
-            }
-
-            // Count completed bookings for the user
-            Long totalCompletedBookings = bookingRepository.countByUser(client.getUser());
-
-            String tierName;
-            if (totalCompletedBookings >= 21) {
-                tierName = "PLATINUM";
-            } else if (totalCompletedBookings >= 11) {
-                tierName = "GOLD";
-            } else if (totalCompletedBookings >= 6) {
-                tierName = "IRON";
-            } else {
-                tierName = "LEAD";
-            }
-
-            ClientTier newClientTier = clientTierRepository.findByTierName(tierName).orElse(null);
+    private void recalculate() {
+        Map<String, ClientTier> tiers = clientTierRepository
+            .findAll()
+            .stream()
+            .collect(Collectors.toMap(ClientTier::getTierName, Function.identity(), (first, second) -> first));
+        if (tiers.isEmpty()) {
+            log.warn("No client tiers configured. Only user tiers will be updated.");
+        }
+        long drifted = 0;
+        long lastUserId = userBookingCounterService.getLastUserId();
+        for (long afterId = 0; afterId < lastUserId; afterId += chunkSize) {
+            drifted += userBookingCounterService.reconcile(afterId, chunkSize);
+        }
+        if (drifted > 0) {
+            log.warn("Repaired {} user booking counters out of line with the bookings.", drifted);
+            driftCounter.increment(drifted);
+        }
+        Map<Long, Long> bookingCounts = bookingRepository
+            .countBookingsByUser(BookingStatus.REJECTED)
+            .stream()
+            .collect(Collectors.toMap(UserBookingCount::getUserId, UserBookingCount::getBookingCount));
 
-            if (newClientTier != null && !newClientTier.equals(client.getClientTier())) {
-                client.setClientTier(newClientTier);
-                clientRepository.save(client);
-                log.info(
-                    "Updated client {} (user: {}) tier to {}. Total completed bookings: {}",
-                    client.getId(),
-                    client.getUser().getLogin(),
-                    tierName,
-                    totalCompletedBookings
-                );
-            }
+        progress.set(0);
+        long updated = 0;
+        long afterId = 0;
+        TierChunk chunk;
+        while ((chunk = clientService.updateClientTiers(afterId, chunkSize, bookingCounts, tiers)).lastId() != null) {
+            afterId = chunk.lastId();
+            updated += chunk.updated();
+            progress.addAndGet(chunk.scanned());
+            scannedCounter.increment(chunk.scanned());
+            updatedCounter.increment(chunk.updated());
+            skippedCounter.increment(chunk.skipped());
+            usersUpdatedCounter.increment(chunk.usersUpdated());
         }
-        log.info("Scheduled task to update user tiers completed.");
+        log.info("Scheduled task to update user tiers completed: {} clients scanned, {} updated.", progress.get(), updated);
     }
 }
@@ -0,0 +1,91 @@
+package com.yk.booking.web.filter;
+
+import com.yk.booking.management.StatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Counts the SQL statements issued while handling each request, to catch the endpoints lazily loading their data
+ * one row at a time.
+ * <p>
+ * The statements and their JDBC time are published by method and URI pattern, and requests issuing more than a
+ * threshold of statements are logged. The count can also be sent in the {@value #STATEMENT_COUNT_HEADER} header,
+ * which requires buffering the response until it is known.
+ */
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METER_NAME = "http.server.requests.statements";
+    public static final String JDBC_METER_NAME = "http.server.requests.jdbc";
+    public static final String STATEMENT_COUNT_HEADER = "X-Statement-Count";
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatementStatisticsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int warnThreshold;
+
+    private final boolean responseHeader;
+
+    public StatementStatisticsFilter(MeterRegistry meterRegistry, int warnThreshold, boolean responseHeader) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ContentCachingResponseWrapper bufferedResponse = responseHeader ? new ContentCachingResponseWrapper(response) : null;
+        StatementStatistics statistics = StatementStatistics.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            statistics.close();
+            record(request, statistics);
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(STATEMENT_COUNT_HEADER, Integer.toString(statistics.getStatements()));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .baseUnit("statements")
+            .description("SQL statements issued by a request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+        Timer.builder(JDBC_METER_NAME)
+            .description("Time spent by a request executing SQL statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        if (statistics.getStatements() > warnThreshold) {
+            LOG.warn(
+                "{} {} issued {} SQL statements in {} ms, above the threshold of {}",
+                request.getMethod(),
+                uri,
+                statistics.getStatements(),
+                TimeUnit.NANOSECONDS.toMillis(statistics.getJdbcNanos()),
+                warnThreshold
+            );
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.yk.booking.web.rest;
 import com.yk.booking.domain.User;
 import com.yk.booking.repository.UserRepository;
 import com.yk.booking.security.SecurityUtils;
+import com.yk.booking.service.BookingService;
 import com.yk.booking.service.MailService;
 import com.yk.booking.service.UserService;
 import com.yk.booking.service.dto.AdminUserDTO;
+import com.yk.booking.service.dto.BookingDTO;
 import com.yk.booking.service.dto.PasswordChangeDTO;
 import com.yk.booking.web.rest.errors.*;
 import com.yk.booking.web.rest.vm.KeyAndPasswordVM;
@@ -41,10 +43,13 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final BookingService bookingService;
+
+    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService, BookingService bookingService) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.bookingService = bookingService;
     }
 
     /**
@@ -93,6 +98,18 @@ public class AccountResource {
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
+    /**
+     * {@code GET  /account/bookings} : get the bookings of the current user.
+     *
+     * @return the bookings of the current user, most recent first.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the token carries no user id.
+     */
+    @GetMapping("/account/bookings")
+    public List<BookingDTO> getAccountBookings() {
+        Long userId = SecurityUtils.getCurrentUserId().orElseThrow(() -> new AccountResourceException("Current user id not found"));
+        return bookingService.findAllByUserId(userId);
+    }
+
     /**
      * {@code POST  /account} : update the current user information.
      *
@@ -5,9 +5,12 @@ import static com.yk.booking.security.SecurityUtils.JWT_ALGORITHM;
 import static com.yk.booking.security.SecurityUtils.USER_ID_CLAIM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.yk.booking.security.ClientAddressResolver;
 import com.yk.booking.security.DomainUserDetailsService.UserWithId;
-import com.yk.booking.service.MailService;
+import com.yk.booking.security.LoginRateLimiter;
+import com.yk.booking.service.LoginEventPipeline;
 import com.yk.booking.web.rest.vm.LoginVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
@@ -22,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
@@ -47,35 +51,50 @@ public class AuthenticateController {
     @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}")
     private long tokenValidityInSecondsForRememberMe;
 
-    public MailService mailService;
-
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
+    private final LoginEventPipeline loginEventPipeline;
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    private final ClientAddressResolver clientAddressResolver;
+
     public AuthenticateController(
         JwtEncoder jwtEncoder,
         AuthenticationManagerBuilder authenticationManagerBuilder,
-        MailService mailService
+        LoginEventPipeline loginEventPipeline,
+        LoginRateLimiter loginRateLimiter,
+        ClientAddressResolver clientAddressResolver
     ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
-        this.mailService = mailService;
+        this.loginEventPipeline = loginEventPipeline;
+        this.loginRateLimiter = loginRateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
+        // Refused before the password is verified, which is what makes guessing passwords expensive for the server
+        loginRateLimiter.acquire(loginVM.getUsername(), clientAddressResolver.resolve(request));
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        Authentication authentication;
+        try {
+            authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        } catch (AuthenticationException e) {
+            loginEventPipeline.loginFailed();
+            throw e;
+        }
+        loginEventPipeline.loginSucceeded(authentication.getName());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = this.createToken(authentication, loginVM.isRememberMe());
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setBearerAuth(jwt);
 
-        mailService.sendEmail(loginVM.getUsername(), "hi", "testing", false, false);
-
         return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
     }
 
@@ -1,8 +1,14 @@
 package com.yk.booking.web.rest;
 
+import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.BookingRepository;
+import com.yk.booking.security.AuthoritiesConstants;
+import com.yk.booking.service.BookingCursor;
 import com.yk.booking.service.BookingService;
+import com.yk.booking.service.criteria.BookingCriteria;
 import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.dto.BookingStatusResultDTO;
+import com.yk.booking.service.dto.BookingStatusUpdateDTO;
 import com.yk.booking.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -16,8 +22,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -32,6 +43,12 @@ public class BookingResource {
 
     private static final String ENTITY_NAME = "booking";
 
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -48,7 +65,8 @@ public class BookingResource {
      * {@code POST  /bookings} : Create a new booking.
      *
      * @param bookingDTO the bookingDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new bookingDTO, or with status {@code 400 (Bad Request)} if the booking has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new bookingDTO, or with status {@code 400 (Bad Request)} if the booking has already an ID,
+     * or with status {@code 409 (Conflict)} if the court is already booked for an overlapping time slot.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -133,14 +151,49 @@ public class BookingResource {
     }
 
     /**
-     * {@code GET  /bookings} : get all the bookings.
+     * {@code GET  /bookings} : get a slice of the bookings matching the criteria, newest first by booking date then id.
+     * <p>
+     * The {@code Link} header carries the URL of the next slice, whose {@code cursor} continues after the last booking returned.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookings in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the cursor returned with the previous slice, or none for the first slice.
+     * @param size the maximum number of bookings to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookings in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
      */
     @GetMapping("")
-    public List<BookingDTO> getAllBookings() {
-        LOG.debug("REST request to get all Bookings");
-        return bookingService.findAll();
+    public ResponseEntity<List<BookingDTO>> getAllBookings(
+        @org.springdoc.core.annotations.ParameterObject BookingCriteria criteria,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size
+    ) {
+        LOG.debug("REST request to get Bookings by criteria: {}", criteria);
+        BookingCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                after = BookingCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "invalidcursor");
+            }
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Slice<BookingDTO> slice = bookingService.findAfter(criteria, after, pageSize);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_TOTAL_COUNT, Long.toString(bookingService.countByCriteria(criteria)));
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("size", pageSize);
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            BookingDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String next = new BookingCursor(last.getBookingDate(), last.getId()).encode();
+            link.append(prepareLink(uriBuilder.cloneBuilder().replaceQueryParam("cursor", next), "next")).append(',');
+        }
+        link.append(prepareLink(uriBuilder.cloneBuilder().replaceQueryParam("cursor"), "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String relType) {
+        return "<" + uriBuilder.toUriString().replace(",", "%2C").replace(";", "%3B") + ">; rel=\"" + relType + "\"";
     }
 
     /**
@@ -203,6 +256,26 @@ public class BookingResource {
         );
     }
 
+    /**
+     * {@code POST  /bookings/bulk-status} : Approve or reject several pending bookings at once, for administrators only.
+     *
+     * @param bookingStatusUpdateDTO the ids of the bookings and their new status.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome for each id, or with status {@code 400 (Bad Request)} if the
+     * status is neither {@code APPROVED} nor {@code REJECTED}.
+     */
+    @PostMapping("/bulk-status")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<BookingStatusResultDTO>> updatePendingBookingStatus(
+        @Valid @RequestBody BookingStatusUpdateDTO bookingStatusUpdateDTO
+    ) {
+        LOG.debug("REST request to update the status of pending Bookings : {}", bookingStatusUpdateDTO);
+        BookingStatus status = bookingStatusUpdateDTO.getStatus();
+        if (status != BookingStatus.APPROVED && status != BookingStatus.REJECTED) {
+            throw new BadRequestAlertException("Pending bookings can only be approved or rejected", ENTITY_NAME, "invalidstatus");
+        }
+        return ResponseEntity.ok().body(bookingService.updatePendingStatus(bookingStatusUpdateDTO.getIds(), status));
+    }
+
     /**
      * {@code GET  /bookings/total-approved-revenue-for-date} : get the total approved revenue for a specific date.
      *
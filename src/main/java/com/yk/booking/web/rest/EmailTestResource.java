@@ -3,6 +3,7 @@ package com.yk.booking.web.rest;
 import com.yk.booking.domain.Booking;
 import com.yk.booking.repository.BookingRepository;
 import com.yk.booking.service.MailService;
+import com.yk.booking.service.dto.BookingNotification;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -106,7 +107,7 @@ public class EmailTestResource {
 
             // Send the email
             LOG.info("Attempting to send booking confirmation email...");
-            mailService.sendBookingConfirmationEmail(booking);
+            mailService.sendBookingNotification(BookingNotification.of(booking, BookingNotification.Kind.CONFIRMATION));
 
             response.put("status", "success");
             response.put(
@@ -14,8 +14,12 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -28,6 +32,10 @@ public class TimeSlotResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(TimeSlotResource.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private static final String ENTITY_NAME = "timeSlot";
 
     @Value("${jhipster.clientApp.name}")
@@ -132,18 +140,37 @@ public class TimeSlotResource {
 
     /**
      * {@code GET  /time-slots} : get all the timeSlots.
+     * <p>
+     * With {@code filter=booking-is-null}, only a slice of the timeSlots without a booking is returned, ordered by id. The {@code Link}
+     * header then carries the URL of the next slice, whose {@code afterId} continues after the last timeSlot returned.
      *
      * @param filter the filter of the request.
+     * @param afterId the id to continue after when filtering.
+     * @param size the maximum number of timeSlots to return when filtering.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of timeSlots in body.
      */
     @GetMapping("")
-    public List<TimeSlotDTO> getAllTimeSlots(@RequestParam(name = "filter", required = false) String filter) {
+    public ResponseEntity<List<TimeSlotDTO>> getAllTimeSlots(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "afterId", defaultValue = "0") long afterId,
+        @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size
+    ) {
         if ("booking-is-null".equals(filter)) {
-            LOG.debug("REST request to get all TimeSlots where booking is null");
-            return timeSlotService.findAllWhereBookingIsNull();
+            LOG.debug("REST request to get TimeSlots where booking is null after {}", afterId);
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            Slice<TimeSlotDTO> slice = timeSlotService.findAllWhereBookingIsNull(afterId, pageSize);
+            HttpHeaders headers = new HttpHeaders();
+            if (slice.hasNext()) {
+                Long lastId = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+                UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("size", pageSize)
+                    .replaceQueryParam("afterId", lastId);
+                headers.add(HttpHeaders.LINK, "<" + uriBuilder.toUriString() + ">; rel=\"next\"");
+            }
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
         }
         LOG.debug("REST request to get all TimeSlots");
-        return timeSlotService.findAll();
+        return ResponseEntity.ok().body(timeSlotService.findAll());
     }
 
     /**
@@ -12,6 +12,9 @@ public final class ErrorConstants {
     public static final URI INVALID_PASSWORD_TYPE = URI.create(PROBLEM_BASE_URL + "/invalid-password");
     public static final URI EMAIL_ALREADY_USED_TYPE = URI.create(PROBLEM_BASE_URL + "/email-already-used");
     public static final URI LOGIN_ALREADY_USED_TYPE = URI.create(PROBLEM_BASE_URL + "/login-already-used");
+    public static final URI BOOKING_CONFLICT_TYPE = URI.create(PROBLEM_BASE_URL + "/booking-conflict");
+    public static final URI BOOKING_STATUS_CONFLICT_TYPE = URI.create(PROBLEM_BASE_URL + "/booking-status-conflict");
+    public static final URI LOGIN_RATE_LIMITED_TYPE = URI.create(PROBLEM_BASE_URL + "/login-rate-limited");
 
     private ErrorConstants() {}
 }
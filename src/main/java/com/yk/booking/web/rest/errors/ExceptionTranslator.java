@@ -93,6 +93,21 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             .getBody();
         if (ex instanceof com.yk.booking.service.InvalidPasswordException) return (ProblemDetailWithCause) new InvalidPasswordException()
             .getBody();
+        if (ex instanceof com.yk.booking.service.BookingConflictException) return (ProblemDetailWithCause) new ConflictAlertException(
+            ErrorConstants.BOOKING_CONFLICT_TYPE,
+            ex.getMessage(),
+            "booking",
+            "bookingconflict"
+        ).getBody();
+        if (ex instanceof com.yk.booking.service.BookingTransitionException) return (ProblemDetailWithCause) new ConflictAlertException(
+            ErrorConstants.BOOKING_STATUS_CONFLICT_TYPE,
+            ex.getMessage(),
+            "booking",
+            "bookingstatusconflict"
+        ).getBody();
+        if (
+            ex instanceof com.yk.booking.security.LoginRateLimitedException
+        ) return (ProblemDetailWithCause) new TooManyLoginAttemptsException().getBody();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
@@ -225,6 +240,13 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof com.yk.booking.security.LoginRateLimitedException loginRateLimitedException) {
+            HttpHeaders headers = new HttpHeaders();
+            // Rounded up, as retrying any earlier would be refused again
+            long retryAfterSeconds = (loginRateLimitedException.getRetryAfter().toMillis() + 999) / 1000;
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
@@ -0,0 +1,24 @@
+package com.yk.booking.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class TooManyLoginAttemptsException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyLoginAttemptsException() {
+        super(
+            HttpStatus.TOO_MANY_REQUESTS,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.TOO_MANY_REQUESTS.value())
+                .withType(ErrorConstants.LOGIN_RATE_LIMITED_TYPE)
+                .withTitle("Too many login attempts")
+                .withProperty("message", "error.loginratelimited")
+                .build(),
+            null
+        );
+    }
+}
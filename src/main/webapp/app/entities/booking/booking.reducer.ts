@@ -1,6 +1,5 @@
 import axios from 'axios';
 import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
-import { ASC } from 'app/shared/util/pagination.constants';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
 import { IBooking, defaultValue } from 'app/shared/model/booking.model';
@@ -18,10 +17,36 @@ const apiUrl = 'api/bookings';
 
 // Actions
 
+export interface IBookingQueryParams extends IQueryParams {
+  cursor?: string;
+  status?: string;
+  courtId?: number;
+  sportId?: number;
+  userId?: number;
+  from?: string;
+  to?: string;
+}
+
 export const getEntities = createAsyncThunk(
   'booking/fetch_entity_list',
-  async ({ sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+  async ({ cursor, size, status, courtId, sportId, userId, from, to }: IBookingQueryParams) => {
+    const requestUrl = `${apiUrl}?cacheBuster=${new Date().getTime()}`;
+    return axios.get<IBooking[]>(requestUrl, { params: { cursor, size, status, courtId, sportId, userId, from, to } });
+  },
+  { serializeError: serializeAxiosError },
+);
+
+// The next slice is addressed by the cursor carried in the rel="next" link
+const parseNextCursor = (link?: string): string | undefined => {
+  const next = link?.split(',').find(part => part.includes('rel="next"'));
+  const match = next?.match(/[?&]cursor=([^&>]*)/);
+  return match ? decodeURIComponent(match[1]) : undefined;
+};
+
+export const getAccountBookings = createAsyncThunk(
+  'booking/fetch_account_entity_list',
+  async () => {
+    const requestUrl = `api/account/bookings?cacheBuster=${new Date().getTime()}`;
     return axios.get<IBooking[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -77,24 +102,21 @@ export const deleteEntity = createAsyncThunk(
   { serializeError: serializeAxiosError },
 );
 
+// Unlike the other updates, these leave the reloading to the screen, which knows the filter of its listing
 export const approveBooking = createAsyncThunk(
   'booking/approve_booking',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}/approve`;
-    const result = await axios.put<IBooking>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+    return axios.put<IBooking>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
 
 export const rejectBooking = createAsyncThunk(
   'booking/reject_booking',
-  async (id: string | number, thunkAPI) => {
+  async (id: string | number) => {
     const requestUrl = `${apiUrl}/${id}/reject`;
-    const result = await axios.put<IBooking>(requestUrl);
-    thunkAPI.dispatch(getEntities({}));
-    return result;
+    return axios.put<IBooking>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
@@ -110,25 +132,26 @@ export const BookingSlice = createEntitySlice({
         state.loading = false;
         state.entity = action.payload.data;
       })
+      .addCase(getAccountBookings.fulfilled, (state, action) => {
+        state.loading = false;
+        state.entities = action.payload.data;
+        state.links = undefined;
+        state.totalItems = action.payload.data.length;
+      })
       .addCase(deleteEntity.fulfilled, state => {
         state.updating = false;
         state.updateSuccess = true;
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
-
+        const { data, headers } = action.payload;
+        // The slices come newest first, each one following the previous one
         return {
           ...state,
           loading: false,
-          entities: data.sort((a, b) => {
-            if (!action.meta?.arg?.sort) {
-              return 1;
-            }
-            const order = action.meta.arg.sort.split(',')[1];
-            const predicate = action.meta.arg.sort.split(',')[0];
-            return order === ASC ? (a[predicate] < b[predicate] ? -1 : 1) : b[predicate] < a[predicate] ? -1 : 1;
-          }),
+          links: headers ? { next: parseNextCursor(headers.link) } : undefined,
+          totalItems: headers ? parseInt(headers['x-total-count'], 10) : undefined,
+          entities: action.meta?.arg?.cursor ? [...state.entities, ...data] : data,
         };
       })
       .addMatcher(isFulfilled(createEntity, updateEntity, partialUpdateEntity, approveBooking, rejectBooking), (state, action) => {
@@ -137,7 +160,7 @@ export const BookingSlice = createEntitySlice({
         state.updateSuccess = true;
         state.entity = action.payload.data;
       })
-      .addMatcher(isPending(getEntities, getEntity), state => {
+      .addMatcher(isPending(getEntities, getAccountBookings, getEntity), state => {
         state.errorMessage = null;
         state.updateSuccess = false;
         state.loading = true;
@@ -1,12 +1,10 @@
-import React, { useEffect, useState } from 'react';
-import { Link, useLocation, useNavigate } from 'react-router-dom';
+import React, { useEffect } from 'react';
+import { Link } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { TextFormat, Translate, getSortState } from 'react-jhipster';
+import { TextFormat, Translate } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
-import { faSort, faSortDown, faSortUp } from '@fortawesome/free-solid-svg-icons';
 import { APP_DATE_FORMAT } from 'app/config/constants';
-import { ASC, DESC } from 'app/shared/util/pagination.constants';
-import { overrideSortStateWithQueryParams } from 'app/shared/util/entity-utils';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
 import { getEntities } from './booking.reducer';
@@ -14,53 +12,25 @@ import { getEntities } from './booking.reducer';
 export const Booking = () => {
   const dispatch = useAppDispatch();
 
-  const pageLocation = useLocation();
-  const navigate = useNavigate();
-
-  const [sortState, setSortState] = useState(overrideSortStateWithQueryParams(getSortState(pageLocation, 'id'), pageLocation.search));
-
   const bookingList = useAppSelector(state => state.booking.entities);
   const loading = useAppSelector(state => state.booking.loading);
+  const nextCursor = useAppSelector(state => state.booking.links?.next);
 
+  // The listing is served newest first, one slice at a time, and cannot be sorted otherwise
   const getAllEntities = () => {
-    dispatch(
-      getEntities({
-        sort: `${sortState.sort},${sortState.order}`,
-      }),
-    );
+    dispatch(getEntities({ size: ITEMS_PER_PAGE }));
   };
 
-  const sortEntities = () => {
-    getAllEntities();
-    const endURL = `?sort=${sortState.sort},${sortState.order}`;
-    if (pageLocation.search !== endURL) {
-      navigate(`${pageLocation.pathname}${endURL}`);
-    }
+  const loadMore = () => {
+    dispatch(getEntities({ cursor: nextCursor, size: ITEMS_PER_PAGE }));
   };
 
   useEffect(() => {
-    sortEntities();
-  }, [sortState.order, sortState.sort]);
-
-  const sort = p => () => {
-    setSortState({
-      ...sortState,
-      order: sortState.order === ASC ? DESC : ASC,
-      sort: p,
-    });
-  };
+    getAllEntities();
+  }, []);
 
   const handleSyncList = () => {
-    sortEntities();
-  };
-
-  const getSortIconByFieldName = (fieldName: string) => {
-    const sortFieldName = sortState.sort;
-    const order = sortState.order;
-    if (sortFieldName !== fieldName) {
-      return faSort;
-    }
-    return order === ASC ? faSortUp : faSortDown;
+    getAllEntities();
   };
 
   return (
@@ -84,19 +54,17 @@ export const Booking = () => {
           <Table responsive>
             <thead>
               <tr>
-                <th className="hand" onClick={sort('id')}>
-                  <Translate contentKey="ykApp.booking.id">ID</Translate> <FontAwesomeIcon icon={getSortIconByFieldName('id')} />
+                <th>
+                  <Translate contentKey="ykApp.booking.id">ID</Translate>
                 </th>
-                <th className="hand" onClick={sort('bookingDate')}>
-                  <Translate contentKey="ykApp.booking.bookingDate">Booking Date</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('bookingDate')} />
+                <th>
+                  <Translate contentKey="ykApp.booking.bookingDate">Booking Date</Translate>
                 </th>
-                <th className="hand" onClick={sort('status')}>
-                  <Translate contentKey="ykApp.booking.status">Status</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('status')} />
+                <th>
+                  <Translate contentKey="ykApp.booking.status">Status</Translate>
                 </th>
                 <th>
-                  <Translate contentKey="ykApp.booking.timeSlot">Time Slot</Translate> <FontAwesomeIcon icon="sort" />
+                  <Translate contentKey="ykApp.booking.timeSlot">Time Slot</Translate>
                 </th>
                 <th />
               </tr>
@@ -152,6 +120,13 @@ export const Booking = () => {
             </div>
           )
         )}
+        {nextCursor && (
+          <div className="text-center">
+            <Button color="secondary" onClick={loadMore} disabled={loading} data-cy="loadMoreButton">
+              <Translate contentKey="entity.action.loadMore">Load more</Translate>
+            </Button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -1,12 +1,13 @@
-import React, { useEffect, useMemo } from 'react';
+import React, { useEffect, useMemo, useState } from 'react';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 import { getEntities, approveBooking, rejectBooking } from 'app/entities/booking/booking.reducer';
 
-import { Table, Button } from 'reactstrap';
+import { Table, Button, Input } from 'reactstrap';
 import { Link } from 'react-router-dom';
 import { Translate } from 'react-jhipster';
 import dayjs from 'dayjs';
 import { IBooking } from 'app/shared/model/booking.model';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 
 interface GroupedBooking {
   groupKey: string;
@@ -27,10 +28,13 @@ const ManageBookings = () => {
   const loading = useAppSelector(state => state.booking.loading);
   const error = useAppSelector(state => state.booking.errorMessage);
   const updateSuccess = useAppSelector(state => state.booking.updateSuccess);
+  const nextCursor = useAppSelector(state => state.booking.links?.next);
+  // The bookings awaiting a decision by default, newest first, an empty status listing them all
+  const [status, setStatus] = useState('PENDING');
 
   useEffect(() => {
-    dispatch(getEntities({}));
-  }, [dispatch, updateSuccess]);
+    dispatch(getEntities({ status: status || undefined, size: ITEMS_PER_PAGE }));
+  }, [dispatch, updateSuccess, status]);
 
   // Handle approval of all bookings in a group
   const handleGroupApproval = (group: GroupedBooking) => {
@@ -91,6 +95,21 @@ const ManageBookings = () => {
       <h2>
         <Translate contentKey="ykApp.booking.home.title">Manage Bookings</Translate>
       </h2>
+      <div className="d-flex justify-content-end mb-3">
+        <Input
+          type="select"
+          className="w-auto"
+          value={status}
+          onChange={event => setStatus(event.target.value)}
+          disabled={loading}
+          data-cy="statusFilter"
+        >
+          <option value="PENDING">Pending</option>
+          <option value="APPROVED">Approved</option>
+          <option value="REJECTED">Rejected</option>
+          <option value="">All</option>
+        </Input>
+      </div>
 
       {loading && <p>Loading bookings...</p>}
       {error && <p className="text-danger">{error}</p>}
@@ -217,6 +236,18 @@ const ManageBookings = () => {
           </tbody>
         </Table>
       )}
+      {nextCursor && (
+        <div className="text-center">
+          <Button
+            color="secondary"
+            onClick={() => dispatch(getEntities({ cursor: nextCursor, status: status || undefined, size: ITEMS_PER_PAGE }))}
+            disabled={loading}
+            data-cy="loadMoreButton"
+          >
+            <Translate contentKey="entity.action.loadMore">Load more</Translate>
+          </Button>
+        </div>
+      )}
     </div>
   );
 };
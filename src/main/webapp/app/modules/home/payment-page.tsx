@@ -78,9 +78,11 @@ const PaymentPage = () => {
         // Find the booking for this slot
         const bookingsResponse = await axios.get(`/api/bookings`, {
           params: {
-            'user.id.equals': currentUser.id,
-            'bookingDate.equals': bookingDate.toISOString(),
-            'status.equals': 'PENDING',
+            userId: currentUser.id,
+            status: 'PENDING',
+            from: bookingDate.toISOString(),
+            to: new Date(bookingDate.getTime() + 1).toISOString(),
+            size: 1,
           },
         });
 
@@ -1,10 +1,10 @@
 import React, { useEffect } from 'react';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
-import { getEntities } from 'app/entities/booking/booking.reducer';
+import { getAccountBookings } from 'app/entities/booking/booking.reducer';
 import { Table, Button } from 'reactstrap';
 import { Link } from 'react-router-dom';
 import { Translate } from 'react-jhipster';
-import { format } from 'date-fns';
+import dayjs from 'dayjs';
 
 const MyBookings = () => {
   const dispatch = useAppDispatch();
@@ -13,7 +13,7 @@ const MyBookings = () => {
   const error = useAppSelector(state => state.booking.errorMessage);
 
   useEffect(() => {
-    dispatch(getEntities({}));
+    dispatch(getAccountBookings());
   }, [dispatch]);
 
   return (
@@ -59,12 +59,12 @@ const MyBookings = () => {
                 <td>
                   <Link to={`/booking/${booking.id}`}>{booking.id}</Link>
                 </td>
-                <td>{booking.court?.sport?.name || 'N/A'}</td>
-                <td>{booking.court?.name || 'N/A'}</td>
-                <td>{booking.startTime ? format(new Date(booking.startTime), 'yyyy-MM-dd') : 'N/A'}</td>
+                <td>{booking.timeSlot?.court?.sport?.name || 'N/A'}</td>
+                <td>{booking.timeSlot?.court?.name || 'N/A'}</td>
+                <td>{booking.timeSlot?.startTime ? dayjs(booking.timeSlot.startTime).format('YYYY-MM-DD') : 'N/A'}</td>
                 <td>
-                  {booking.startTime && booking.endTime
-                    ? `${format(new Date(booking.startTime), 'HH:mm')} - ${format(new Date(booking.endTime), 'HH:mm')}`
+                  {booking.timeSlot?.startTime && booking.timeSlot?.endTime
+                    ? `${dayjs(booking.timeSlot.startTime).format('HH:mm')} - ${dayjs(booking.timeSlot.endTime).format('HH:mm')}`
                     : 'N/A'}
                 </td>
                 <td>{booking.payment?.status || 'N/A'}</td>
@@ -6,15 +6,19 @@ import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faCheck, faTimes } from '@fortawesome/free-solid-svg-icons';
 import { Translate, TextFormat } from 'react-jhipster';
 import { APP_DATE_FORMAT } from 'app/config/constants';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 
 const ManageBookings = () => {
   const dispatch = useAppDispatch();
   const bookingList = useAppSelector(state => state.booking.entities);
   const loading = useAppSelector(state => state.booking.loading);
+  const nextCursor = useAppSelector(state => state.booking.links?.next);
+  const updateSuccess = useAppSelector(state => state.booking.updateSuccess);
 
+  // Only the bookings awaiting a decision, newest first
   useEffect(() => {
-    dispatch(getEntities({}));
-  }, []);
+    dispatch(getEntities({ status: 'PENDING', size: ITEMS_PER_PAGE }));
+  }, [updateSuccess]);
 
   const handleApprove = id => () => {
     dispatch(approveBooking(id));
@@ -91,6 +95,18 @@ const ManageBookings = () => {
             </div>
           )
         )}
+        {nextCursor && (
+          <div className="text-center">
+            <Button
+              color="secondary"
+              onClick={() => dispatch(getEntities({ cursor: nextCursor, status: 'PENDING', size: ITEMS_PER_PAGE }))}
+              disabled={loading}
+              data-cy="loadMoreButton"
+            >
+              <Translate contentKey="entity.action.loadMore">Load more</Translate>
+            </Button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -8,6 +8,7 @@ export interface IBooking {
   id?: number;
   bookingDate?: dayjs.Dayjs;
   status?: keyof typeof BookingStatus;
+  version?: number | null;
   timeSlot?: ITimeSlot | null;
   user?: IUser | null;
   payment?: IPayment | null;
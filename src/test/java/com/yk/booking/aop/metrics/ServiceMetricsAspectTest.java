@@ -0,0 +1,101 @@
+package com.yk.booking.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Unit tests for {@link ServiceMetricsAspect}.
+ */
+class ServiceMetricsAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldCountAndTimeCalls() {
+        PricingService service = proxy(1.0, List.of("*"), List.of());
+
+        service.price(3);
+        service.price(4);
+        assertThatThrownBy(() -> service.price(-1)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(calls("price", "success", "none")).isEqualTo(2);
+        assertThat(calls("price", "error", "IllegalArgumentException")).isEqualTo(1);
+        assertThat(
+            meterRegistry
+                .get(ServiceMetricsAspect.TIMER_METER_NAME)
+                .tags("class", "PricingService", "method", "price", "outcome", "success")
+                .timer()
+                .count()
+        ).isEqualTo(2);
+        assertThat(
+            meterRegistry.get(ServiceMetricsAspect.TIMER_METER_NAME).tags("method", "price", "outcome", "error").timer().count()
+        ).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyTimeTheSampledCalls() {
+        PricingService service = proxy(0.0, List.of("*"), List.of());
+
+        service.price(3);
+
+        assertThat(calls("price", "success", "none")).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetricsAspect.TIMER_METER_NAME).tag("method", "price").timer().count()).isZero();
+    }
+
+    @Test
+    void shouldOnlyMeasureIncludedMethods() {
+        PricingService service = proxy(1.0, List.of("PricingService.*"), List.of("*.discount"));
+
+        service.price(3);
+        service.discount(3);
+
+        assertThat(calls("price", "success", "none")).isEqualTo(1);
+        assertThat(meterRegistry.find(ServiceMetricsAspect.CALLS_METER_NAME).tag("method", "discount").counter()).isNull();
+
+        PricingService notIncluded = proxy(1.0, List.of("BookingService.*"), List.of());
+        notIncluded.price(3);
+        assertThat(calls("price", "success", "none")).isEqualTo(1);
+    }
+
+    private PricingService proxy(double sampleRate, List<String> include, List<String> exclude) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PricingService());
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry, sampleRate, include, exclude));
+        return factory.getProxy();
+    }
+
+    private double calls(String method, String outcome, String exception) {
+        return meterRegistry
+            .get(ServiceMetricsAspect.CALLS_METER_NAME)
+            .tags("class", "PricingService", "method", method, "outcome", outcome, "exception", exception)
+            .counter()
+            .count();
+    }
+
+    @Service
+    static class PricingService {
+
+        public int price(int hours) {
+            if (hours < 0) {
+                throw new IllegalArgumentException("Negative duration");
+            }
+            return hours * 10;
+        }
+
+        public int discount(int hours) {
+            return hours;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.yk.booking.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yk.booking.domain.Authority;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.User;
+import com.yk.booking.repository.UserRepository;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.management.ObjectName;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private String cacheManagerId;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        applicationProperties = new ApplicationProperties();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManagerId = UUID.randomUUID().toString();
+        cacheManager = provider.getCacheManager(
+            URI.create("urn:cache-configuration-test:" + cacheManagerId),
+            new DefaultConfiguration(getClass().getClassLoader())
+        );
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldSizeAndExpireRegionsAsConfigured() {
+        ApplicationProperties.Cache.Region users = region("users-by-login");
+        users.setHeapEntries(10L);
+        users.setOffHeapSize(DataSize.ofMegabytes(1));
+        users.setTimeToLive(Duration.ofHours(1));
+        region("court").setHeapSize(DataSize.ofKilobytes(512));
+
+        customize();
+
+        CacheRuntimeConfiguration<Object, Object> usersConfiguration = runtimeConfiguration(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(usersConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(usersConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(
+            DataSize.ofMegabytes(1).toBytes()
+        );
+        assertThat(usersConfiguration.getExpiryPolicy().getExpiryForCreation("login", "user")).isEqualTo(Duration.ofHours(1));
+        assertThat(
+            runtimeConfiguration(Court.class.getName()).getResourcePools().getPoolForResource(ResourceType.Core.HEAP)
+        ).satisfies(pool -> {
+            assertThat(pool.getSize()).isEqualTo(DataSize.ofKilobytes(512).toBytes());
+            assertThat(pool.getUnit()).isEqualTo(MemoryUnit.B);
+        });
+        // Unconfigured regions fall back to the JHipster defaults
+        CacheRuntimeConfiguration<Object, Object> sportConfiguration = runtimeConfiguration(Sport.class.getName());
+        assertThat(sportConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(
+            new JHipsterProperties().getCache().getEhcache().getMaxEntries()
+        );
+        assertThat(sportConfiguration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+    }
+
+    @Test
+    void shouldStoreOffHeapEntriesSerialized() {
+        ApplicationProperties.Cache.Region users = region("users-by-login");
+        users.setHeapEntries(1L);
+        users.setOffHeapSize(DataSize.ofMegabytes(1));
+        customize();
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setLogin("user-" + i);
+            user.setAuthorities(Set.of(new Authority().name("ROLE_USER")));
+            cache.put(user.getLogin(), user);
+        }
+
+        // Only one user fits on heap, the others are read back from the off-heap tier
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get("user-" + i)).isInstanceOfSatisfying(User.class, user ->
+                assertThat(user.getAuthorities()).extracting(Authority::getName).containsExactly("ROLE_USER")
+            );
+        }
+    }
+
+    @Test
+    void shouldNeverExpireUpdateTimestamps() {
+        region("update-timestamps").setTimeToLive(Duration.ofSeconds(1));
+        customize();
+
+        assertThat(runtimeConfiguration(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME).getExpiryPolicy()).isSameAs(
+            ExpiryPolicy.NO_EXPIRY
+        );
+    }
+
+    @Test
+    void shouldEnableStatistics() throws Exception {
+        customize();
+
+        // Statistics are read by Micrometer through the JCache statistics MBean of each cache
+        Set<ObjectName> statistics = ManagementFactory.getPlatformMBeanServer().queryNames(
+            new ObjectName("javax.cache:type=CacheStatistics,*"),
+            null
+        );
+        assertThat(statistics)
+            .filteredOn(name -> name.getKeyProperty("CacheManager").contains(cacheManagerId))
+            .extracting(name -> name.getKeyProperty("Cache"))
+            .containsExactlyInAnyOrderElementsOf(cacheManager.getCacheNames());
+    }
+
+    @Test
+    void shouldRejectConflictingSettings() {
+        region("sport").setHeapEntries(10L);
+        region("sport").setHeapSize(DataSize.ofKilobytes(1));
+        assertThatThrownBy(this::customize).isInstanceOf(IllegalStateException.class).hasMessageContaining("sport");
+
+        region("sport").setHeapSize(null);
+        region("sport").setTimeToLive(Duration.ofMinutes(1));
+        region("sport").setTimeToIdle(Duration.ofMinutes(1));
+        assertThatThrownBy(this::customize).isInstanceOf(IllegalStateException.class).hasMessageContaining("sport");
+    }
+
+    private ApplicationProperties.Cache.Region region(String name) {
+        return applicationProperties.getCache().getRegions().computeIfAbsent(name, key -> new ApplicationProperties.Cache.Region());
+    }
+
+    private void customize() {
+        new CacheConfiguration(new JHipsterProperties(), applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<Object, Object> runtimeConfiguration(String cacheName) {
+        return cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class).getRuntimeConfiguration();
+    }
+}
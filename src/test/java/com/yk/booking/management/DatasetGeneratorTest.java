@@ -0,0 +1,132 @@
+package com.yk.booking.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.yk.booking.config.ApplicationProperties;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import liquibase.integration.spring.SpringLiquibase;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Unit tests for {@link DatasetGenerator}, against the schema of the Liquibase changelog.
+ */
+class DatasetGeneratorTest {
+
+    private JdbcDataSource h2;
+
+    private ApplicationProperties.Dataset dataset;
+
+    private DatasetGenerator generator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(h2);
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts("test");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        dataset = new ApplicationProperties.Dataset();
+        dataset.setSports(2);
+        dataset.setCourts(10);
+        dataset.setUsers(50);
+        dataset.setTimeSlots(1_000);
+        dataset.setBookings(600);
+        dataset.setBatchSize(64);
+        AtomicLong references = new AtomicLong();
+        generator = new DatasetGenerator(h2, dataset, () -> String.format("%08d", references.incrementAndGet()), "hash");
+    }
+
+    @Test
+    void shouldGenerateTheDatasetNextToTheExistingRows() throws SQLException {
+        long users = count("SELECT COUNT(*) FROM jhi_user");
+
+        assertThat(generator.generate()).hasValueSatisfying(generated -> {
+            assertThat(generated.timeSlots()).isEqualTo(1_000);
+            assertThat(generated.bookings()).isBetween(500L, 700L);
+        });
+
+        assertThat(count("SELECT COUNT(*) FROM sport")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM court")).isEqualTo(10);
+        assertThat(count("SELECT COUNT(*) FROM jhi_user")).isEqualTo(users + 50);
+        assertThat(
+            count("SELECT COUNT(*) FROM jhi_user u JOIN jhi_user_authority a ON a.user_id = u.id WHERE u.login LIKE 'dataset-%'")
+        ).isEqualTo(50);
+        assertThat(count("SELECT COUNT(*) FROM time_slot")).isEqualTo(1_000);
+        assertThat(count("SELECT COUNT(*) FROM booking b JOIN payment p ON p.id = b.payment_id WHERE b.user_id = p.user_id")).isEqualTo(
+            count("SELECT COUNT(*) FROM booking")
+        );
+        assertThat(count("SELECT COUNT(*) FROM time_slot WHERE HOUR(start_time) < 8 OR HOUR(start_time) >= 22")).isZero();
+        // The ids of the identity columns continue after the generated rows
+        execute("INSERT INTO sport (name) VALUES ('Badminton')");
+        assertThat(count("SELECT MAX(id) FROM sport")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSkewTheBookingsOverCourtsAndUsers() throws SQLException {
+        dataset.setCourtSkew(1.5);
+        dataset.setUserSkew(1.5);
+
+        generator.generate();
+
+        // The most popular court is fully booked
+        assertThat(count("SELECT COUNT(*) FROM booking b JOIN time_slot t ON t.id = b.time_slot_id WHERE t.court_id = 1")).isEqualTo(
+            count("SELECT COUNT(*) FROM time_slot WHERE court_id = 1")
+        );
+        long firstUserId = count("SELECT MIN(id) FROM jhi_user WHERE login LIKE 'dataset-%'");
+        assertThat(count("SELECT COUNT(*) FROM booking WHERE user_id = " + firstUserId)).isGreaterThan(
+            count("SELECT COUNT(*) FROM booking WHERE user_id > " + (firstUserId + 24))
+        );
+    }
+
+    @Test
+    void shouldNotGenerateTheDatasetTwice() throws SQLException {
+        assertThat(generator.generate()).isPresent();
+        execute("DELETE FROM booking");
+
+        assertThat(generator.generate()).isEmpty();
+        assertThat(count("SELECT COUNT(*) FROM court")).isEqualTo(10);
+    }
+
+    @Test
+    void shouldSpreadTheBookingsOfTheFullyBookedCourtsOverTheOthers() {
+        double[] cumulative = new double[] { 8, 12, 14, 15 };
+
+        double[] booked = DatasetGenerator.booked(cumulative, 2.5);
+
+        assertThat(booked[0]).isEqualTo(1);
+        assertThat(Arrays.stream(booked).sum()).isCloseTo(2.5, within(1e-9));
+        assertThat(booked[1]).isCloseTo(4 * booked[3], within(1e-9));
+        assertThat(DatasetGenerator.booked(cumulative, 5)).containsOnly(1);
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            for (String each : sql) {
+                statement.execute(each);
+            }
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet result = statement.executeQuery(sql)) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.yk.booking.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SlowQueryRecorder}.
+ */
+class SlowQueryRecorderTest {
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE booking (id BIGINT PRIMARY KEY, status VARCHAR(20))");
+            statement.execute("CREATE INDEX idx_booking_status ON booking (status)");
+            statement.execute("CREATE TABLE jhi_user (id BIGINT PRIMARY KEY, email VARCHAR(100))");
+        }
+    }
+
+    @Test
+    void shouldRecordSlowQueriesWithBindsCallerAndPlan() throws SQLException {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, true, true, "com.yk.booking.management");
+
+        countBookings(proxy(recorder), "APPROVED");
+
+        assertThat(recorder.getSlowQueries()).singleElement().satisfies(slowQuery -> {
+            assertThat(slowQuery.sql()).isEqualTo("SELECT COUNT(*) FROM booking WHERE status = ?");
+            assertThat(slowQuery.binds()).containsExactly("1=APPROVED");
+            assertThat(slowQuery.batchSize()).isZero();
+            assertThat(slowQuery.caller()).isEqualTo("SlowQueryRecorderTest.countBookings");
+            assertThat(slowQuery.plan()).startsWith("PLAN").contains("IDX_BOOKING_STATUS");
+        });
+    }
+
+    @Test
+    void shouldOnlyRecordQueriesOverTheThreshold() throws SQLException {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ofMinutes(1), 10, false, true, "com.yk.booking.service");
+
+        countBookings(proxy(recorder), "APPROVED");
+
+        assertThat(recorder.getSlowQueries()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTheLastQueries() throws SQLException {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 3, false, true, "com.yk.booking.service");
+        DataSource dataSource = proxy(recorder);
+
+        for (int i = 0; i < 5; i++) {
+            countBookings(dataSource, "STATUS-" + i);
+        }
+
+        assertThat(recorder.getSlowQueries())
+            .extracting(slowQuery -> slowQuery.binds().get(0))
+            .containsExactly("1=STATUS-4", "1=STATUS-3", "1=STATUS-2");
+        assertThat(recorder.getSlowQueries()).allSatisfy(slowQuery -> {
+            assertThat(slowQuery.caller()).isNull();
+            assertThat(slowQuery.plan()).isNull();
+        });
+
+        recorder.clear();
+        assertThat(recorder.getSlowQueries()).isEmpty();
+    }
+
+    @Test
+    void shouldMaskTheBindsUnlessTheirValuesAreEnabled() throws SQLException {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, false, false, "com.yk.booking.service");
+
+        countBookings(proxy(recorder), "APPROVED");
+
+        assertThat(recorder.getSlowQueries()).singleElement().satisfies(slowQuery ->
+            assertThat(slowQuery.binds()).containsExactly("1=String(8)")
+        );
+    }
+
+    @Test
+    void shouldNeverKeepTheBindValuesOfSensitiveTables() throws SQLException {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 10, false, true, "com.yk.booking.service");
+
+        try (
+            Connection connection = proxy(recorder).getConnection();
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO jhi_user (id, email) VALUES (?, ?)")
+        ) {
+            statement.setLong(1, 1);
+            statement.setString(2, "alice@localhost");
+            statement.executeUpdate();
+        }
+
+        assertThat(recorder.getSlowQueries()).singleElement().satisfies(slowQuery ->
+            assertThat(slowQuery.binds()).containsExactly("1=Long", "2=String(15)")
+        );
+    }
+
+    private DataSource proxy(SlowQueryRecorder recorder) {
+        return ProxyDataSourceBuilder.create("test", h2).listener(recorder).build();
+    }
+
+    private static long countBookings(DataSource dataSource, String status) throws SQLException {
+        try (
+            Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM booking WHERE status = ?")
+        ) {
+            statement.setString(1, status);
+            try (ResultSet count = statement.executeQuery()) {
+                count.next();
+                return count.getLong(1);
+            }
+        }
+    }
+}
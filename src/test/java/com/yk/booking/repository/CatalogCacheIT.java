@@ -0,0 +1,100 @@
+package com.yk.booking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.ClientTier;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Sport;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the second level and query caching of the catalog: each repository call below runs in its
+ * own transaction, so only the caches can spare a statement.
+ */
+@IntegrationTest
+class CatalogCacheIT {
+
+    private static final String TIER_NAME = "CACHED";
+
+    @Autowired
+    private SportRepository sportRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private ClientTierRepository clientTierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Sport sport;
+
+    private Court court;
+
+    private ClientTier clientTier;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        sport = sportRepository.saveAndFlush(new Sport().name("cached-sport"));
+        court = courtRepository.saveAndFlush(new Court().name("cached-court").sport(sport));
+        clientTier = clientTierRepository.saveAndFlush(new ClientTier().tierName(TIER_NAME).discountPercentage(BigDecimal.TEN));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        courtRepository.deleteAll(courtRepository.findBySport(sport));
+        sportRepository.delete(sport);
+        clientTierRepository.delete(clientTier);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findAllCourtsIsServedFromCacheOnceLoaded() {
+        courtRepository.findAll();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(courtRepository.findAll()).filteredOn(c -> c.getId().equals(court.getId())).singleElement().satisfies(c -> {
+            assertThat(c.getName()).isEqualTo("cached-court");
+            assertThat(c.getSport().getName()).isEqualTo("cached-sport");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllCourtsSeesChangedCourts() {
+        courtRepository.findAll();
+        Court other = courtRepository.saveAndFlush(new Court().name("other-court").sport(sport));
+        sportRepository.saveAndFlush(sport.name("renamed-sport"));
+
+        assertThat(courtRepository.findAll())
+            .filteredOn(c -> c.getSport() != null && c.getSport().getId().equals(sport.getId()))
+            .extracting(Court::getId)
+            .containsExactlyInAnyOrder(court.getId(), other.getId());
+        assertThat(courtRepository.findById(court.getId())).get().extracting(c -> c.getSport().getName()).isEqualTo("renamed-sport");
+    }
+
+    @Test
+    void findByTierNameIsServedFromCacheOnceLoaded() {
+        clientTierRepository.findByTierName(TIER_NAME);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(clientTierRepository.findByTierName(TIER_NAME)).get().extracting(ClientTier::getId).isEqualTo(clientTier.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+}
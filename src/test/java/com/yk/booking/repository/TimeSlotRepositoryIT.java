@@ -0,0 +1,103 @@
+package com.yk.booking.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.TimeSlotRepository.BookedTimeSlot;
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the availability query of {@link TimeSlotRepository}.
+ */
+@IntegrationTest
+@Transactional
+class TimeSlotRepositoryIT {
+
+    private static final Instant DAY_START = Instant.parse("2025-11-20T00:00:00Z");
+
+    private static final int COURTS = 5;
+
+    private static final int SLOTS_PER_COURT = 40;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Court court;
+
+    @BeforeEach
+    void seed() {
+        for (int c = 0; c < COURTS; c++) {
+            Court seededCourt = new Court().name("court-" + c);
+            em.persist(seededCourt);
+            if (c == 0) {
+                court = seededCourt;
+            }
+            for (int s = 0; s < SLOTS_PER_COURT; s++) {
+                // Two slots an hour over 20 hours, every third one left pending
+                Instant start = DAY_START.plus(30L * s, ChronoUnit.MINUTES);
+                TimeSlot timeSlot = new TimeSlot().startTime(start).endTime(start.plus(30, ChronoUnit.MINUTES)).court(seededCourt);
+                em.persist(timeSlot);
+                BookingStatus status = s % 3 == 0 ? BookingStatus.PENDING : BookingStatus.APPROVED;
+                em.persist(new Booking().bookingDate(start).status(status).timeSlot(timeSlot));
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findBookedByCourtAndStartTimeBetweenReturnsOnlyMatchingSlots() {
+        List<BookedTimeSlot> slots = timeSlotRepository.findBookedByCourtAndStartTimeBetween(
+            court.getId(),
+            BookingStatus.APPROVED,
+            DAY_START,
+            DAY_START.plus(6, ChronoUnit.HOURS)
+        );
+
+        // 12 slots in the first 6 hours, 4 of them pending
+        assertThat(slots).hasSize(8);
+        assertThat(slots).allSatisfy(slot -> {
+            assertThat(slot.getCourtId()).isEqualTo(court.getId());
+            assertThat(slot.getCourtName()).isEqualTo("court-0");
+            assertThat(slot.getStartTime()).isBefore(DAY_START.plus(6, ChronoUnit.HOURS));
+        });
+        assertThat(slots).extracting(BookedTimeSlot::getStartTime).isSorted();
+    }
+
+    @Test
+    void availabilityQueryCanUseCourtStartTimeIndex() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+            "EXPLAIN SELECT ts.id FROM booking b JOIN time_slot ts ON b.time_slot_id = ts.id " +
+            "WHERE ts.court_id = ? AND ts.start_time >= ? AND ts.start_time < ? AND b.status = ?",
+            court.getId(),
+            Timestamp.from(DAY_START),
+            Timestamp.from(DAY_START.plus(6, ChronoUnit.HOURS)),
+            BookingStatus.APPROVED.name()
+        );
+
+        assertThat(plan)
+            .filteredOn(row -> "ts".equals(row.get("table")))
+            .singleElement()
+            .satisfies(row -> assertThat(String.valueOf(row.get("possible_keys"))).contains("idx_time_slot__court_id_start_time"));
+    }
+}
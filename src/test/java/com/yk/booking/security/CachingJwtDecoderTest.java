@@ -0,0 +1,132 @@
+package com.yk.booking.security;
+
+import static com.yk.booking.security.SecurityUtils.JWT_ALGORITHM;
+import static com.yk.booking.security.jwt.JwtAuthenticationTestUtils.createExpiredToken;
+import static com.yk.booking.security.jwt.JwtAuthenticationTestUtils.createInvalidToken;
+import static com.yk.booking.security.jwt.JwtAuthenticationTestUtils.createTokenWithDifferentSignature;
+import static com.yk.booking.security.jwt.JwtAuthenticationTestUtils.createValidTokenForUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.util.Base64;
+import com.yk.booking.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Unit tests for {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private AtomicInteger decodes;
+
+    private JwtDecoder nimbusJwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        decodes = new AtomicInteger();
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(
+            new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName())
+        )
+            .macAlgorithm(JWT_ALGORITHM)
+            .build();
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        nimbusJwtDecoder = token -> {
+            decodes.incrementAndGet();
+            return jwtDecoder.decode(token);
+        };
+    }
+
+    @Test
+    void shouldVerifyEachTokenOnce() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(nimbusJwtDecoder, 100, metersService);
+        String alice = createValidTokenForUser(JWT_KEY, "alice");
+        String bob = createValidTokenForUser(JWT_KEY, "bob");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(decoder.decode(alice).getSubject()).isEqualTo("alice");
+            assertThat(decoder.decode(bob).getSubject()).isEqualTo("bob");
+        }
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void shouldNotServeExpiredTokens() {
+        Jwt expired = Jwt.withTokenValue("token")
+            .header("alg", JWT_ALGORITHM.getName())
+            .subject("alice")
+            .issuedAt(Instant.now().minusSeconds(60))
+            .expiresAt(Instant.now().minusSeconds(1))
+            .build();
+        CachingJwtDecoder decoder = new CachingJwtDecoder(
+            token -> {
+                decodes.incrementAndGet();
+                return expired;
+            },
+            100,
+            metersService
+        );
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void shouldStayBounded() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(nimbusJwtDecoder, 4, metersService);
+
+        for (int i = 0; i < 20; i++) {
+            decoder.decode(createValidTokenForUser(JWT_KEY, "user-" + i));
+            assertThat(decoder.size()).isLessThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldClassifyFailuresByType() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(nimbusJwtDecoder, 100, metersService);
+
+        assertRejected(decoder, createExpiredToken(JWT_KEY));
+        assertRejected(decoder, createTokenWithDifferentSignature());
+        assertRejected(decoder, createInvalidToken(JWT_KEY));
+        assertRejected(decoder, "not-a-token");
+        // Unsecured token
+        assertRejected(decoder, "eyJhbGciOiJub25lIn0.eyJzdWIiOiJhbGljZSJ9.");
+
+        assertThat(invalidTokens("expired")).isEqualTo(1);
+        assertThat(invalidTokens("invalid-signature")).isEqualTo(1);
+        assertThat(invalidTokens("malformed")).isEqualTo(2);
+        assertThat(invalidTokens("unsupported")).isEqualTo(1);
+        assertThat(decoder.size()).isZero();
+    }
+
+    private static void assertRejected(CachingJwtDecoder decoder, String token) {
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+}
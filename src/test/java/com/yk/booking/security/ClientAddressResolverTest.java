@@ -0,0 +1,49 @@
+package com.yk.booking.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Unit tests for {@link ClientAddressResolver}.
+ */
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", "192.168.1.10"));
+
+    @Test
+    void shouldTellForwardedClientsApart() {
+        assertThat(resolver.resolve(request("10.0.0.1", "203.0.113.1"))).isEqualTo("203.0.113.1");
+        assertThat(resolver.resolve(request("10.0.0.1", "203.0.113.2"))).isEqualTo("203.0.113.2");
+    }
+
+    @Test
+    void shouldSkipTheTrustedProxiesOfTheChain() {
+        assertThat(resolver.resolve(request("10.0.0.1", "198.51.100.7, 203.0.113.1, 192.168.1.10"))).isEqualTo("203.0.113.1");
+        assertThat(resolver.resolve(request("10.0.0.1", "10.0.0.2,10.0.0.3"))).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    void shouldIgnoreTheHeaderOfUntrustedPeers() {
+        assertThat(resolver.resolve(request("203.0.113.9", "198.51.100.7"))).isEqualTo("203.0.113.9");
+        assertThat(new ClientAddressResolver(List.of()).resolve(request("10.0.0.1", "198.51.100.7"))).isEqualTo("10.0.0.1");
+        assertThat(resolver.resolve(request("10.0.0.1", null))).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void shouldStopAtAnEntryThatIsNotAnAddress() {
+        assertThat(resolver.resolve(request("10.0.0.1", "198.51.100.7, proxy.example.com"))).isEqualTo("proxy.example.com");
+        assertThat(resolver.resolve(request("10.0.0.1", "198.51.100.7, "))).isEqualTo("10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader(ClientAddressResolver.X_FORWARDED_FOR, forwardedFor);
+        }
+        return request;
+    }
+}
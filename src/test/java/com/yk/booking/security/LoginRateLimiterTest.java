@@ -0,0 +1,149 @@
+package com.yk.booking.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yk.booking.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LoginRateLimiter}.
+ */
+class LoginRateLimiterTest {
+
+    private ApplicationProperties.LoginRateLimit properties;
+
+    private MeterRegistry meterRegistry;
+
+    private AtomicLong nanoTime;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties().getLoginRateLimit();
+        meterRegistry = new SimpleMeterRegistry();
+        nanoTime = new AtomicLong();
+    }
+
+    @Test
+    void shouldAllowABurstThenOneAttemptPerRefillInterval() {
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+        assertThatThrownBy(() -> limiter.acquire("Alice", "10.0.0.2"))
+            .isInstanceOfSatisfying(LoginRateLimitedException.class, e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(12)))
+            .hasMessage("Too many login attempts");
+        limiter.acquire("bob", "10.0.0.1");
+
+        advance(Duration.ofSeconds(11));
+        assertThatThrownBy(() -> limiter.acquire("alice", "10.0.0.1")).isInstanceOfSatisfying(LoginRateLimitedException.class, e ->
+            assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1))
+        );
+        advance(Duration.ofSeconds(1));
+        limiter.acquire("alice", "10.0.0.1");
+
+        assertThat(attempts("allowed")).isEqualTo(7);
+        assertThat(attempts("login-limited")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitClientAddressesTryingManyLogins() {
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire("user-" + i, "10.0.0.1");
+        }
+        assertThatThrownBy(() -> limiter.acquire("user-50", "10.0.0.1")).isInstanceOf(LoginRateLimitedException.class);
+        limiter.acquire("user-50", "10.0.0.2");
+
+        assertThat(attempts("client-address-limited")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBoundTheBucketsKept() {
+        properties.setMaxBuckets(128);
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.acquire("user-" + i, "10.0." + (i / 256) + "." + (i % 256));
+            advance(Duration.ofSeconds(1));
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(2 * 128);
+        assertThat(meterRegistry.get(LoginRateLimiter.BUCKETS_METER_NAME).tag("kind", "login").gauge().value()).isLessThanOrEqualTo(128);
+    }
+
+    @Test
+    void shouldBoundPasswordVerificationsUnderCredentialStuffing() throws Exception {
+        LoginRateLimiter limiter = limiter();
+        AtomicInteger passwordVerifications = new AtomicInteger();
+        int addresses = 10;
+
+        // 8 threads spraying 80,000 attempts at random logins from 10 addresses, all within the same instant
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> attackers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                attackers.add(
+                    executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 10_000; i++) {
+                            try {
+                                limiter.acquire("user-" + random.nextInt(1_000_000), "10.0.0." + random.nextInt(addresses));
+                                passwordVerifications.incrementAndGet();
+                            } catch (LoginRateLimitedException e) {
+                                // Refused without verifying the password
+                            }
+                        }
+                    })
+                );
+            }
+            for (Future<?> attacker : attackers) {
+                attacker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int burst = properties.getClientAddress().getCapacity();
+        assertThat(passwordVerifications).hasValue(addresses * burst);
+        assertThat(attempts("client-address-limited")).isEqualTo(80_000 - addresses * burst);
+    }
+
+    @Test
+    void shouldAllowEverythingWhenDisabled() {
+        properties.setEnabled(false);
+        LoginRateLimiter limiter = limiter();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+
+        assertThat(limiter.size()).isZero();
+    }
+
+    private LoginRateLimiter limiter() {
+        return new LoginRateLimiter(properties, meterRegistry, nanoTime::get);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    private double attempts(String outcome) {
+        return meterRegistry.get(LoginRateLimiter.ATTEMPTS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+}
@@ -4,12 +4,13 @@ import static com.yk.booking.security.jwt.JwtAuthenticationTestUtils.*;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import com.yk.booking.service.MailService;
+import com.yk.booking.security.LoginRateLimiter;
+import com.yk.booking.service.LoginEventPipeline;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
@@ -17,6 +18,12 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 @AuthenticationIntegrationTest
 class TokenAuthenticationIT {
 
+    @MockitoBean
+    private LoginEventPipeline loginEventPipeline;
+
+    @MockitoBean
+    private LoginRateLimiter loginRateLimiter;
+
     @Autowired
     private MockMvc mvc;
 
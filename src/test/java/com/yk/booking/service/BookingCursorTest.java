@@ -0,0 +1,32 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BookingCursor}.
+ */
+class BookingCursorTest {
+
+    @Test
+    void shouldRoundTripThroughToken() {
+        BookingCursor cursor = new BookingCursor(Instant.parse("2025-11-20T09:30:00.123Z"), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(BookingCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> BookingCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BookingCursor.decode("%%%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BookingCursor.decode(new BookingCursor(Instant.EPOCH, 1L).encode().substring(2))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+}
@@ -0,0 +1,295 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.CourtRepository;
+import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.dto.CourtDTO;
+import com.yk.booking.service.dto.TimeSlotDTO;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Stress test of {@link BookingService#save(BookingDTO)} against concurrent requests, for the same slots and for the
+ * booking references, and checks of the overlaps when a booking moves.
+ */
+@IntegrationTest
+class BookingServiceConcurrencyIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingServiceConcurrencyIT.class);
+
+    private static final Instant DAY_START = Instant.parse("2025-11-21T08:00:00Z");
+
+    private static final int COURTS = 3;
+
+    private static final int SLOTS = 4;
+
+    private static final int THREADS = 16;
+
+    private static final int REQUESTS_PER_THREAD = 25;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> courtIds = new ArrayList<>();
+
+    @BeforeEach
+    void createCourts() {
+        for (int c = 0; c < COURTS; c++) {
+            courtIds.add(courtRepository.saveAndFlush(new Court().name("stress-court-" + c)).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (Long courtId : courtIds) {
+            jdbcTemplate.update("DELETE FROM booking WHERE time_slot_id IN (SELECT id FROM time_slot WHERE court_id = ?)", courtId);
+            jdbcTemplate.update("DELETE FROM time_slot WHERE court_id = ?", courtId);
+        }
+        courtRepository.deleteAllById(courtIds);
+        courtIds.clear();
+    }
+
+    @Test
+    void concurrentBookingsNeverOverlapOnACourt() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long began;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                            // Hour long slots starting every half hour, so neighbouring requests overlap too
+                            Long courtId = courtIds.get((thread + i) % COURTS);
+                            Instant slotStart = DAY_START.plus(30L * ((thread * 7 + i) % (2 * SLOTS)), ChronoUnit.MINUTES);
+                            try {
+                                bookingService.save(booking(courtId, slotStart, slotStart.plus(1, ChronoUnit.HOURS)));
+                                created.incrementAndGet();
+                            } catch (BookingConflictException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+        LOG.info(
+            "{} booking requests in {} ms ({} req/s): {} created, {} conflicts",
+            THREADS * REQUESTS_PER_THREAD,
+            elapsedMillis,
+            THREADS * REQUESTS_PER_THREAD * 1000L / elapsedMillis,
+            created.get(),
+            conflicts.get()
+        );
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(THREADS * REQUESTS_PER_THREAD);
+        assertThat(created.get()).isPositive();
+        courtIds.forEach(this::assertNoOverlap);
+    }
+
+    @Test
+    void concurrentMovesNeverOverlapOnACourt() throws Exception {
+        // One booking per thread, far from the others, then moved around the first hours of the day
+        Long courtId = courtIds.get(0);
+        List<BookingDTO> bookings = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Instant slotStart = DAY_START.plus(2L * SLOTS + t, ChronoUnit.HOURS);
+            bookings.add(bookingService.save(booking(courtId, slotStart, slotStart.plus(1, ChronoUnit.HOURS))));
+        }
+        AtomicInteger moved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                BookingDTO booking = bookings.get(t);
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                            Instant slotStart = DAY_START.plus(30L * ((thread * 7 + i) % (2 * SLOTS)), ChronoUnit.MINUTES);
+                            BookingDTO move = new BookingDTO();
+                            move.setId(booking.getId());
+                            move.setTimeSlot(slot(slotStart, slotStart.plus(1, ChronoUnit.HOURS)));
+                            move.getTimeSlot().setId(booking.getTimeSlot().getId());
+                            try {
+                                bookingService.partialUpdate(move);
+                                moved.incrementAndGet();
+                            } catch (BookingConflictException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(moved.get() + conflicts.get()).isEqualTo(THREADS * REQUESTS_PER_THREAD);
+        assertThat(moved.get()).isPositive();
+        assertThat(conflicts.get()).isPositive();
+        assertNoOverlap(courtId);
+    }
+
+    @Test
+    void concurrentBookingsGetDistinctReferences() throws Exception {
+        Set<Long> bookingIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                            // A slot of its own for each request, so that every booking is created
+                            Long courtId = courtIds.get(thread % COURTS);
+                            Instant slotStart = DAY_START.plus((long) thread * REQUESTS_PER_THREAD + i, ChronoUnit.HOURS);
+                            bookingIds.add(bookingService.save(booking(courtId, slotStart, slotStart.plus(1, ChronoUnit.HOURS))).getId());
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingIds).hasSize(THREADS * REQUESTS_PER_THREAD);
+        List<String> references = new ArrayList<>();
+        for (Long courtId : courtIds) {
+            references.addAll(
+                jdbcTemplate.queryForList(
+                    "SELECT b.booking_id FROM booking b JOIN time_slot ts ON b.time_slot_id = ts.id WHERE ts.court_id = ?",
+                    String.class,
+                    courtId
+                )
+            );
+        }
+        assertThat(references).hasSize(THREADS * REQUESTS_PER_THREAD).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void movingABookingOntoAnotherBookingOfTheCourtIsRejected() {
+        Long courtId = courtIds.get(0);
+        bookingService.save(booking(courtId, DAY_START, DAY_START.plus(1, ChronoUnit.HOURS)));
+        BookingDTO moved = bookingService.save(
+            booking(courtId, DAY_START.plus(2, ChronoUnit.HOURS), DAY_START.plus(3, ChronoUnit.HOURS))
+        );
+
+        BookingDTO overlapping = new BookingDTO();
+        overlapping.setId(moved.getId());
+        overlapping.setTimeSlot(slot(DAY_START.plus(30, ChronoUnit.MINUTES), DAY_START.plus(90, ChronoUnit.MINUTES)));
+        overlapping.getTimeSlot().setId(moved.getTimeSlot().getId());
+        assertThatThrownBy(() -> bookingService.partialUpdate(overlapping)).isInstanceOf(BookingConflictException.class);
+
+        BookingDTO free = new BookingDTO();
+        free.setId(moved.getId());
+        free.setTimeSlot(slot(DAY_START.plus(1, ChronoUnit.HOURS), DAY_START.plus(2, ChronoUnit.HOURS)));
+        free.getTimeSlot().setId(moved.getTimeSlot().getId());
+        assertThat(bookingService.partialUpdate(free)).hasValueSatisfying(booking ->
+            assertThat(booking.getTimeSlot().getStartTime()).isEqualTo(DAY_START.plus(1, ChronoUnit.HOURS))
+        );
+    }
+
+    @Test
+    void updatingABookingToASlotOverlappingAnotherBookingIsRejected() {
+        Long courtId = courtIds.get(0);
+        BookingDTO booked = bookingService.save(booking(courtId, DAY_START, DAY_START.plus(1, ChronoUnit.HOURS)));
+        BookingDTO moved = bookingService.save(
+            booking(courtId, DAY_START.plus(2, ChronoUnit.HOURS), DAY_START.plus(3, ChronoUnit.HOURS))
+        );
+
+        moved.setTimeSlot(booked.getTimeSlot());
+        assertThatThrownBy(() -> bookingService.update(moved)).isInstanceOf(BookingConflictException.class);
+    }
+
+    private void assertNoOverlap(Long courtId) {
+        List<Map<String, Object>> booked = jdbcTemplate.queryForList(
+            "SELECT ts.start_time, ts.end_time FROM booking b JOIN time_slot ts ON b.time_slot_id = ts.id " +
+            "WHERE ts.court_id = ? ORDER BY ts.start_time",
+            courtId
+        );
+        for (int i = 1; i < booked.size(); i++) {
+            Instant previousEnd = ((Timestamp) booked.get(i - 1).get("end_time")).toInstant();
+            assertThat(((Timestamp) booked.get(i).get("start_time")).toInstant()).isAfterOrEqualTo(previousEnd);
+        }
+    }
+
+    private static BookingDTO booking(Long courtId, Instant start, Instant end) {
+        CourtDTO court = new CourtDTO();
+        court.setId(courtId);
+        TimeSlotDTO timeSlot = slot(start, end);
+        timeSlot.setCourt(court);
+        BookingDTO booking = new BookingDTO();
+        booking.setBookingDate(start);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setTimeSlot(timeSlot);
+        return booking;
+    }
+
+    private static TimeSlotDTO slot(Instant start, Instant end) {
+        TimeSlotDTO timeSlot = new TimeSlotDTO();
+        timeSlot.setStartTime(start);
+        timeSlot.setEndTime(end);
+        return timeSlot;
+    }
+}
@@ -0,0 +1,150 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Contention benchmark of the compare-and-set status transitions of {@link BookingService}: many threads approve
+ * and reject a handful of hot bookings at once.
+ */
+@IntegrationTest
+class BookingStatusTransitionIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingStatusTransitionIT.class);
+
+    private static final String MARKER = "CAS";
+
+    private static final int HOT_BOOKINGS = 8;
+
+    private static final int THREADS = 16;
+
+    private static final int TRANSITIONS_PER_THREAD = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < HOT_BOOKINGS; i++) {
+            jdbcTemplate.update(
+                "INSERT INTO booking (booking_date, status, booking_id) VALUES (?, ?, ?)",
+                Timestamp.from(Instant.now()),
+                BookingStatus.PENDING.name(),
+                MARKER + i
+            );
+            bookingIds.add(jdbcTemplate.queryForObject("SELECT id FROM booking WHERE booking_id = ?", Long.class, MARKER + i));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM booking WHERE booking_id LIKE ?", MARKER + "%");
+    }
+
+    @Test
+    void eachHotBookingMovesExactlyOnce() throws Exception {
+        double appliedBefore = transitions("applied");
+        AtomicInteger returned = new AtomicInteger();
+        AtomicInteger illegal = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < TRANSITIONS_PER_THREAD; i++) {
+                            Long id = bookingIds.get(random.nextInt(HOT_BOOKINGS));
+                            try {
+                                if (random.nextBoolean()) {
+                                    bookingService.approveBooking(id);
+                                } else {
+                                    bookingService.rejectBooking(id);
+                                }
+                                returned.incrementAndGet();
+                            } catch (BookingTransitionException e) {
+                                illegal.incrementAndGet();
+                            } catch (OptimisticLockingFailureException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            elapsed = System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = THREADS * TRANSITIONS_PER_THREAD;
+        LOG.info(
+            "{} transitions on {} bookings from {} threads in {} ms ({} per second): {} returned, {} illegal, {} conflicts",
+            total,
+            HOT_BOOKINGS,
+            THREADS,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            Math.round(total / (elapsed / 1e9)),
+            returned.get(),
+            illegal.get(),
+            conflicts.get()
+        );
+
+        assertThat(returned.get() + illegal.get() + conflicts.get()).isEqualTo(total);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT status, version FROM booking WHERE booking_id LIKE ?",
+            MARKER + "%"
+        );
+        assertThat(rows)
+            .hasSize(HOT_BOOKINGS)
+            .allSatisfy(row -> {
+                assertThat(row.get("status")).isIn(BookingStatus.APPROVED.name(), BookingStatus.REJECTED.name());
+                assertThat(((Number) row.get("version")).longValue()).isEqualTo(1L);
+            });
+        assertThat(transitions("applied") - appliedBefore).isEqualTo(HOT_BOOKINGS);
+    }
+
+    private double transitions(String outcome) {
+        return meterRegistry.get(BookingService.TRANSITIONS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,150 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.TimeSlotRepository;
+import com.yk.booking.repository.TimeSlotRepository.BookedTimeSlot;
+import com.yk.booking.service.dto.TimeSlotDTO;
+import com.yk.booking.service.mapper.TimeSlotMapperImpl;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CourtAvailabilityIndex}.
+ */
+class CourtAvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 20);
+
+    private static final Court COURT = new Court().id(1L);
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private TimeSlotRepository timeSlotRepository;
+
+    private CourtAvailabilityIndex courtAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        timeSlotRepository = mock(TimeSlotRepository.class);
+        ApplicationProperties.Availability properties = new ApplicationProperties.Availability();
+        properties.setTimeToLive(TIME_TO_LIVE);
+        courtAvailabilityIndex = new CourtAvailabilityIndex(timeSlotRepository, new TimeSlotMapperImpl(), properties, nanoTime::get);
+    }
+
+    @Test
+    void shouldLoadEachCourtDayOnce() {
+        List<BookedTimeSlot> bookedTimeSlots = List.of(bookedTimeSlot(11L, 18), bookedTimeSlot(10L, 9));
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(eq(1L), eq(BookingStatus.APPROVED), any(), any())).thenReturn(
+            bookedTimeSlots
+        );
+
+        List<TimeSlotDTO> first = courtAvailabilityIndex.findApprovedSlots(1L, DAY);
+        List<TimeSlotDTO> second = courtAvailabilityIndex.findApprovedSlots(1L, DAY);
+
+        assertThat(first).extracting(TimeSlotDTO::getId).containsExactly(10L, 11L);
+        assertThat(second).isEqualTo(first);
+        verify(timeSlotRepository, times(1)).findBookedByCourtAndStartTimeBetween(
+            eq(1L),
+            eq(BookingStatus.APPROVED),
+            any(),
+            any()
+        );
+    }
+
+    @Test
+    void shouldTrackApprovalRejectionAndDeletion() {
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(any(), any(), any(), any())).thenReturn(List.of());
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+
+        Booking morning = approvedBooking(20L, 8);
+        Booking evening = approvedBooking(21L, 20);
+        courtAvailabilityIndex.onBookingChanged(evening);
+        courtAvailabilityIndex.onBookingChanged(morning);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).extracting(TimeSlotDTO::getId).containsExactly(20L, 21L);
+
+        morning.setStatus(BookingStatus.REJECTED);
+        courtAvailabilityIndex.onBookingChanged(morning);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).extracting(TimeSlotDTO::getId).containsExactly(21L);
+
+        courtAvailabilityIndex.onBookingDeleted(21L);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+        verify(timeSlotRepository, times(1)).findBookedByCourtAndStartTimeBetween(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldIgnorePendingBookings() {
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(any(), any(), any(), any())).thenReturn(List.of());
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+
+        courtAvailabilityIndex.onBookingChanged(approvedBooking(30L, 10).status(BookingStatus.PENDING));
+
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+    }
+
+    @Test
+    void shouldReloadExpiredCourtDays() {
+        List<BookedTimeSlot> bookedTimeSlots = List.of(bookedTimeSlot(40L, 10));
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(any(), any(), any(), any())).thenReturn(List.of(), bookedTimeSlots);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+
+        nanoTime.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+
+        nanoTime.incrementAndGet();
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).extracting(TimeSlotDTO::getId).containsExactly(40L);
+        verify(timeSlotRepository, times(2)).findBookedByCourtAndStartTimeBetween(any(), any(), any(), any());
+
+        courtAvailabilityIndex.onBookingDeleted(40L);
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+    }
+
+    @Test
+    void shouldNotKeepACourtDayLoadedWhileTheIndexChanged() {
+        List<BookedTimeSlot> bookedTimeSlots = List.of(bookedTimeSlot(50L, 10));
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(any(), any(), any(), any())).thenAnswer(invocation -> {
+            courtAvailabilityIndex.onBookingDeleted(50L);
+            return bookedTimeSlots;
+        });
+
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).extracting(TimeSlotDTO::getId).containsExactly(50L);
+
+        when(timeSlotRepository.findBookedByCourtAndStartTimeBetween(any(), any(), any(), any())).thenReturn(List.of());
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+        assertThat(courtAvailabilityIndex.findApprovedSlots(1L, DAY)).isEmpty();
+        verify(timeSlotRepository, times(2)).findBookedByCourtAndStartTimeBetween(any(), any(), any(), any());
+    }
+
+    private static BookedTimeSlot bookedTimeSlot(Long id, int hour) {
+        Booking booking = approvedBooking(id, hour);
+        BookedTimeSlot bookedTimeSlot = mock(BookedTimeSlot.class);
+        when(bookedTimeSlot.getBookingId()).thenReturn(booking.getId());
+        when(bookedTimeSlot.getId()).thenReturn(booking.getTimeSlot().getId());
+        when(bookedTimeSlot.getStartTime()).thenReturn(booking.getTimeSlot().getStartTime());
+        when(bookedTimeSlot.getEndTime()).thenReturn(booking.getTimeSlot().getEndTime());
+        when(bookedTimeSlot.getCourtId()).thenReturn(COURT.getId());
+        return bookedTimeSlot;
+    }
+
+    private static Booking approvedBooking(Long id, int hour) {
+        Instant start = DAY.atTime(hour, 0).atZone(ZoneId.systemDefault()).toInstant();
+        TimeSlot timeSlot = new TimeSlot().id(id).startTime(start).endTime(start.plusSeconds(3600)).court(COURT);
+        return new Booking().id(id).bookingDate(start).status(BookingStatus.APPROVED).timeSlot(timeSlot);
+    }
+}
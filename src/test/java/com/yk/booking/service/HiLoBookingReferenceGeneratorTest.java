@@ -0,0 +1,131 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/**
+ * Unit tests for {@link HiLoBookingReferenceGenerator}.
+ */
+class HiLoBookingReferenceGeneratorTest {
+
+    private static final int BLOCK_SIZE = 50;
+
+    private BookingReferenceBlockAllocator blockAllocator;
+
+    private AtomicLong blocks;
+
+    @BeforeEach
+    void setUp() {
+        blocks = new AtomicLong();
+        blockAllocator = mock(BookingReferenceBlockAllocator.class);
+        when(blockAllocator.nextBlock(anyInt())).thenAnswer(invocation -> blocks.getAndAdd(invocation.<Integer>getArgument(0)));
+    }
+
+    @Test
+    void shouldGenerateFixedLengthReferences() {
+        HiLoBookingReferenceGenerator generator = new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, "secret");
+
+        String first = generator.nextReference();
+        String second = generator.nextReference();
+
+        assertThat(first).hasSize(BookingReferenceGenerator.REFERENCE_LENGTH).matches("[0-9A-HJKMNP-TV-Z]+");
+        assertThat(second).hasSize(BookingReferenceGenerator.REFERENCE_LENGTH).isNotEqualTo(first);
+        verify(blockAllocator, times(1)).nextBlock(BLOCK_SIZE);
+    }
+
+    @Test
+    void shouldNotRepeatReferencesAcrossConcurrentCallers() throws Exception {
+        HiLoBookingReferenceGenerator generator = new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, "secret");
+        int threads = 16;
+        int perThread = 5_000;
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            references.add(generator.nextReference());
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(references).hasSize(threads * perThread);
+        // One block reservation per BLOCK_SIZE references, and no lookup of existing bookings
+        verify(blockAllocator, times(threads * perThread / BLOCK_SIZE)).nextBlock(BLOCK_SIZE);
+    }
+
+    @Test
+    void shouldGiveSameReferencesForSameSecret() {
+        HiLoBookingReferenceGenerator generator = new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, "secret");
+        String reference = generator.nextReference();
+
+        blocks.set(0);
+        assertThat(new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, "secret").nextReference()).isEqualTo(reference);
+        blocks.set(0);
+        assertThat(new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, "other").nextReference()).isNotEqualTo(reference);
+    }
+
+    @Test
+    void shouldNotOverlapReferencesWhenTheBlockSizeChanges() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE TABLE booking_reference_block (name VARCHAR(50) PRIMARY KEY, next_hi BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO booking_reference_block (name, next_hi) VALUES ('booking', 0)");
+        BookingReferenceBlockAllocator allocator = new BookingReferenceBlockAllocator(jdbcTemplate, new DataSourceTransactionManager(h2));
+
+        Set<String> references = new HashSet<>();
+        HiLoBookingReferenceGenerator before = new HiLoBookingReferenceGenerator(allocator, 120, "secret");
+        for (int i = 0; i < 150; i++) {
+            references.add(before.nextReference());
+        }
+        // Deployed again with smaller blocks, while the first node still uses its reserved block
+        HiLoBookingReferenceGenerator after = new HiLoBookingReferenceGenerator(allocator, 50, "secret");
+        for (int i = 0; i < 150; i++) {
+            references.add(after.nextReference());
+            references.add(before.nextReference());
+        }
+
+        assertThat(references).hasSize(450);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_hi FROM booking_reference_block", Long.class)).isEqualTo(3 * 120 + 3 * 50);
+    }
+
+    @Test
+    void shouldRequireSecret() {
+        assertThatThrownBy(() -> new HiLoBookingReferenceGenerator(blockAllocator, BLOCK_SIZE, " ")).isInstanceOf(
+            IllegalStateException.class
+        );
+    }
+}
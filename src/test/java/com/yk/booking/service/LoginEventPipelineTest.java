@@ -0,0 +1,107 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link LoginEventPipeline}.
+ */
+class LoginEventPipelineTest {
+
+    private UserService userService;
+
+    private MeterRegistry meterRegistry;
+
+    private LoginEventPipeline loginEventPipeline;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginEvents().setCapacity(2);
+        loginEventPipeline = new LoginEventPipeline(
+            userService,
+            new SecurityMetersService(meterRegistry),
+            applicationProperties,
+            meterRegistry
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordLastLoginDatesOncePerUser() {
+        Instant before = Instant.now();
+        loginEventPipeline.loginSucceeded("alice");
+        loginEventPipeline.loginSucceeded("bob");
+        loginEventPipeline.loginSucceeded("alice");
+        loginEventPipeline.loginFailed();
+
+        loginEventPipeline.flush();
+
+        ArgumentCaptor<Map<String, Instant>> lastLoginDates = ArgumentCaptor.forClass(Map.class);
+        verify(userService).recordLastLoginDates(lastLoginDates.capture());
+        assertThat(lastLoginDates.getValue()).containsOnlyKeys("alice", "bob").allSatisfy((login, date) ->
+            assertThat(date).isAfterOrEqualTo(before)
+        );
+        assertThat(logins("success")).isEqualTo(3);
+        assertThat(logins("failure")).isEqualTo(1);
+        assertThat(events("coalesced")).isEqualTo(1);
+        assertThat(loginEventPipeline.pending()).isZero();
+    }
+
+    @Test
+    void shouldDropNewUsersWhenFull() {
+        loginEventPipeline.loginSucceeded("alice");
+        loginEventPipeline.loginSucceeded("bob");
+        loginEventPipeline.loginSucceeded("charlie");
+        loginEventPipeline.loginSucceeded("alice");
+
+        assertThat(loginEventPipeline.pending()).isEqualTo(2);
+        assertThat(events("dropped")).isEqualTo(1);
+
+        loginEventPipeline.flush();
+        assertThat(logins("success")).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotWriteWithoutLogins() {
+        loginEventPipeline.loginFailed();
+
+        loginEventPipeline.flush();
+
+        verify(userService, never()).recordLastLoginDates(anyMap());
+        assertThat(logins("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepFlushingWhenRecordingFails() {
+        doThrow(new IllegalStateException("database down")).when(userService).recordLastLoginDates(anyMap());
+        loginEventPipeline.loginSucceeded("alice");
+
+        loginEventPipeline.flush();
+        loginEventPipeline.loginSucceeded("bob");
+        loginEventPipeline.flush();
+
+        verify(userService, times(2)).recordLastLoginDates(anyMap());
+    }
+
+    private double logins(String outcome) {
+        return meterRegistry.get(SecurityMetersService.LOGINS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.get(LoginEventPipeline.EVENTS_METER_NAME).tag("outcome", outcome).counter().count();
+    }
+}
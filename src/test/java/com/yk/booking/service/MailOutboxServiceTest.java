@@ -0,0 +1,124 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.domain.enumeration.MailOutboxStatus;
+import com.yk.booking.repository.MailOutboxRepository;
+import com.yk.booking.service.dto.BookingNotification;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link MailOutboxService}.
+ */
+class MailOutboxServiceTest {
+
+    private MailOutboxRepository mailOutboxRepository;
+
+    private MailOutboxService mailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepository = mock(MailOutboxRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailOutbox().setMaxAttempts(3);
+        mailOutboxService = new MailOutboxService(
+            mailOutboxRepository,
+            applicationProperties,
+            new ObjectMapper().registerModule(new JavaTimeModule())
+        );
+    }
+
+    @Test
+    void shouldBackOffExponentially() {
+        Duration initial = Duration.ofSeconds(30);
+        Duration max = Duration.ofHours(1);
+
+        assertThat(MailOutboxService.backoff(1, initial, max)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(MailOutboxService.backoff(2, initial, max)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(MailOutboxService.backoff(4, initial, max)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(MailOutboxService.backoff(10, initial, max)).isEqualTo(max);
+        assertThat(MailOutboxService.backoff(1_000, initial, max)).isEqualTo(max);
+    }
+
+    @Test
+    void shouldRetryUntilMaxAttempts() {
+        MailOutbox mail = new MailOutbox().id(1L).status(MailOutboxStatus.SENDING).attempts(2);
+        when(mailOutboxRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        assertThat(mailOutboxService.markFailed(1L, "connection refused")).isTrue();
+        assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(mail.getNextAttemptAt()).isAfter(Instant.now());
+        assertThat(mail.getLastError()).isEqualTo("connection refused");
+
+        mail.attempts(3);
+        assertThat(mailOutboxService.markFailed(1L, "connection refused")).isFalse();
+        assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+    }
+
+    @Test
+    void shouldGiveUpPermanentFailuresAtOnce() {
+        MailOutbox mail = new MailOutbox().id(1L).status(MailOutboxStatus.SENDING).attempts(1);
+        when(mailOutboxRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        mailOutboxService.markPermanentlyFailed(1L, "invalid address");
+
+        assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+        assertThat(mail.getLastError()).isEqualTo("invalid address");
+    }
+
+    @Test
+    void shouldDropDuplicatesWaitingForDelivery() {
+        String dedupKey = "booking-confirmation:1";
+        when(mailOutboxRepository.existsByRecipientAndDedupKeyAndStatusIn(eq("john@example.com"), eq(dedupKey), any())).thenReturn(true);
+
+        assertThat(mailOutboxService.enqueue("john@example.com", "subject", "content", true, dedupKey)).isFalse();
+        assertThat(mailOutboxService.enqueue("jane@example.com", "subject", "content", true, dedupKey)).isTrue();
+        verify(mailOutboxRepository, times(1)).save(any(MailOutbox.class));
+    }
+
+    @Test
+    void shouldQueueTheNotificationToRenderOnDelivery() {
+        Instant start = Instant.parse("2025-11-20T10:00:00Z");
+        BookingNotification notification = notification("john@example.com", start);
+
+        assertThat(mailOutboxService.enqueueNotification(notification)).isTrue();
+
+        ArgumentCaptor<MailOutbox> queued = ArgumentCaptor.forClass(MailOutbox.class);
+        verify(mailOutboxRepository).save(queued.capture());
+        assertThat(queued.getValue().getRecipient()).isEqualTo("john@example.com");
+        assertThat(queued.getValue().getDedupKey()).isEqualTo("booking-confirmation:42");
+        assertThat(queued.getValue().getContent()).isNull();
+        assertThat(mailOutboxService.readNotification(queued.getValue())).contains(notification);
+    }
+
+    @Test
+    void shouldNotQueueTheNotificationOfAUserWithoutEmail() {
+        assertThat(mailOutboxService.enqueueNotification(notification(" ", Instant.now()))).isFalse();
+        verify(mailOutboxRepository, never()).save(any(MailOutbox.class));
+    }
+
+    private static BookingNotification notification(String email, Instant start) {
+        return new BookingNotification(
+            BookingNotification.Kind.CONFIRMATION,
+            42L,
+            "BK42",
+            "john",
+            email,
+            "en",
+            "Court 1",
+            "Badminton",
+            start,
+            start.plusSeconds(3600)
+        );
+    }
+}
@@ -6,7 +6,15 @@ import static org.mockito.Mockito.*;
 
 import com.yk.booking.IntegrationTest;
 import com.yk.booking.config.Constants;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.TimeSlot;
 import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.MailOutboxStatus;
+import com.yk.booking.repository.MailOutboxRepository;
+import com.yk.booking.service.dto.BookingNotification;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeBodyPart;
@@ -18,6 +26,8 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +39,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -57,6 +68,9 @@ class MailServiceIT {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
     @BeforeEach
     void setup() {
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
@@ -194,6 +208,62 @@ class MailServiceIT {
         }
     }
 
+    @Test
+    @Transactional
+    void testBookingEmailsAreQueuedInOutbox() {
+        User user = new User();
+        user.setLogin("john");
+        user.setEmail("john.outbox@example.com");
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        Instant start = Instant.parse("2025-11-20T10:00:00Z");
+        TimeSlot timeSlot = new TimeSlot()
+            .startTime(start)
+            .endTime(start.plusSeconds(3600))
+            .court(new Court().name("Court 1").sport(new Sport().name("Badminton")));
+        Booking booking = new Booking().id(42L).bookingId("BK42").user(user).timeSlot(timeSlot);
+
+        mailService.sendBookingNotification(BookingNotification.of(booking, BookingNotification.Kind.CONFIRMATION));
+        mailService.sendBookingNotification(BookingNotification.of(booking, BookingNotification.Kind.CONFIRMATION));
+        mailService.sendBookingNotification(BookingNotification.of(booking, BookingNotification.Kind.REJECTION));
+
+        List<MailOutbox> queued = mailOutboxRepository
+            .findAll()
+            .stream()
+            .filter(mail -> "john.outbox@example.com".equals(mail.getRecipient()))
+            .toList();
+        assertThat(queued)
+            .extracting(MailOutbox::getDedupKey)
+            .containsExactlyInAnyOrder("booking-confirmation:42", "booking-rejection:42");
+        assertThat(queued).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+            assertThat(mail.getContent()).isNull();
+            assertThat(mail.getNotification()).contains("Court 1");
+        });
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void testRenderBookingNotification() {
+        Instant start = Instant.parse("2025-11-20T10:00:00Z");
+        BookingNotification notification = new BookingNotification(
+            BookingNotification.Kind.CONFIRMATION,
+            42L,
+            "BK42",
+            "john",
+            "john.doe@example.com",
+            Constants.DEFAULT_LANGUAGE,
+            "Court 1",
+            "Badminton",
+            start,
+            start.plusSeconds(3600)
+        );
+
+        MailService.RenderedEmail email = mailService.renderBookingNotification(notification);
+
+        assertThat(email.subject()).isNotEmpty();
+        assertThat(email.content()).contains("Court 1", "BK42");
+    }
+
     @Test
     void testSendLocalizedEmailForAllSupportedLanguages() throws Exception {
         User user = new User();
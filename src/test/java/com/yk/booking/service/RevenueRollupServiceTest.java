@@ -0,0 +1,98 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.RevenueDailyRollupRepository;
+import com.yk.booking.service.RevenueRollupService.Contribution;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RevenueRollupService}.
+ */
+class RevenueRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 20);
+
+    private RevenueDailyRollupRepository revenueDailyRollupRepository;
+
+    private RevenueRollupService revenueRollupService;
+
+    @BeforeEach
+    void setUp() {
+        revenueDailyRollupRepository = mock(RevenueDailyRollupRepository.class);
+        revenueRollupService = new RevenueRollupService(revenueDailyRollupRepository);
+    }
+
+    @Test
+    void shouldOnlyCountApprovedBookingsWithAPayment() {
+        Booking booking = booking(BookingStatus.APPROVED, "Completed");
+
+        assertThat(revenueRollupService.contributionOf(booking)).isEqualTo(new Contribution(DAY, 3L, 7L, new BigDecimal("40.00")));
+        assertThat(revenueRollupService.contributionOf(booking(BookingStatus.PENDING, "Completed"))).isNull();
+        assertThat(revenueRollupService.contributionOf(booking(BookingStatus.APPROVED, "Failed"))).isNull();
+        assertThat(revenueRollupService.contributionOf(booking.payment(null))).isNull();
+    }
+
+    @Test
+    void shouldKeepBookingsWithoutCourtUnderIdZero() {
+        Booking booking = booking(BookingStatus.APPROVED, "Completed").timeSlot(null);
+
+        assertThat(revenueRollupService.contributionOf(booking)).isEqualTo(new Contribution(DAY, 0L, 0L, new BigDecimal("40.00")));
+    }
+
+    @Test
+    void shouldWithdrawThePreviousContribution() {
+        Contribution before = new Contribution(DAY, 3L, 7L, new BigDecimal("40.00"));
+        Contribution after = new Contribution(DAY.plusDays(1), 3L, 7L, new BigDecimal("40.00"));
+
+        revenueRollupService.replace(before, after);
+
+        verify(revenueDailyRollupRepository).addContribution(DAY, 3L, 7L, new BigDecimal("-40.00"), -1);
+        verify(revenueDailyRollupRepository).addContribution(DAY.plusDays(1), 3L, 7L, new BigDecimal("40.00"), 1);
+    }
+
+    @Test
+    void shouldSkipUnchangedContributions() {
+        Contribution contribution = new Contribution(DAY, 3L, 7L, new BigDecimal("40.00"));
+
+        revenueRollupService.replace(contribution, new Contribution(DAY, 3L, 7L, new BigDecimal("40.00")));
+        revenueRollupService.replace(null, null);
+
+        verifyNoInteractions(revenueDailyRollupRepository);
+    }
+
+    @Test
+    void shouldAddSeveralContributionsToEachRowOnce() {
+        Contribution court3 = new Contribution(DAY, 3L, 7L, new BigDecimal("40.00"));
+        Contribution court4 = new Contribution(DAY, 4L, 7L, new BigDecimal("25.00"));
+
+        revenueRollupService.replaceAll(Arrays.asList(null, null, null), Arrays.asList(court3, court3, court4));
+        revenueRollupService.replaceAll(List.of(court3), List.of(court3));
+
+        verify(revenueDailyRollupRepository).addContribution(DAY, 3L, 7L, new BigDecimal("80.00"), 2);
+        verify(revenueDailyRollupRepository).addContribution(DAY, 4L, 7L, new BigDecimal("25.00"), 1);
+        verifyNoMoreInteractions(revenueDailyRollupRepository);
+    }
+
+    private static Booking booking(BookingStatus status, String paymentStatus) {
+        Court court = new Court().id(3L).sport(new Sport().id(7L));
+        return new Booking()
+            .bookingDate(Instant.parse("2025-11-20T23:30:00Z"))
+            .status(status)
+            .timeSlot(new TimeSlot().court(court))
+            .payment(new Payment().amount(new BigDecimal("40.00")).status(paymentStatus));
+    }
+}
@@ -0,0 +1,216 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.BookingRepository;
+import com.yk.booking.repository.PaymentRepository;
+import com.yk.booking.service.dto.RevenueDTO;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link RevenueService} and the revenue rollup maintained by {@link RevenueRollupService},
+ * comparing the rollup with grouping the booking entities in memory.
+ */
+@IntegrationTest
+class RevenueServiceIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RevenueServiceIT.class);
+
+    private static final String MARKER = "revenue-it";
+
+    private static final int BOOKINGS = 20_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private RevenueService revenueService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Approved paid bookings spread over the days of the current year, so every dashboard period has data
+        LocalDate startOfYear = LocalDate.now(ZoneOffset.UTC).withDayOfYear(1);
+        int daysInYear = startOfYear.lengthOfYear();
+        List<Object[]> payments = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Instant bookingDate = startOfYear
+                .plusDays(i % daysInYear)
+                .atStartOfDay()
+                .toInstant(ZoneOffset.UTC)
+                .plus(8 + i % 12, ChronoUnit.HOURS);
+            BigDecimal amount = BigDecimal.valueOf(1000 + 100 * (i % 40) + 50, 2);
+            payments.add(new Object[] { amount, Timestamp.from(bookingDate), MARKER });
+            if (payments.size() == BATCH_SIZE) {
+                insertPayments(payments);
+                payments.clear();
+            }
+        }
+        insertPayments(payments);
+        jdbcTemplate.update(
+            "INSERT INTO booking (booking_date, status, payment_id) SELECT payment_date, ?, id FROM payment WHERE transaction_id = ?",
+            BookingStatus.APPROVED.name(),
+            MARKER
+        );
+
+        long started = System.nanoTime();
+        revenueRollupService.rebuild(startOfYear, startOfYear.plusYears(1));
+        LOG.info("Revenue rollup of {} bookings rebuilt in {} ms", BOOKINGS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM booking WHERE payment_id IN (SELECT id FROM payment WHERE transaction_id = ?)", MARKER);
+        jdbcTemplate.update("DELETE FROM payment WHERE transaction_id = ?", MARKER);
+        LocalDate startOfYear = LocalDate.now(ZoneOffset.UTC).withDayOfYear(1);
+        revenueRollupService.rebuild(startOfYear, startOfYear.plusYears(1));
+    }
+
+    @Test
+    void rollupMatchesInMemoryGrouping() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant startOfYear = today.withDayOfYear(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant endOfYear = today.plusYears(1).withDayOfYear(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        long started = System.nanoTime();
+        Map<String, BigDecimal> inMemory = transactionTemplate.execute(status -> groupInMemory(startOfYear, endOfYear));
+        long inMemoryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        started = System.nanoTime();
+        List<RevenueDTO> rolledUp = revenueService.getMonthlyRevenue();
+        long rolledUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        LOG.info(
+            "Monthly revenue over {} bookings: {} ms grouping entities, {} ms reading the rollup",
+            BOOKINGS,
+            inMemoryMillis,
+            rolledUpMillis
+        );
+        assertThat(rolledUp).extracting(RevenueDTO::getName).containsExactlyElementsOf(inMemory.keySet());
+        assertThat(rolledUp).allSatisfy(revenue ->
+            assertThat(revenue.getRevenue()).isEqualByComparingTo(inMemory.get(revenue.getName()))
+        );
+    }
+
+    @Test
+    void bucketsDailyAndWeeklyRevenue() {
+        assertThat(revenueService.getDailyRevenue()).isNotEmpty().allSatisfy(revenue -> assertThat(revenue.getName()).hasSize(3));
+        assertThat(revenueService.getWeeklyRevenue())
+            .isNotEmpty()
+            .allSatisfy(revenue -> {
+                assertThat(revenue.getName()).startsWith("Week ");
+                assertThat(revenue.getRevenue()).isPositive();
+            });
+    }
+
+    @Test
+    void approvalAndPaymentStatusMaintainRollup() {
+        Instant bookingDate = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC).plus(23, ChronoUnit.HOURS);
+        Booking booking = transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.save(
+                new Payment().amount(new BigDecimal("25.00")).status("Pending").paymentDate(bookingDate).transactionId(MARKER)
+            );
+            return bookingRepository.save(new Booking().bookingDate(bookingDate).status(BookingStatus.PENDING).payment(payment));
+        });
+        BigDecimal before = revenueService.getTotalDailyRevenue();
+
+        bookingService.approveBooking(booking.getId());
+        assertThat(revenueService.getTotalDailyRevenue()).isEqualByComparingTo(before.add(new BigDecimal("25.00")));
+
+        paymentService.updateStatus(booking.getPayment().getId(), "Failed");
+        assertThat(revenueService.getTotalDailyRevenue()).isEqualByComparingTo(before);
+
+        paymentService.updateStatus(booking.getPayment().getId(), "Completed");
+        bookingService.rejectBooking(booking.getId());
+        assertThat(revenueService.getTotalDailyRevenue()).isEqualByComparingTo(before);
+    }
+
+    @Test
+    void rebuildRepairsDriftAndDropsRowsWithoutBookings() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        BigDecimal before = revenueService.getTotalDailyRevenue();
+        jdbcTemplate.update("UPDATE revenue_daily_rollup SET amount = amount + 100 WHERE rollup_date = ?", today);
+        jdbcTemplate.update(
+            "INSERT INTO revenue_daily_rollup (rollup_date, court_id, sport_id, amount, booking_count) VALUES (?, -1, -1, 42, 1)",
+            today
+        );
+
+        revenueRollupService.rebuild(today, today.plusDays(1));
+
+        assertThat(revenueService.getTotalDailyRevenue()).isEqualByComparingTo(before);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revenue_daily_rollup WHERE court_id = -1", Long.class)).isZero();
+    }
+
+    /**
+     * The former implementation: load every approved booking and group the lazily loaded payments in memory.
+     */
+    private Map<String, BigDecimal> groupInMemory(Instant start, Instant end) {
+        List<Booking> bookings = bookingRepository.findAllByStatusAndBookingDateBetween(BookingStatus.APPROVED, start, end);
+        Map<Integer, BigDecimal> byMonth = bookings
+            .stream()
+            .filter(b -> b.getBookingDate().isBefore(end) && b.getPayment() != null && b.getPayment().getAmount() != null)
+            .collect(
+                Collectors.groupingBy(
+                    b -> LocalDate.ofInstant(b.getBookingDate(), ZoneOffset.UTC).getMonthValue(),
+                    TreeMap::new,
+                    Collectors.mapping(b -> b.getPayment().getAmount(), Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
+                )
+            );
+        Map<String, BigDecimal> byLabel = new LinkedHashMap<>();
+        byMonth.forEach((month, revenue) -> byLabel.put(LocalDate.of(2000, month, 1).format(DateTimeFormatter.ofPattern("MMM")), revenue));
+        return byLabel;
+    }
+
+    private void insertPayments(List<Object[]> payments) {
+        if (!payments.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO payment (amount, payment_date, status, transaction_id) VALUES (?, ?, 'PAID', ?)",
+                payments
+            );
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.yk.booking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Client;
+import com.yk.booking.domain.ClientTier;
+import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.repository.ClientRepository;
+import com.yk.booking.repository.ClientTierRepository;
+import com.yk.booking.repository.UserBookingCounterRepository;
+import com.yk.booking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for {@link UserBookingCounterService}.
+ */
+class UserBookingCounterServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private UserBookingCounterRepository userBookingCounterRepository;
+
+    private ClientTierRepository clientTierRepository;
+
+    private UserBookingCounterService userBookingCounterService;
+
+    private AtomicLong bookingCount;
+
+    private User user;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        bookingCount = new AtomicLong();
+        user = new User();
+        user.setId(USER_ID);
+        user.setLogin("user");
+        client = new Client().user(user);
+
+        userBookingCounterRepository = mock(UserBookingCounterRepository.class);
+        when(userBookingCounterRepository.addBookings(eq(USER_ID), anyLong())).thenAnswer(invocation -> {
+            bookingCount.addAndGet(invocation.getArgument(1, Long.class));
+            return 1;
+        });
+        when(userBookingCounterRepository.findBookingCount(USER_ID)).thenAnswer(invocation -> Optional.of(bookingCount.get()));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        ClientRepository clientRepository = mock(ClientRepository.class);
+        when(clientRepository.findOneByUserId(USER_ID)).thenReturn(Optional.of(client));
+        clientTierRepository = mock(ClientTierRepository.class);
+        when(clientTierRepository.findByTierName(anyString())).thenAnswer(invocation ->
+            Optional.of(new ClientTier().tierName(invocation.getArgument(0)))
+        );
+
+        userBookingCounterService = new UserBookingCounterService(
+            userBookingCounterRepository,
+            userRepository,
+            clientRepository,
+            clientTierRepository,
+            new ConcurrentMapCacheManager(UserRepository.USERS_BY_LOGIN_CACHE),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void shouldPromoteWhenCrossingAThreshold() {
+        bookingCount.set(5);
+
+        userBookingCounterService.replace(null, USER_ID);
+
+        assertThat(user.getTier()).isEqualTo(ClientTierPolicy.userTierNamed(ClientTierPolicy.IRON));
+        assertThat(client.getClientTier().getTierName()).isEqualTo(ClientTierPolicy.IRON);
+    }
+
+    @Test
+    void shouldDemoteWhenFallingBelowAThreshold() {
+        bookingCount.set(21);
+
+        userBookingCounterService.replace(USER_ID, null);
+
+        assertThat(bookingCount.get()).isEqualTo(20);
+        assertThat(user.getTier()).isEqualTo(ClientTierPolicy.userTierNamed(ClientTierPolicy.GOLD));
+    }
+
+    @Test
+    void shouldOnlyCountWithoutTierChangeBetweenThresholds() {
+        bookingCount.set(12);
+
+        userBookingCounterService.replace(null, USER_ID);
+
+        assertThat(bookingCount.get()).isEqualTo(13);
+        assertThat(user.getTier()).isNull();
+        verifyNoInteractions(clientTierRepository);
+    }
+
+    @Test
+    void shouldNotCountRejectedBookings() {
+        Booking booking = new Booking().user(user).status(BookingStatus.PENDING);
+
+        assertThat(userBookingCounterService.countedUserOf(booking)).isEqualTo(USER_ID);
+        assertThat(userBookingCounterService.countedUserOf(booking.status(BookingStatus.REJECTED))).isNull();
+        assertThat(userBookingCounterService.countedUserOf(new Booking().status(BookingStatus.APPROVED))).isNull();
+
+        userBookingCounterService.replace(USER_ID, USER_ID);
+        verifyNoInteractions(userBookingCounterRepository);
+    }
+
+    @Test
+    void shouldApplyTheNetChangeOfSeveralBookingsOnce() {
+        bookingCount.set(22);
+
+        userBookingCounterService.replaceAll(Arrays.asList(USER_ID, USER_ID, USER_ID, null), Arrays.asList(null, null, null, USER_ID));
+
+        assertThat(bookingCount.get()).isEqualTo(20);
+        verify(userBookingCounterRepository).addBookings(USER_ID, -2L);
+        assertThat(user.getTier()).isEqualTo(ClientTierPolicy.userTierNamed(ClientTierPolicy.GOLD));
+    }
+}
@@ -10,6 +10,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -22,6 +23,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -171,6 +173,26 @@ class UserServiceIT {
         userRepository.delete(user);
     }
 
+    @Test
+    @Transactional
+    void assertThatRecordingLastLoginDatesEvictsTheCachedUsersOnceCommitted() {
+        userRepository.saveAndFlush(user);
+        userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN);
+        userRepository.findOneWithAuthoritiesByEmailIgnoreCase(DEFAULT_EMAIL);
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNotNull();
+        assertThat(usersByEmail.get(DEFAULT_EMAIL)).isNotNull();
+
+        userService.recordLastLoginDates(Map.of(DEFAULT_LOGIN, Instant.now()));
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNotNull();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNull();
+        assertThat(usersByEmail.get(DEFAULT_EMAIL)).isNull();
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
@@ -0,0 +1,57 @@
+package com.yk.booking.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.User;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class BookingNotificationTest {
+
+    @Test
+    void snapshotCopiesTheBookingDetails() {
+        User user = new User();
+        user.setLogin("john");
+        user.setEmail("john@example.com");
+        user.setLangKey("en");
+        Instant start = Instant.parse("2025-11-20T10:00:00Z");
+        Court court = new Court().name("Court 1").sport(new Sport().name("Badminton"));
+        Booking booking = new Booking()
+            .id(1L)
+            .bookingId("BK1")
+            .user(user)
+            .timeSlot(new TimeSlot().startTime(start).endTime(start.plusSeconds(3600)).court(court));
+
+        BookingNotification notification = BookingNotification.of(booking, BookingNotification.Kind.CONFIRMATION);
+        court.setName("Renamed");
+
+        assertThat(notification).isEqualTo(
+            new BookingNotification(
+                BookingNotification.Kind.CONFIRMATION,
+                1L,
+                "BK1",
+                "john",
+                "john@example.com",
+                "en",
+                "Court 1",
+                "Badminton",
+                start,
+                start.plusSeconds(3600)
+            )
+        );
+    }
+
+    @Test
+    void snapshotToleratesMissingAssociations() {
+        BookingNotification notification = BookingNotification.of(new Booking().id(2L), BookingNotification.Kind.REJECTION);
+
+        assertThat(notification.id()).isEqualTo(2L);
+        assertThat(notification.userEmail()).isNull();
+        assertThat(notification.courtName()).isNull();
+        assertThat(notification.startTime()).isNull();
+    }
+}
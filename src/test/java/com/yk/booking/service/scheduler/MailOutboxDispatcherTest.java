@@ -0,0 +1,231 @@
+package com.yk.booking.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.yk.booking.config.ApplicationProperties;
+import com.yk.booking.domain.MailOutbox;
+import com.yk.booking.service.MailOutboxService;
+import com.yk.booking.service.MailService;
+import com.yk.booking.service.dto.BookingNotification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Tests for {@link MailOutboxDispatcher} against an in-process SMTP server.
+ */
+class MailOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 20;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailOutboxService mailOutboxService;
+
+    private MailService mailService;
+
+    private MeterRegistry meterRegistry;
+
+    private AtomicInteger connections;
+
+    private JavaMailSenderImpl javaMailSender;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxService = mock(MailOutboxService.class);
+        when(mailOutboxService.markFailed(any(), anyString())).thenReturn(true);
+        when(mailOutboxService.readNotification(any())).thenReturn(Optional.empty());
+        mailService = mock(MailService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        connections = new AtomicInteger();
+        javaMailSender = new JavaMailSenderImpl() {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                connections.incrementAndGet();
+                return super.connectTransport();
+            }
+        };
+        javaMailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    void shouldDeliverABatchOverOneConnection() throws Exception {
+        List<MailOutbox> batch = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            batch.add(mail(id, "user" + id + "@example.com", null));
+        }
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(batch);
+
+        dispatcher().dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(5);
+        assertThat(received[0].getSubject()).isEqualTo("subject 1");
+        assertThat(received[0].getFrom()[0].toString()).isEqualTo("test@localhost");
+        assertThat(connections.get()).isEqualTo(1);
+        assertThat(markedSent()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "sent").count()).isEqualTo(5);
+        assertThat(meterRegistry.timer(MailOutboxDispatcher.BATCH_METER_NAME).count()).isEqualTo(1);
+        verify(mailOutboxService, never()).markFailed(any(), anyString());
+    }
+
+    @Test
+    void shouldRenderTheNotificationsOnDelivery() throws Exception {
+        MailOutbox queued = new MailOutbox().id(1L).recipient("john@example.com").notification("{}").html(true).attempts(1);
+        BookingNotification notification = new BookingNotification(
+            BookingNotification.Kind.CONFIRMATION,
+            1L,
+            "BK1",
+            "john",
+            "john@example.com",
+            "en",
+            "Court 1",
+            "Badminton",
+            Instant.now(),
+            Instant.now()
+        );
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(List.of(queued));
+        when(mailOutboxService.readNotification(queued)).thenReturn(Optional.of(notification));
+        when(mailService.renderBookingNotification(notification)).thenReturn(new MailService.RenderedEmail("Booked", "<p>Court 1</p>"));
+
+        dispatcher().dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Booked");
+        assertThat(received[0].getContent().toString()).contains("Court 1");
+        assertThat(markedSent()).containsExactly(1L);
+    }
+
+    @Test
+    void shouldSendDuplicatesOnce() {
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(
+            List.of(
+                mail(1L, "john@example.com", "booking-confirmation:1"),
+                mail(2L, "john@example.com", "booking-confirmation:1"),
+                mail(3L, "jane@example.com", "booking-confirmation:1")
+            )
+        );
+
+        dispatcher().dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(markedSent()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "deduplicated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveUpInvalidEmailsAndSendTheOthers() {
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(
+            List.of(mail(1L, "john@example.com", null), mail(2L, "not an address", null))
+        );
+
+        dispatcher().dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(markedSent()).containsExactly(1L);
+        verify(mailOutboxService).markPermanentlyFailed(eq(2L), anyString());
+        verify(mailOutboxService, never()).markFailed(any(), anyString());
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "abandoned").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "retried").count()).isZero();
+    }
+
+    @Test
+    void shouldRetryEmailsThatCouldNotBeRendered() {
+        MailOutbox queued = mail(1L, "john@example.com", null);
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(List.of(queued));
+        when(mailOutboxService.readNotification(queued)).thenThrow(new IllegalStateException("template missing"));
+
+        dispatcher().dispatch();
+
+        verify(mailOutboxService).markFailed(eq(1L), anyString());
+        verify(mailOutboxService, never()).markPermanentlyFailed(any(), anyString());
+    }
+
+    @Test
+    void shouldRetryTheWholeBatchWhenTheServerIsDown() {
+        greenMail.stop();
+        when(mailOutboxService.claimDue(anyInt())).thenReturn(
+            List.of(mail(1L, "john@example.com", null), mail(2L, "jane@example.com", null))
+        );
+        when(mailOutboxService.markFailed(eq(2L), anyString())).thenReturn(false);
+
+        dispatcher().dispatch();
+
+        assertThat(markedSent()).isEmpty();
+        verify(mailOutboxService).markFailed(eq(1L), anyString());
+        verify(mailOutboxService).markFailed(eq(2L), anyString());
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "retried").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.EMAILS_METER_NAME, "outcome", "abandoned").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepDrainingFullBatches() {
+        List<MailOutbox> full = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            full.add(mail(id, "user" + id + "@example.com", null));
+        }
+        when(mailOutboxService.claimDue(BATCH_SIZE)).thenReturn(full, List.of(mail(100L, "last@example.com", null)));
+
+        dispatcher().dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(BATCH_SIZE + 1);
+        assertThat(connections.get()).isEqualTo(2);
+        verify(mailOutboxService, times(2)).claimDue(BATCH_SIZE);
+    }
+
+    private MailOutboxDispatcher dispatcher() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("test@localhost");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailOutbox().setBatchSize(BATCH_SIZE);
+        return new MailOutboxDispatcher(
+            mailOutboxService,
+            mailService,
+            javaMailSender,
+            jHipsterProperties,
+            applicationProperties,
+            meterRegistry
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> markedSent() {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mailOutboxService, atLeastOnce()).markSent(captor.capture());
+        return captor.getAllValues().stream().flatMap(Collection::stream).toList();
+    }
+
+    private static MailOutbox mail(Long id, String recipient, String dedupKey) {
+        return new MailOutbox()
+            .id(id)
+            .recipient(recipient)
+            .subject("subject " + id)
+            .content("<p>content " + id + "</p>")
+            .html(true)
+            .dedupKey(dedupKey)
+            .attempts(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.yk.booking.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yk.booking.repository.BookingRepository;
+import com.yk.booking.repository.RevenueDailyRollupRepository;
+import com.yk.booking.service.RevenueRollupService;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Unit tests for {@link RevenueRollupScheduler}, with the {@code job_lock} table on H2.
+ */
+class RevenueRollupSchedulerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private RevenueRollupService revenueRollupService;
+
+    private RevenueRollupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute(
+            "CREATE TABLE job_lock (name VARCHAR(100) PRIMARY KEY, locked_until TIMESTAMP NOT NULL, locked_by VARCHAR(100))"
+        );
+        jdbcTemplate.update(
+            "INSERT INTO job_lock (name, locked_until) VALUES (?, ?)",
+            RevenueRollupScheduler.LOCK_NAME,
+            Timestamp.from(Instant.EPOCH)
+        );
+
+        revenueRollupService = mock(RevenueRollupService.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findFirstBookingDate()).thenReturn(Optional.of(Instant.parse("2025-01-20T10:00:00Z")));
+        when(bookingRepository.findLastBookingDate()).thenReturn(Optional.of(Instant.parse("2025-03-05T10:00:00Z")));
+        scheduler = new RevenueRollupScheduler(
+            revenueRollupService,
+            bookingRepository,
+            mock(RevenueDailyRollupRepository.class),
+            jdbcTemplate
+        );
+    }
+
+    @Test
+    void shouldRebuildMonthByMonthAndGiveTheLeaseBack() {
+        scheduler.rebuildAll();
+
+        verify(revenueRollupService).rebuild(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 1));
+        verify(revenueRollupService).rebuild(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        verify(revenueRollupService).rebuild(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 6));
+        assertThat(lockedUntil()).isBeforeOrEqualTo(Instant.now());
+
+        scheduler.rebuildAll();
+
+        verify(revenueRollupService, times(6)).rebuild(any(), any());
+    }
+
+    @Test
+    void shouldSkipTheRunWhileAnotherInstanceHoldsTheLease() {
+        Instant lockedUntil = Instant.now().plus(RevenueRollupScheduler.LEASE);
+        jdbcTemplate.update("UPDATE job_lock SET locked_until = ?, locked_by = 'other'", Timestamp.from(lockedUntil));
+
+        scheduler.rebuildAll();
+
+        verifyNoInteractions(revenueRollupService);
+        assertThat(jdbcTemplate.queryForObject("SELECT locked_by FROM job_lock", String.class)).isEqualTo("other");
+    }
+
+    @Test
+    void shouldTakeOverAnExpiredLease() {
+        jdbcTemplate.update("UPDATE job_lock SET locked_until = ?, locked_by = 'other'", Timestamp.from(Instant.now().minusSeconds(1)));
+
+        scheduler.rebuildAll();
+
+        verify(revenueRollupService, times(3)).rebuild(any(), any());
+        assertThat(jdbcTemplate.queryForObject("SELECT locked_by FROM job_lock", String.class)).isNull();
+    }
+
+    @Test
+    void shouldGiveTheLeaseBackWhenTheRebuildFails() {
+        when(revenueRollupService.rebuild(any(), any())).thenThrow(new IllegalStateException("deadlock"));
+
+        assertThatThrownBy(() -> scheduler.rebuildAll()).isInstanceOf(IllegalStateException.class);
+        assertThat(lockedUntil()).isBeforeOrEqualTo(Instant.now());
+    }
+
+    private Instant lockedUntil() {
+        return jdbcTemplate.queryForObject("SELECT locked_until FROM job_lock", Timestamp.class).toInstant();
+    }
+}
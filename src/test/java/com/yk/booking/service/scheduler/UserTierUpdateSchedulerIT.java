@@ -0,0 +1,205 @@
+package com.yk.booking.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.enumeration.BookingStatus;
+import com.yk.booking.service.ClientTierPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for {@link UserTierUpdateScheduler} over a large number of clients whose bookings were inserted
+ * behind the back of the booking counters.
+ */
+@IntegrationTest
+class UserTierUpdateSchedulerIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserTierUpdateSchedulerIT.class);
+
+    private static final String MARKER = "tier-it-";
+
+    private static final int CLIENTS = 100_000;
+
+    private static final int CLIENTS_WITHOUT_USER = 10;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final int MAX_BOOKINGS = 22;
+
+    private static final List<String> TIER_NAMES = List.of(
+        ClientTierPolicy.LEAD,
+        ClientTierPolicy.IRON,
+        ClientTierPolicy.GOLD,
+        ClientTierPolicy.PLATINUM
+    );
+
+    @Autowired
+    private UserTierUpdateScheduler userTierUpdateScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Long> tierIds = new HashMap<>();
+
+    @BeforeEach
+    void seed() {
+        for (String tierName : TIER_NAMES) {
+            jdbcTemplate.update("INSERT INTO client_tier (tier_name) VALUES (?)", tierName);
+            tierIds.put(tierName, jdbcTemplate.queryForObject("SELECT MAX(id) FROM client_tier WHERE tier_name = ?", Long.class, tierName));
+        }
+
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < CLIENTS; i++) {
+            users.add(new Object[] { MARKER + i });
+            if (users.size() == BATCH_SIZE) {
+                insertUsers(users);
+                users.clear();
+            }
+        }
+        insertUsers(users);
+
+        // Every client starts as LEAD, except a share already PLATINUM and a share wrongly GOLD
+        jdbcTemplate.update(
+            "INSERT INTO client (name, user_id, client_tier_id) SELECT u.login, u.id, CASE MOD(" +
+            userIndex() +
+            ", 50) WHEN 0 THEN ? WHEN 4 THEN ? ELSE ? END FROM jhi_user u WHERE u.login LIKE ?",
+            tierIds.get(ClientTierPolicy.PLATINUM),
+            tierIds.get(ClientTierPolicy.GOLD),
+            tierIds.get(ClientTierPolicy.LEAD),
+            MARKER + "%"
+        );
+        for (int i = 0; i < CLIENTS_WITHOUT_USER; i++) {
+            jdbcTemplate.update(
+                "INSERT INTO client (name, client_tier_id) VALUES (?, ?)",
+                MARKER + "orphan",
+                tierIds.get(ClientTierPolicy.GOLD)
+            );
+        }
+
+        String sequence = IntStream.range(0, MAX_BOOKINGS)
+            .mapToObj(n -> "SELECT " + n + " AS n")
+            .collect(Collectors.joining(" UNION ALL "));
+        jdbcTemplate.update(
+            "INSERT INTO booking (booking_date, status, user_id) SELECT ?, ?, u.id FROM jhi_user u JOIN (" +
+            sequence +
+            ") s ON s.n < CASE MOD(" +
+            userIndex() +
+            ", 50) WHEN 0 THEN 22 WHEN 1 THEN 12 WHEN 2 THEN 7 WHEN 3 THEN 5 ELSE 0 END WHERE u.login LIKE ?",
+            Timestamp.from(Instant.parse("2025-11-20T10:00:00Z")),
+            BookingStatus.APPROVED.name(),
+            MARKER + "%"
+        );
+        // The users of bucket 5 have no booking but a counter that drifted
+        jdbcTemplate.update(
+            "INSERT INTO user_booking_counter (user_id, booking_count) SELECT u.id, 9 FROM jhi_user u WHERE MOD(" +
+            userIndex() +
+            ", 50) = 5 AND u.login LIKE ?",
+            MARKER + "%"
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM user_booking_counter WHERE user_id IN (SELECT id FROM jhi_user WHERE login LIKE ?)", MARKER + "%");
+        jdbcTemplate.update("DELETE FROM booking WHERE user_id IN (SELECT id FROM jhi_user WHERE login LIKE ?)", MARKER + "%");
+        jdbcTemplate.update("DELETE FROM client WHERE name LIKE ?", MARKER + "%");
+        jdbcTemplate.update("DELETE FROM jhi_user WHERE login LIKE ?", MARKER + "%");
+        tierIds.values().forEach(id -> jdbcTemplate.update("DELETE FROM client_tier WHERE id = ?", id));
+    }
+
+    @Test
+    void updateUserTiersMovesEveryClientToItsEarnedTier() {
+        double updatedBefore = updatedClients();
+        double driftBefore = meterRegistry.counter(UserTierUpdateScheduler.DRIFT_METER_NAME).count();
+
+        long started = System.nanoTime();
+        userTierUpdateScheduler.updateUserTiers();
+        LOG.info("Tiers of {} clients recalculated in {} ms", CLIENTS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        Map<Integer, String> expected = Map.of(
+            0,
+            ClientTierPolicy.PLATINUM,
+            1,
+            ClientTierPolicy.GOLD,
+            2,
+            ClientTierPolicy.IRON,
+            3,
+            ClientTierPolicy.LEAD,
+            4,
+            ClientTierPolicy.LEAD
+        );
+        List<Map<String, Object>> tiers = jdbcTemplate.queryForList(
+            "SELECT MOD(" +
+            userIndex() +
+            ", 50) AS bucket, t.tier_name AS tier, u.tier AS user_tier, COUNT(*) AS clients " +
+            "FROM client c JOIN jhi_user u ON c.user_id = u.id JOIN client_tier t ON c.client_tier_id = t.id " +
+            "WHERE u.login LIKE ? GROUP BY bucket, tier, user_tier",
+            MARKER + "%"
+        );
+        assertThat(tiers).allSatisfy(row -> {
+            int bucket = ((Number) row.get("bucket")).intValue();
+            assertThat(row.get("tier")).isEqualTo(expected.getOrDefault(bucket, ClientTierPolicy.LEAD));
+            assertThat(row.get("user_tier")).isEqualTo(expected.getOrDefault(bucket, ClientTierPolicy.LEAD));
+        });
+        assertThat(tiers.stream().mapToLong(row -> ((Number) row.get("clients")).longValue()).sum()).isEqualTo(CLIENTS);
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM client WHERE name = ? AND client_tier_id = ?",
+                Long.class,
+                MARKER + "orphan",
+                tierIds.get(ClientTierPolicy.GOLD)
+            )
+        ).isEqualTo(CLIENTS_WITHOUT_USER);
+
+        // Counters of the users of buckets 0 to 3 were missing, those of bucket 5 were wrong, and all have been repaired
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT SUM(c.booking_count) FROM user_booking_counter c JOIN jhi_user u ON c.user_id = u.id WHERE u.login LIKE ?",
+                Long.class,
+                MARKER + "%"
+            )
+        ).isEqualTo((22L + 12 + 7 + 5) * CLIENTS / 50);
+        assertThat(meterRegistry.counter(UserTierUpdateScheduler.DRIFT_METER_NAME).count() - driftBefore).isEqualTo(5.0 * CLIENTS / 50);
+
+        // Buckets 1, 2 and 4 change tier, bucket 0 was already right
+        long changed = 3L * CLIENTS / 50;
+        assertThat(updatedClients() - updatedBefore).isGreaterThanOrEqualTo(changed);
+        assertThat(meterRegistry.get(UserTierUpdateScheduler.PROGRESS_METER_NAME).gauge().value()).isGreaterThanOrEqualTo(
+            CLIENTS + CLIENTS_WITHOUT_USER
+        );
+        assertThat(meterRegistry.get(UserTierUpdateScheduler.DURATION_METER_NAME).timer().count()).isPositive();
+    }
+
+    private double updatedClients() {
+        return meterRegistry.counter(UserTierUpdateScheduler.CLIENTS_METER_NAME, "outcome", "updated").count();
+    }
+
+    private static String userIndex() {
+        return "CAST(SUBSTRING(u.login, " + (MARKER.length() + 1) + ") AS UNSIGNED)";
+    }
+
+    private void insertUsers(List<Object[]> users) {
+        if (!users.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO jhi_user (login, activated, created_by) VALUES (?, true, 'system')", users);
+        }
+    }
+}
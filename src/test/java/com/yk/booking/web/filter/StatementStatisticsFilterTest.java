@@ -0,0 +1,94 @@
+package com.yk.booking.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yk.booking.management.StatementCountingInspector;
+import com.yk.booking.management.StatementStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link StatementStatisticsFilter}.
+ */
+class StatementStatisticsFilterTest {
+
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldCountTheStatementsOfEachRequest() throws Exception {
+        StatementStatisticsFilter filter = new StatementStatisticsFilter(meterRegistry, 30, false);
+
+        filter.doFilter(request("/api/bookings/1", "/api/bookings/{id}"), new MockHttpServletResponse(), issuing(3));
+        filter.doFilter(request("/api/bookings/2", "/api/bookings/{id}"), new MockHttpServletResponse(), issuing(5));
+        // Statements outside of any request are not counted
+        inspector.inspect("select 1");
+
+        assertThat(
+            meterRegistry.get(StatementStatisticsFilter.STATEMENTS_METER_NAME).tag("uri", "/api/bookings/{id}").summary()
+        ).satisfies(summary -> {
+            assertThat(summary.count()).isEqualTo(2);
+            assertThat(summary.totalAmount()).isEqualTo(8);
+            assertThat(summary.max()).isEqualTo(5);
+        });
+        assertThat(meterRegistry.get(StatementStatisticsFilter.JDBC_METER_NAME).tag("method", "GET").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSendTheCountInAHeaderWhenEnabled() throws Exception {
+        StatementStatisticsFilter filter = new StatementStatisticsFilter(meterRegistry, 30, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/api/courts", "/api/courts"), response, (request, servletResponse) -> {
+            servletResponse.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            servletResponse.flushBuffer();
+            inspector.inspect("select * from court");
+        });
+
+        assertThat(response.getHeader(StatementStatisticsFilter.STATEMENT_COUNT_HEADER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldReportRequestsToTheEnclosingScope() throws Exception {
+        StatementStatisticsFilter filter = new StatementStatisticsFilter(meterRegistry, 30, false);
+
+        StatementStatistics test = StatementStatistics.open("test");
+        inspector.inspect("insert into booking");
+        filter.doFilter(request("/api/bookings", "/api/bookings"), new MockHttpServletResponse(), issuing(2));
+        test.close();
+
+        assertThat(test.getStatements()).isEqualTo(1);
+        assertThat(test.getClosed()).singleElement().satisfies(request -> {
+            assertThat(request.getName()).isEqualTo("GET /api/bookings");
+            assertThat(request.getStatements()).isEqualTo(2);
+        });
+    }
+
+    private static MockHttpServletRequest request(String uri, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private FilterChain issuing(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                inspector.inspect("select * from booking");
+            }
+        };
+    }
+}
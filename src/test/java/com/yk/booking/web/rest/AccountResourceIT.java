@@ -1,16 +1,24 @@
 package com.yk.booking.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yk.booking.IntegrationTest;
 import com.yk.booking.config.Constants;
+import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.AuthorityRepository;
+import com.yk.booking.repository.BookingRepository;
 import com.yk.booking.repository.UserRepository;
 import com.yk.booking.security.AuthoritiesConstants;
+import com.yk.booking.security.SecurityUtils;
 import com.yk.booking.service.MailService;
 import com.yk.booking.service.UserService;
 import com.yk.booking.service.dto.AdminUserDTO;
@@ -53,6 +61,9 @@ class AccountResourceIT {
     @Autowired
     private AuthorityRepository authorityRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Autowired
     private UserService userService;
 
@@ -118,6 +129,27 @@ class AccountResourceIT {
         userService.deleteUser(TEST_USER_LOGIN);
     }
 
+    @Test
+    @Transactional
+    void testGetAccountBookings() throws Exception {
+        User owner = userRepository.findOneByLogin("user").orElseThrow();
+        User other = userRepository.findOneByLogin("admin").orElseThrow();
+        Instant earlier = Instant.parse("2031-02-01T10:00:00Z");
+        Booking older = bookingRepository.saveAndFlush(new Booking().bookingDate(earlier).status(BookingStatus.PENDING).user(owner));
+        Booking newer = bookingRepository.saveAndFlush(
+            new Booking().bookingDate(earlier.plusSeconds(3600)).status(BookingStatus.APPROVED).user(owner)
+        );
+        bookingRepository.saveAndFlush(new Booking().bookingDate(earlier).status(BookingStatus.PENDING).user(other));
+
+        restAccountMockMvc
+            .perform(get("/api/account/bookings").with(jwt().jwt(token -> token.claim(SecurityUtils.USER_ID_CLAIM, owner.getId()))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            // Only the bookings of the user, most recent first
+            .andExpect(jsonPath("$.[*].id").value(contains(newer.getId().intValue(), older.getId().intValue())))
+            .andExpect(jsonPath("$.[*].user.id").value(everyItem(is(owner.getId().intValue()))));
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_PROBLEM_JSON)).andExpect(status().isUnauthorized());
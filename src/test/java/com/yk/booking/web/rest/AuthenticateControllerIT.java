@@ -18,7 +18,6 @@ import com.yk.booking.web.rest.vm.LoginVM;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -101,4 +100,57 @@ class AuthenticateControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    void testAuthorizeIsRateLimited() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-rate-limited");
+        login.setPassword("wrong password");
+        for (int i = 0; i < 5; i++) {
+            mockMvc
+                .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+                .andExpect(status().isUnauthorized());
+        }
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "12"))
+            .andExpect(jsonPath("$.message").value("error.loginratelimited"))
+            .andExpect(header().doesNotExist("Authorization"));
+    }
+
+    @Test
+    void testAuthorizeIsRateLimitedPerForwardedClient() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setPassword("wrong password");
+        // Both clients come through the same trusted proxy, and only the first one uses up its client address bucket
+        for (int i = 0; i < 50; i++) {
+            login.setUsername("user-jwt-controller-forwarded-" + i);
+            mockMvc
+                .perform(
+                    post("/api/authenticate")
+                        .header("X-Forwarded-For", "203.0.113.1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(login))
+                )
+                .andExpect(status().isUnauthorized());
+        }
+        login.setUsername("user-jwt-controller-forwarded-50");
+        mockMvc
+            .perform(
+                post("/api/authenticate")
+                    .header("X-Forwarded-For", "198.51.100.7, 203.0.113.1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(login))
+            )
+            .andExpect(status().isTooManyRequests());
+        mockMvc
+            .perform(
+                post("/api/authenticate")
+                    .header("X-Forwarded-For", "203.0.113.2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(login))
+            )
+            .andExpect(status().isUnauthorized());
+    }
 }
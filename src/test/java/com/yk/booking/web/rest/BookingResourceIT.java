@@ -3,30 +3,46 @@ package com.yk.booking.web.rest;
 import static com.yk.booking.domain.BookingAsserts.*;
 import static com.yk.booking.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yk.booking.IntegrationTest;
 import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.Sport;
+import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.User;
 import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.BookingRepository;
+import com.yk.booking.security.AuthoritiesConstants;
 import com.yk.booking.service.dto.BookingDTO;
+import com.yk.booking.service.dto.BookingStatusUpdateDTO;
 import com.yk.booking.service.mapper.BookingMapper;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -179,18 +195,98 @@ class BookingResourceIT {
 
     @Test
     @Transactional
+    @MaxStatementsPerRequest(3)
     void getAllBookings() throws Exception {
+        // Initialize the database: five bookings with all their associations, in a window no other booking falls into
+        Instant windowStart = Instant.parse("2032-01-01T10:00:00Z");
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bookings.add(0, persistWithAssociations(createEntity().bookingDate(windowStart.plus(i, ChronoUnit.HOURS))));
+        }
+        em.flush();
+        em.clear();
+
+        // Get all the bookingList, most recent first
+        restBookingMockMvc
+            .perform(get(ENTITY_API_URL + "?from=" + windowStart + "&to=" + windowStart.plus(1, ChronoUnit.DAYS)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(bookings.stream().map(each -> each.getId().intValue()).toList()))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(
+                jsonPath("$.[*].timeSlot.court.sport.id").value(
+                    bookings.stream().map(each -> each.getTimeSlot().getCourt().getSport().getId().intValue()).toList()
+                )
+            )
+            .andExpect(jsonPath("$.[*].user.id").value(bookings.stream().map(each -> each.getUser().getId().intValue()).toList()))
+            .andExpect(jsonPath("$.[*].payment.id").value(bookings.stream().map(each -> each.getPayment().getId().intValue()).toList()));
+    }
+
+    private Booking persistWithAssociations(Booking each) {
+        Sport sport = SportResourceIT.createEntity();
+        em.persist(sport);
+        Court court = CourtResourceIT.createEntity().sport(sport);
+        em.persist(court);
+        TimeSlot timeSlot = TimeSlotResourceIT.createEntity().court(court);
+        em.persist(timeSlot);
+        User user = UserResourceIT.createEntity();
+        em.persist(user);
+        Payment payment = PaymentResourceIT.createEntity().user(user);
+        em.persist(payment);
+        em.persist(each.timeSlot(timeSlot).user(user).payment(payment));
+        return each;
+    }
+
+    @Test
+    @Transactional
+    void getAllBookingsByStatus() throws Exception {
         // Initialize the database
         insertedBooking = bookingRepository.saveAndFlush(booking);
 
-        // Get all the bookingList
         restBookingMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL + "?status=" + DEFAULT_STATUS + "&from=" + DEFAULT_BOOKING_DATE))
             .andExpect(status().isOk())
-            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(booking.getId().intValue())))
-            .andExpect(jsonPath("$.[*].bookingDate").value(hasItem(DEFAULT_BOOKING_DATE.toString())))
-            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
+            .andExpect(jsonPath("$.[*].id").value(hasItem(booking.getId().intValue())));
+
+        restBookingMockMvc
+            .perform(get(ENTITY_API_URL + "?status=" + UPDATED_STATUS + "&from=" + DEFAULT_BOOKING_DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(booking.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllBookingsByCursor() throws Exception {
+        // Three bookings in a window no other booking falls into, two of them at the same instant
+        Instant windowStart = Instant.parse("2031-01-01T10:00:00Z");
+        List<Long> ids = new ArrayList<>();
+        for (Instant bookingDate : List.of(windowStart, windowStart, windowStart.plus(1, ChronoUnit.HOURS))) {
+            ids.add(bookingRepository.saveAndFlush(createEntity().bookingDate(bookingDate)).getId());
+        }
+        String window = "from=" + windowStart + "&to=" + windowStart.plus(1, ChronoUnit.DAYS);
+
+        MvcResult first = restBookingMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&" + window))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(ids.get(2).intValue(), ids.get(1).intValue())))
+            .andReturn();
+
+        Matcher next = Pattern.compile("[?&]cursor=([^&>]*)[^>]*>; rel=\"next\"").matcher(first.getResponse().getHeader(HttpHeaders.LINK));
+        assertThat(next.find()).isTrue();
+
+        restBookingMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&cursor=" + next.group(1) + "&" + window))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.[*].id").value(contains(ids.get(0).intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllBookingsWithInvalidCursor() throws Exception {
+        restBookingMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -418,6 +514,127 @@ class BookingResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void approveBookingIsIdempotent() throws Exception {
+        // Initialize the database
+        insertedBooking = bookingRepository.saveAndFlush(booking);
+
+        restBookingMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/approve", booking.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(BookingStatus.APPROVED.toString()))
+            .andExpect(jsonPath("$.version").value(1));
+        restBookingMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/approve", booking.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    @Transactional
+    void rejectApprovedBookingIsAConflict() throws Exception {
+        // Initialize the database
+        insertedBooking = bookingRepository.saveAndFlush(booking.status(BookingStatus.APPROVED));
+
+        restBookingMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/reject", booking.getId()))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.bookingstatusconflict"));
+
+        assertThat(getPersistedBooking(booking).getStatus()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    @Transactional
+    void putBookingWithStaleVersionIsAConflict() throws Exception {
+        // Initialize the database
+        insertedBooking = bookingRepository.saveAndFlush(booking);
+        BookingDTO bookingDTO = bookingMapper.toDto(booking);
+        bookingDTO.setVersion(booking.getVersion() + 1);
+        bookingDTO.setBookingDate(UPDATED_BOOKING_DATE);
+
+        restBookingMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, bookingDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(bookingDTO))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.concurrencyFailure"));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void bulkApprovePendingBookings() throws Exception {
+        // Initialize the database
+        Booking pending = bookingRepository.saveAndFlush(createEntity());
+        Booking otherPending = bookingRepository.saveAndFlush(createEntity());
+        Booking rejected = bookingRepository.saveAndFlush(createEntity().status(BookingStatus.REJECTED));
+
+        BookingStatusUpdateDTO bookingStatusUpdateDTO = new BookingStatusUpdateDTO();
+        bookingStatusUpdateDTO.setIds(
+            List.of(pending.getId(), rejected.getId(), Long.MAX_VALUE, otherPending.getId(), pending.getId())
+        );
+        bookingStatusUpdateDTO.setStatus(BookingStatus.APPROVED);
+
+        restBookingMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bookingStatusUpdateDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$[0].id").value(pending.getId()))
+            .andExpect(jsonPath("$[1].id").value(rejected.getId()))
+            .andExpect(jsonPath("$[2].id").value(Long.MAX_VALUE))
+            .andExpect(jsonPath("$[3].id").value(otherPending.getId()))
+            .andExpect(jsonPath("$.[*].outcome").value(contains("UPDATED", "NOT_PENDING", "NOT_FOUND", "UPDATED")));
+
+        assertThat(getPersistedBooking(pending).getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(getPersistedBooking(otherPending).getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(getPersistedBooking(rejected).getStatus()).isEqualTo(BookingStatus.REJECTED);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void bulkStatusRejectsOtherTargetStatuses() throws Exception {
+        insertedBooking = bookingRepository.saveAndFlush(booking);
+
+        BookingStatusUpdateDTO bookingStatusUpdateDTO = new BookingStatusUpdateDTO();
+        bookingStatusUpdateDTO.setIds(List.of(booking.getId()));
+        bookingStatusUpdateDTO.setStatus(BookingStatus.PENDING);
+
+        restBookingMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bookingStatusUpdateDTO))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void bulkStatusIsForbiddenToUsers() throws Exception {
+        insertedBooking = bookingRepository.saveAndFlush(booking);
+
+        BookingStatusUpdateDTO bookingStatusUpdateDTO = new BookingStatusUpdateDTO();
+        bookingStatusUpdateDTO.setIds(List.of(booking.getId()));
+        bookingStatusUpdateDTO.setStatus(BookingStatus.APPROVED);
+
+        restBookingMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk-status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bookingStatusUpdateDTO))
+            )
+            .andExpect(status().isForbidden());
+
+        assertThat(getPersistedBooking(booking).getStatus()).isEqualTo(BookingStatus.PENDING);
+    }
+
     @Test
     @Transactional
     void deleteBooking() throws Exception {
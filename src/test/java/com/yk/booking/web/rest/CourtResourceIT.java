@@ -4,16 +4,20 @@ import static com.yk.booking.domain.CourtAsserts.*;
 import static com.yk.booking.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yk.booking.IntegrationTest;
 import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Sport;
 import com.yk.booking.repository.CourtRepository;
 import com.yk.booking.service.dto.CourtDTO;
 import com.yk.booking.service.mapper.CourtMapper;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -156,16 +160,30 @@ class CourtResourceIT {
 
     @Test
     @Transactional
+    @MaxStatementsPerRequest(2)
     void getAllCourts() throws Exception {
-        // Initialize the database
-        insertedCourt = courtRepository.saveAndFlush(court);
+        // Initialize the database: four courts, each of a sport of its own
+        List<Court> courts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Sport sport = SportResourceIT.createEntity();
+            em.persist(sport);
+            Court each = createEntity().sport(sport);
+            em.persist(each);
+            courts.add(each);
+        }
+        em.flush();
+        em.clear();
+
+        Integer[] courtIds = courts.stream().map(each -> each.getId().intValue()).toArray(Integer[]::new);
+        Integer[] sportIds = courts.stream().map(each -> each.getSport().getId().intValue()).toArray(Integer[]::new);
 
         // Get all the courtList
         restCourtMockMvc
             .perform(get(ENTITY_API_URL + "?sort=id,desc"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(court.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItems(courtIds)))
+            .andExpect(jsonPath("$.[*].sport.id").value(hasItems(sportIds)))
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
@@ -0,0 +1,62 @@
+package com.yk.booking.web.rest;
+
+import com.yk.booking.management.StatementStatistics;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Fails a test if any request it performs through {@code MockMvc} issues more than {@link #value()} SQL statements,
+ * as counted by {@link com.yk.booking.web.filter.StatementStatisticsFilter}.
+ * <p>
+ * A transactional test should flush and clear its entity manager before the requests: they would otherwise be served
+ * the entities it persisted from its persistence context, and a lazy association loaded row by row would go uncounted.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(MaxStatementsPerRequest.Extension.class)
+public @interface MaxStatementsPerRequest {
+    int value();
+
+    class Extension implements BeforeEachCallback, AfterEachCallback {
+
+        private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MaxStatementsPerRequest.class);
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            context.getStore(NAMESPACE).put(StatementStatistics.class, StatementStatistics.open(context.getDisplayName()));
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            StatementStatistics statistics = context.getStore(NAMESPACE).remove(StatementStatistics.class, StatementStatistics.class);
+            statistics.close();
+            int max = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatementsPerRequest.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxStatementsPerRequest.class))
+                .orElseThrow()
+                .value();
+            // Requests are the scopes closed within the test, MockMvc running them on the thread of the test
+            List<StatementStatistics> exceeding = statistics
+                .getClosed()
+                .stream()
+                .filter(request -> request.getStatements() > max)
+                .toList();
+            if (!exceeding.isEmpty()) {
+                throw new AssertionError(
+                    exceeding
+                        .stream()
+                        .map(request -> request.getName() + " issued " + request.getStatements() + " SQL statements")
+                        .collect(Collectors.joining(", ", "", ", expected at most " + max))
+                );
+            }
+        }
+    }
+}
@@ -4,13 +4,18 @@ import static com.yk.booking.domain.PaymentAsserts.*;
 import static com.yk.booking.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.yk.booking.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.Booking;
 import com.yk.booking.domain.Payment;
+import com.yk.booking.domain.User;
+import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.PaymentRepository;
 import com.yk.booking.repository.UserRepository;
 import com.yk.booking.service.dto.PaymentDTO;
@@ -19,6 +24,8 @@ import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -26,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -220,6 +228,39 @@ class PaymentResourceIT {
             .andExpect(jsonPath("$.[*].transactionId").value(hasItem(DEFAULT_TRANSACTION_ID)));
     }
 
+    @Test
+    @Transactional
+    @MaxStatementsPerRequest(2)
+    void getAllPaymentsWhereBookingIsNull() throws Exception {
+        // Initialize the database: four free payments around a booked one, each of a user of its own
+        List<Payment> free = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = UserResourceIT.createEntity();
+            em.persist(user);
+            Payment each = createEntity().user(user);
+            em.persist(each);
+            if (i == 1) {
+                em.persist(new Booking().bookingDate(Instant.now()).status(BookingStatus.PENDING).payment(each));
+            } else {
+                free.add(each);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        List<Payment> firstSlice = free.subList(0, 3);
+        restPaymentMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=booking-is-null&size=3&afterId={afterId}", free.get(0).getId() - 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(firstSlice.stream().map(each -> each.getId().intValue()).toList()))
+            .andExpect(jsonPath("$.[*].user.id").value(firstSlice.stream().map(each -> each.getUser().getId().intValue()).toList()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("afterId=" + free.get(2).getId())));
+        restPaymentMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=booking-is-null&size=1&afterId={afterId}", free.get(2).getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(free.get(3).getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getPayment() throws Exception {
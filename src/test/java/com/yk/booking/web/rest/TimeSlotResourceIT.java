@@ -3,19 +3,27 @@ package com.yk.booking.web.rest;
 import static com.yk.booking.domain.TimeSlotAsserts.*;
 import static com.yk.booking.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yk.booking.IntegrationTest;
+import com.yk.booking.domain.Booking;
+import com.yk.booking.domain.Court;
+import com.yk.booking.domain.Sport;
 import com.yk.booking.domain.TimeSlot;
+import com.yk.booking.domain.enumeration.BookingStatus;
 import com.yk.booking.repository.TimeSlotRepository;
 import com.yk.booking.service.dto.TimeSlotDTO;
 import com.yk.booking.service.mapper.TimeSlotMapper;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -23,6 +31,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -192,6 +201,41 @@ class TimeSlotResourceIT {
             .andExpect(jsonPath("$.[*].endTime").value(hasItem(DEFAULT_END_TIME.toString())));
     }
 
+    @Test
+    @Transactional
+    @MaxStatementsPerRequest(2)
+    void getAllTimeSlotsWhereBookingIsNull() throws Exception {
+        // Initialize the database: four free timeSlots around a booked one, each on a court and sport of its own
+        List<TimeSlot> free = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Sport sport = SportResourceIT.createEntity();
+            em.persist(sport);
+            Court court = CourtResourceIT.createEntity().sport(sport);
+            em.persist(court);
+            TimeSlot slot = createEntity().court(court);
+            em.persist(slot);
+            if (i == 1) {
+                em.persist(new Booking().bookingDate(Instant.now()).status(BookingStatus.PENDING).timeSlot(slot));
+            } else {
+                free.add(slot);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        List<TimeSlot> firstSlice = free.subList(0, 3);
+        restTimeSlotMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=booking-is-null&size=3&afterId={afterId}", free.get(0).getId() - 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(firstSlice.stream().map(slot -> slot.getId().intValue()).toList()))
+            .andExpect(jsonPath("$.[*].court.id").value(firstSlice.stream().map(slot -> slot.getCourt().getId().intValue()).toList()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("afterId=" + free.get(2).getId())));
+        restTimeSlotMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=booking-is-null&size=1&afterId={afterId}", free.get(2).getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(free.get(3).getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getTimeSlot() throws Exception {